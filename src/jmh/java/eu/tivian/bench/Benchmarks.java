@@ -0,0 +1,38 @@
+package eu.tivian.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the settings used for the comparisons.
+ * <br>The GC profiler is always enabled, so every result includes the allocation rate,
+ * and the results are written as JSON.
+ * <br>Usage: {@code Benchmarks [regex [result.json]]}, by default all benchmarks are run
+ * and the results go to {@code jmh-result.json}.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ */
+public class Benchmarks {
+    /**
+     * Starting point of the benchmarks.
+     *
+     * @param args regex of the benchmarks and the name of the result file
+     * @throws RunnerException if any of the benchmarks failed
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : Benchmarks.class.getPackageName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(args.length > 1 ? args[1] : "jmh-result.json")
+                .shouldFailOnError(true)
+                .build();
+
+        new Runner(options).run();
+    }
+}
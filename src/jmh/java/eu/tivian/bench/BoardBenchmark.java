@@ -0,0 +1,64 @@
+package eu.tivian.bench;
+
+import eu.tivian.hardware.Motherboard;
+import eu.tivian.hardware.TED;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Speed of the whole motherboard, from the power-on through the boot to the BASIC prompt.
+ * <br>One operation is one half-cycle of the system clock. The video chip runs either without
+ * any output, or with the frame buffer attached and rendered pixel by pixel or line by line.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see Motherboard#runHalfCycles(long)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoardBenchmark {
+    /**
+     * Number of the half-cycles run by one invocation.
+     */
+    static final int HALF_CYCLES = 100_000;
+
+    /**
+     * Output of the video chip, {@code none}, {@code frame} or {@code scanlines}.
+     */
+    @Param({ "none", "frame", "scanlines" })
+    public String video;
+
+    /**
+     * The motherboard.
+     */
+    private Motherboard mb;
+
+    /**
+     * Builds the motherboard and switches it on.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        mb = new Motherboard();
+        if (!"none".equals(video))
+            mb.render(new byte[TED.WIDTH * TED.HEIGHT], () -> { });
+        if ("scanlines".equals(video))
+            mb.scanlines(true);
+        mb.powerOn();
+    }
+
+    /**
+     * Runs a slice of the system clock half-cycles.
+     * @return number of the half-cycles since the power-on
+     */
+    @Benchmark
+    @OperationsPerInvocation(HALF_CYCLES)
+    public long halfcycles() {
+        mb.runHalfCycles(HALF_CYCLES);
+        return mb.halfcycles();
+    }
+}
@@ -0,0 +1,62 @@
+package eu.tivian.bench;
+
+import eu.tivian.hardware.Bus;
+import eu.tivian.hardware.Pin;
+
+/**
+ * Minimal memory model connected to the CPU through its pins.
+ * <br>The memory responds while the clock is HIGH: it drives the data bus on reads, and stores
+ * the data bus on writes. The data bus is released as soon as the CPU starts a write cycle.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ */
+class BusMemory {
+    /**
+     * 64KB of memory.
+     */
+    final byte[] memory = new byte[0x10000];
+    /**
+     * Address bus.
+     */
+    final Bus address = new Bus("address", "A", Pin.Direction.INPUT, 16);
+    /**
+     * Data bus.
+     */
+    final Bus data = new Bus("data", "D", Pin.Direction.INPUT, 8);
+    /**
+     * Read/write select, write is active LOW.
+     */
+    final Pin rw = new Pin("R/W", Pin.Direction.INPUT);
+    /**
+     * Clock, the memory is accessed while it is HIGH.
+     */
+    final Pin clock = new Pin("clock", Pin.Direction.INPUT);
+
+    /**
+     * Initializes the memory.
+     */
+    BusMemory() {
+        Runnable update = this::update;
+        address.onChange(update);
+        data.onChange(update);
+        rw.onChange(update);
+        clock.onChange(update);
+    }
+
+    /**
+     * Responds to the change of the bus.
+     */
+    private void update() {
+        int index = (int) address.value() & 0xFFFF;
+
+        if (rw.level() == Pin.Level.LOW) {
+            data.direction(Pin.Direction.INPUT);
+            if (clock.level() == Pin.Level.HIGH)
+                memory[index] = (byte) data.value();
+        } else if (clock.level() == Pin.Level.HIGH) {
+            data.direction(Pin.Direction.OUTPUT);
+            data.value(memory[index] & 0xFF);
+        }
+    }
+}
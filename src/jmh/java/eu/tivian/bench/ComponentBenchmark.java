@@ -0,0 +1,263 @@
+package eu.tivian.bench;
+
+import eu.tivian.hardware.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the memory access cycles of the single chips: RAM, DRAM bank, ROM and PLA.
+ * <br>The chips are driven through their pins, like on the motherboard.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see RAM
+ * @see DramBank
+ * @see ROM
+ * @see PLA
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComponentBenchmark {
+    /**
+     * {@code true} if the nets should be compiled by the {@link NetlistCompiler}.
+     */
+    @Param({ "false", "true" })
+    public boolean compiled;
+
+    /**
+     * RAM address bus, multiplexed.
+     */
+    private final Bus ramAddress = new Bus("RAM address", "A", Pin.Direction.OUTPUT, 8);
+    /**
+     * RAM data bus, driven only while writing.
+     */
+    private final Bus ramData = new Bus("RAM data", "D", Pin.Direction.HI_Z, 4);
+    /**
+     * RAM row address strobe.
+     */
+    private final Pin ras = new Pin("RAS", Pin.Direction.OUTPUT, Pin.Level.HIGH);
+    /**
+     * RAM column address strobe.
+     */
+    private final Pin cas = new Pin("CAS", Pin.Direction.OUTPUT, Pin.Level.HIGH);
+    /**
+     * RAM read/write select.
+     */
+    private final Pin rw = new Pin("R/W", Pin.Direction.OUTPUT, Pin.Level.HIGH);
+
+    /**
+     * DRAM bank address bus, not multiplexed.
+     */
+    private final Bus dramAddress = new Bus("DRAM address", "A", Pin.Direction.OUTPUT, 16);
+    /**
+     * DRAM bank data bus, driven only while writing.
+     */
+    private final Bus dramData = new Bus("DRAM data", "D", Pin.Direction.INPUT, 8);
+    /**
+     * DRAM bank row address strobe.
+     */
+    private final Pin dramRas = new Pin("DRAM RAS", Pin.Direction.OUTPUT, Pin.Level.HIGH);
+    /**
+     * DRAM bank column address strobe.
+     */
+    private final Pin dramCas = new Pin("DRAM CAS", Pin.Direction.OUTPUT, Pin.Level.HIGH);
+    /**
+     * DRAM bank read/write select.
+     */
+    private final Pin dramRw = new Pin("DRAM R/W", Pin.Direction.OUTPUT, Pin.Level.HIGH);
+    /**
+     * DRAM bank multiplexer select.
+     */
+    private final Pin mux = new Pin("MUX", Pin.Direction.OUTPUT, Pin.Level.HIGH);
+
+    /**
+     * ROM address bus.
+     */
+    private final Bus romAddress = new Bus("ROM address", "A", Pin.Direction.OUTPUT, 14);
+    /**
+     * ROM data bus.
+     */
+    private final Bus romData = new Bus("ROM data", "D", Pin.Direction.INPUT, 8);
+    /**
+     * ROM chip select, active LOW.
+     */
+    private final Pin select = new Pin("CS", Pin.Direction.OUTPUT, Pin.Level.HIGH);
+
+    /**
+     * PLA inputs.
+     */
+    private final Bus plaInput = new Bus("PLA input", "I", Pin.Direction.OUTPUT, 16);
+    /**
+     * PLA outputs.
+     */
+    private final Bus plaOutput = new Bus("PLA output", "F", Pin.Direction.INPUT, 8);
+
+    /**
+     * Accessed address.
+     */
+    private int address = 0;
+
+    /**
+     * Connects the chips.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        RAM ram = new RAM("RAM", 8, 4, 0x4000);
+        ramAddress.connect(ram.address);
+        ramData.connect(ram.data);
+        ras.connect(ram.ras);
+        cas.connect(ram.cas);
+        rw.connect(ram.rw);
+        ram.enable.connect(new Pin(Pin.Direction.OUTPUT, Pin.Level.LOW));
+
+        DramBank dram = new DramBank("DRAM", 0x4000);
+        dramAddress.connect(dram.address);
+        dramData.connect(dram.data);
+        dramRas.connect(dram.ras);
+        dramCas.connect(dram.cas);
+        dramRw.connect(dram.rw);
+        mux.connect(dram.mux);
+
+        ROM rom = new ROM("ROM", 0x4000);
+        romAddress.connect(rom.address);
+        romData.connect(rom.data);
+        select.connect(rom.cs.get(0));
+        rom.cs.get(1).connect(new Pin(Pin.Direction.OUTPUT, Pin.Level.LOW));
+        rom.cs.get(2).connect(new Pin(Pin.Direction.OUTPUT, Pin.Level.HIGH));
+
+        PLA pla = new PLA();
+        for (int i = 0; i < 16; i++)
+            plaInput.get(i).connect(pla.input.get(i));
+        for (int i = 0; i < 8; i++)
+            plaOutput.get(i).connect(pla.output.get(i));
+
+        if (compiled)
+            NetlistCompiler.compile(ram, dram, rom, pla, ramAddress, ramData, ras, cas, rw,
+                dramAddress, dramData, dramRas, dramCas, dramRw, mux, romAddress, romData, select, plaInput, plaOutput);
+    }
+
+    /**
+     * Latches the row and column of the next address, like the address multiplexer does.
+     */
+    private void strobe() {
+        address = (address + 0x0123) & 0x3FFF;
+        ramAddress.value(address & 0xFF);
+        ras.level(Pin.Level.LOW);
+        ramAddress.value((address >> 7) & 0x7E);
+        cas.level(Pin.Level.LOW);
+    }
+
+    /**
+     * Ends the RAM access cycle.
+     */
+    private void release() {
+        cas.level(Pin.Level.HIGH);
+        ras.level(Pin.Level.HIGH);
+    }
+
+    /**
+     * One RAS/CAS read cycle of the RAM.
+     * @return the read value
+     */
+    @Benchmark
+    public long ramRead() {
+        strobe();
+        long value = ramData.value();
+        release();
+        return value;
+    }
+
+    /**
+     * One RAS/CAS write cycle of the RAM.
+     * @return the written address
+     */
+    @Benchmark
+    public int ramWrite() {
+        rw.level(Pin.Level.LOW);
+        ramData.direction(Pin.Direction.OUTPUT);
+        ramData.value(address & 0x0F);
+        strobe();
+        release();
+        ramData.direction(Pin.Direction.HI_Z);
+        rw.level(Pin.Level.HIGH);
+        return address;
+    }
+
+    /**
+     * Latches the next address in the DRAM bank, with the multiplexers switching between the strobes.
+     */
+    private void dramStrobe() {
+        address = (address + 0x0123) & 0x3FFF;
+        dramAddress.value(address);
+        dramRas.level(Pin.Level.LOW);
+        mux.level(Pin.Level.LOW);
+        dramCas.level(Pin.Level.LOW);
+    }
+
+    /**
+     * Ends the DRAM bank access cycle.
+     */
+    private void dramRelease() {
+        dramCas.level(Pin.Level.HIGH);
+        dramRas.level(Pin.Level.HIGH);
+        mux.level(Pin.Level.HIGH);
+    }
+
+    /**
+     * One RAS/CAS read cycle of the DRAM bank.
+     * @return the read value
+     */
+    @Benchmark
+    public long dramRead() {
+        dramStrobe();
+        long value = dramData.value();
+        dramRelease();
+        return value;
+    }
+
+    /**
+     * One RAS/CAS write cycle of the DRAM bank.
+     * @return the written address
+     */
+    @Benchmark
+    public int dramWrite() {
+        dramRw.level(Pin.Level.LOW);
+        dramData.direction(Pin.Direction.OUTPUT);
+        dramData.value(address & 0xFF);
+        dramStrobe();
+        dramRelease();
+        dramData.direction(Pin.Direction.INPUT);
+        dramRw.level(Pin.Level.HIGH);
+        return address;
+    }
+
+    /**
+     * One ROM read, selected by the chip select.
+     * @return the read value
+     */
+    @Benchmark
+    public long romRead() {
+        address = (address + 0x0123) & 0x3FFF;
+        romAddress.value(address);
+        select.level(Pin.Level.LOW);
+        long value = romData.value();
+        select.level(Pin.Level.HIGH);
+        return value;
+    }
+
+    /**
+     * One update of the PLA inputs.
+     * @return levels of the outputs
+     */
+    @Benchmark
+    public long pla() {
+        address = (address + 0x0123) & 0xFFFF;
+        plaInput.value(address);
+        return plaOutput.value();
+    }
+}
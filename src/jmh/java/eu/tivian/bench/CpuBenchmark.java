@@ -0,0 +1,216 @@
+package eu.tivian.bench;
+
+import eu.tivian.hardware.MOS8501;
+import eu.tivian.hardware.Pin;
+import eu.tivian.software.SimpleCPU;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Speed of the CPU core running the test programs made by Klaus Dormann.
+ * <br>The CPU runs either with the direct memory of {@link SimpleCPU}, or through its pins connected
+ * to the {@link BusMemory}. One operation is one CPU cycle, so the throughput is in cycles per second,
+ * and the normalized allocation rate of the GC profiler is in bytes per cycle.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see eu.tivian.hardware.MOS8501
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CpuBenchmark {
+    /**
+     * CPU with its memory connected through the pins.
+     * <br>The test programs keep their variables at $00 and $01, where the 8501 has its I/O port,
+     * so these two bytes are kept in the memory like in {@link SimpleCPU}.
+     */
+    static class WiredCPU extends MOS8501 {
+        /**
+         * Memory connected to the CPU.
+         */
+        private final BusMemory memory;
+
+        /**
+         * Initializes the CPU with undocumented instructions enabled.
+         * @param memory the memory connected to the CPU
+         */
+        WiredCPU(BusMemory memory) {
+            this.memory = memory;
+            useUndocumented = true;
+        }
+
+        /**
+         * Reads the memory, the bytes at $00 and $01 are read directly.
+         *
+         * @param address the memory address
+         * @param target destination of the received data
+         */
+        @Override
+        protected void read(short address, Target target) {
+            if (address == IO_DIR_VECT || address == IO_VECT)
+                load(target, memory.memory[address]);
+            else
+                super.read(address, target);
+        }
+
+        /**
+         * Writes to the memory, the bytes at $00 and $01 are written directly.
+         *
+         * @param address the memory address
+         * @param value value to write
+         */
+        @Override
+        protected void write(short address, byte value) {
+            if (address == IO_DIR_VECT || address == IO_VECT)
+                memory.memory[address] = value;
+            else
+                super.write(address, value);
+        }
+
+        /**
+         * Restarts the CPU at the given address.
+         * @param address the new program counter
+         */
+        void restart(short address) {
+            stage = Stage.OPCODE;
+            halt = false;
+            jammed = false;
+            PC = address;
+        }
+    }
+
+    /**
+     * Number of CPU cycles run by one invocation.
+     */
+    static final int CYCLES = 100_000;
+
+    /**
+     * Test program.
+     */
+    @Param({ "functional", "decimal" })
+    public String image;
+    /**
+     * Connection of the memory, {@code direct} or {@code pins}.
+     */
+    @Param({ "direct", "pins" })
+    public String wiring;
+
+    /**
+     * Content of the test program.
+     */
+    private final byte[] program = new byte[0x10000];
+    /**
+     * Address of the end of the test program.
+     */
+    private short end;
+    /**
+     * CPU with direct memory.
+     */
+    private SimpleCPU direct;
+    /**
+     * CPU connected through the pins.
+     */
+    private WiredCPU wired;
+    /**
+     * Memory of the connected CPU.
+     */
+    private BusMemory memory;
+    /**
+     * Clock of the connected CPU.
+     */
+    private Pin clock;
+
+    /**
+     * Loads the test program and builds the CPU.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        String file = "/6502_" + image + "_test.bin";
+        end = "functional".equals(image) ? (short) 0x3469 : (short) 0x044B;
+        try (InputStream in = CpuBenchmark.class.getResourceAsStream(file)) {
+            if (in == null)
+                throw new IllegalStateException("Missing test program " + file + "!");
+            in.readNBytes(program, 0, program.length);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        if ("pins".equals(wiring)) {
+            memory = new BusMemory();
+            wired = new WiredCPU(memory);
+            clock = new Pin("clock", Pin.Direction.OUTPUT);
+
+            clock.connect(wired.phi0).connect(memory.clock);
+            wired.address.connect(memory.address);
+            wired.data.connect(memory.data);
+            wired.rw.connect(memory.rw);
+            wired.aec.connect(new Pin(Pin.Direction.OUTPUT, Pin.Level.HIGH));
+            wired.rdy.connect(new Pin(Pin.Direction.OUTPUT, Pin.Level.HIGH));
+            wired.irq.connect(new Pin(Pin.Direction.OUTPUT, Pin.Level.HIGH));
+            wired.gate.connect(new Pin(Pin.Direction.OUTPUT, Pin.Level.LOW));
+            wired.reset.connect(new Pin(Pin.Direction.OUTPUT, Pin.Level.HIGH));
+        } else {
+            direct = new SimpleCPU();
+        }
+
+        restart();
+    }
+
+    /**
+     * Reloads the test program and starts it from the beginning.
+     */
+    private void restart() {
+        if (wired != null) {
+            System.arraycopy(program, 0, memory.memory, 0, program.length);
+            wired.restart((short) 0x0400);
+        } else {
+            System.arraycopy(program, 0, direct.memory, 0, program.length);
+            direct.start();
+            direct.counter((short) 0x0400);
+        }
+    }
+
+    /**
+     * Runs one CPU cycle.
+     */
+    private void cycle() {
+        if (wired != null) {
+            clock.level(Pin.Level.HIGH);
+            clock.level(Pin.Level.LOW);
+        } else {
+            direct.step();
+        }
+    }
+
+    /**
+     * Returns the program counter of the CPU.
+     * @return the program counter
+     */
+    private short counter() {
+        return wired != null ? wired.counter() : direct.counter();
+    }
+
+    /**
+     * Runs a slice of the test program, which is restarted when it's finished.
+     * @return the program counter, so the work cannot be eliminated
+     */
+    @Benchmark
+    @OperationsPerInvocation(CYCLES)
+    public short cycles() {
+        for (int i = 0; i < CYCLES; i++)
+            cycle();
+
+        short pc = counter();
+        if (pc == end)
+            restart();
+        return pc;
+    }
+}
@@ -0,0 +1,94 @@
+package eu.tivian.bench;
+
+import eu.tivian.hardware.Bus;
+import eu.tivian.hardware.NetlistCompiler;
+import eu.tivian.hardware.Pin;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the netlist primitives: a pin driving its fan-out, and a write to the 16-bit bus.
+ * <br>Every driven pin has an event handler, so the benchmarks include the delta-cycle scheduling.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see Pin
+ * @see Bus
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PinBenchmark {
+    /**
+     * Number of the pins driven by the toggled pin.
+     */
+    @Param({ "1", "8", "32" })
+    public int fanout;
+    /**
+     * {@code true} if the nets should be compiled by the {@link NetlistCompiler}.
+     */
+    @Param({ "false", "true" })
+    public boolean compiled;
+
+    /**
+     * Toggled pin.
+     */
+    private Pin driver;
+    /**
+     * Driving bus.
+     */
+    private Bus output;
+    /**
+     * Value written to the bus.
+     */
+    private int value = 0;
+    /**
+     * Number of the handled events, so the handlers cannot be eliminated.
+     */
+    private int events = 0;
+
+    /**
+     * Connects the pins and the buses.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        driver = new Pin("driver", Pin.Direction.OUTPUT);
+        for (int i = 0; i < fanout; i++) {
+            Pin pin = new Pin("load" + i, Pin.Direction.INPUT);
+            pin.onChange(() -> events++);
+            driver.connect(pin);
+        }
+
+        output = new Bus("output", "O", Pin.Direction.OUTPUT, 16);
+        Bus input = new Bus("input", "I", Pin.Direction.INPUT, 16);
+        input.onChange(() -> events++);
+        output.connect(input);
+
+        if (compiled)
+            NetlistCompiler.compile(driver, output, input);
+    }
+
+    /**
+     * Toggles the pin.
+     * @return number of the handled events
+     */
+    @Benchmark
+    public int toggle() {
+        driver.level(!driver.level().bool());
+        return events;
+    }
+
+    /**
+     * Writes the next value to the 16-bit bus.
+     * @return number of the handled events
+     */
+    @Benchmark
+    public int bus() {
+        output.value(value = (value + 0x1235) & 0xFFFF);
+        return events;
+    }
+}
@@ -0,0 +1,9 @@
+/**
+ * Performance benchmarks of the emulator, run with JMH.
+ * <br>The results are written as JSON by {@link eu.tivian.bench.Benchmarks}, so the changes of the cores
+ * can be compared on numbers.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ */
+package eu.tivian.bench;
@@ -0,0 +1,236 @@
+package eu.tivian;
+
+import eu.tivian.gui.Palette;
+import eu.tivian.hardware.Motherboard;
+import eu.tivian.hardware.TED;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+
+/**
+ * Runs the emulator without any window, as fast as possible.
+ * <br>The board runs the chosen number of frames unthrottled, the selected frames are written
+ * as PNG images or raw dumps of the color indices. The frames are rendered only if any
+ * of them should be written.
+ * <br>Supported options:
+ * <ul>
+ *     <li>{@code -n frames} - number of frames to run, 50 by default</li>
+ *     <li>{@code -c frames} - frames to capture, e.g. {@code 10,20-25}</li>
+ *     <li>{@code -o directory} - directory of the captured frames, the current one by default</li>
+ *     <li>{@code -r} - writes raw color indices instead of PNG images</li>
+ *     <li>{@code -f} - runs the fast functional tier from the first frame, see {@link Motherboard.Tier}</li>
+ *     <li>{@code -s} - renders the frames a whole raster line at a time, see {@link TED#scanlines(boolean)}</li>
+ *     <li>{@code -k file} - KERNAL ROM image</li>
+ *     <li>{@code -b file} - BASIC ROM image</li>
+ *     <li>{@code -p file} - program (PRG file) loaded into RAM</li>
+ *     <li>{@code -w frames} - number of frames run before the program is loaded, 10 by default,
+ *     must be less than the number of frames to run</li>
+ * </ul>
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see Motherboard#runFrame()
+ */
+public class Headless implements TED.Screen {
+    /**
+     * Address of the pointer to the start of BASIC program.
+     */
+    private static final int TXTTAB = 0x2B;
+    /**
+     * Address of the pointers to the end of BASIC program (start of variables, arrays and free memory).
+     */
+    private static final int VARTAB = 0x2D;
+
+    /**
+     * Frame buffer of the video chip.
+     */
+    private final byte[] frame = new byte[TED.WIDTH * TED.HEIGHT];
+    /**
+     * Frames which should be written.
+     */
+    private final BitSet capture;
+    /**
+     * Directory of the written frames.
+     */
+    private final Path output;
+    /**
+     * {@code true} if the raw color indices should be written instead of PNG images.
+     */
+    private final boolean raw;
+    /**
+     * Colors of the PNG images.
+     */
+    private final Palette palette = new Palette();
+    /**
+     * Number of the finished frames.
+     */
+    private int frames = 0;
+
+    /**
+     * Initializes the frame capture.
+     *
+     * @param capture frames which should be written
+     * @param output directory of the written frames
+     * @param raw {@code true} to write raw color indices instead of PNG images
+     */
+    private Headless(BitSet capture, Path output, boolean raw) {
+        this.capture = capture;
+        this.output = output;
+        this.raw = raw;
+    }
+
+    /**
+     * Writes the finished frame, if it was selected.
+     */
+    @Override
+    public void vsync() {
+        int current = frames++;
+        if (!capture.get(current))
+            return;
+
+        try {
+            Path file = output.resolve(String.format("frame-%05d.%s", current, raw ? "raw" : "png"));
+            if (raw) {
+                Files.write(file, frame);
+            } else {
+                BufferedImage image = new BufferedImage(TED.WIDTH, TED.HEIGHT, BufferedImage.TYPE_BYTE_INDEXED, palette.colorModel());
+                byte[] pixels = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+                System.arraycopy(frame, 0, pixels, 0, pixels.length);
+                ImageIO.write(image, "png", file.toFile());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Parses the list of frames, e.g. {@code 10,20-25}.
+     *
+     * @param list comma-separated frame numbers and ranges
+     * @return set of the frame numbers
+     * @throws IllegalArgumentException if the list is malformed
+     */
+    static BitSet frames(String list) {
+        BitSet set = new BitSet();
+
+        try {
+            for (String item : list.split(",")) {
+                int dash = item.indexOf('-');
+                if (dash < 0)
+                    set.set(Integer.parseInt(item.trim()));
+                else
+                    set.set(Integer.parseInt(item.substring(0, dash).trim()), Integer.parseInt(item.substring(dash + 1).trim()) + 1);
+            }
+        } catch (NumberFormatException | IndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Malformed frame list: " + list + "!", ex);
+        }
+
+        return set;
+    }
+
+    /**
+     * Loads the program into RAM.
+     * <br>The first two bytes of the file are the load address. If the program is loaded at the start
+     * of BASIC program, the BASIC pointers are moved past its end, so it can be listed and run.
+     *
+     * @param mb the motherboard
+     * @param program content of the PRG file
+     * @throws IllegalArgumentException if the program is too short
+     */
+    static void load(Motherboard mb, byte[] program) {
+        if (program.length < 2)
+            throw new IllegalArgumentException("Program must start with its load address!");
+
+        int start = (program[0] & 0xFF) | ((program[1] & 0xFF) << 8);
+        for (int i = 2; i < program.length; i++)
+            mb.poke(start + i - 2, program[i]);
+
+        int end = start + program.length - 2;
+        if (start == (mb.peek(TXTTAB) | (mb.peek(TXTTAB + 1) << 8))) {
+            for (int i = 0; i < 6; i += 2) {
+                mb.poke(VARTAB + i, end & 0xFF);
+                mb.poke(VARTAB + i + 1, end >> 8);
+            }
+        }
+    }
+
+    /**
+     * Starting point of the headless emulator.
+     *
+     * @param args command-line arguments
+     * @throws IOException if any of the files cannot be read or written
+     * @throws IllegalArgumentException if the options are malformed or the program would never be loaded
+     */
+    public static void main(String[] args) throws IOException {
+        int count = 50, wait = 10;
+        BitSet capture = new BitSet();
+        Path output = Path.of("."), program = null, kernal = null, basic = null;
+        boolean raw = false, fast = false, scanlines = false;
+
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("-") || args[i].length() < 2)
+                continue;
+
+            char option = args[i].charAt(1);
+            if (option == 'r' || option == 'f' || option == 's') {
+                raw |= option == 'r';
+                fast |= option == 'f';
+                scanlines |= option == 's';
+                continue;
+            } else if (i == args.length - 1) {
+                throw new IllegalArgumentException("Option " + args[i] + " needs a value!");
+            }
+
+            String value = args[++i];
+            switch (option) {
+                case 'n': count = Integer.parseInt(value); break;
+                case 'w': wait = Integer.parseInt(value); break;
+                case 'c': capture = frames(value); break;
+                case 'o': output = Path.of(value); break;
+                case 'p': program = Path.of(value); break;
+                case 'k': kernal = Path.of(value); break;
+                case 'b': basic = Path.of(value); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i - 1] + "!");
+            }
+        }
+
+        if (program != null && (wait < 0 || wait >= count))
+            throw new IllegalArgumentException("Program is loaded after " + wait + " frames, but only " + count + " frames are run!");
+
+        Motherboard mb = new Motherboard();
+        if (kernal != null)
+            mb.kernal(Files.readAllBytes(kernal));
+        if (basic != null)
+            mb.basic(Files.readAllBytes(basic));
+        if (!capture.isEmpty()) {
+            Files.createDirectories(output);
+            Headless screen = new Headless(capture, output, raw);
+            mb.render(screen.frame, screen);
+            mb.scanlines(scanlines);
+        }
+
+        if (fast)
+            mb.tier(Motherboard.Tier.FAST);
+
+        mb.powerOn();
+        long start = System.nanoTime();
+        int frames = 0;
+        for (; frames < count; frames++) {
+            if (program != null && frames == wait)
+                load(mb, Files.readAllBytes(program));
+            if (!mb.runFrame())
+                break;
+        }
+        double seconds = (System.nanoTime() - start) * 1e-9;
+
+        double cycles = mb.halfcycles() / 2.0;
+        System.out.printf("%d frames, %.0f cycles in %.3f s: %.0f cycles/s, %.1f%% of real time%n",
+                frames, cycles, seconds, cycles / seconds, 100.0 * cycles / seconds / mb.frequency());
+    }
+}
@@ -6,6 +6,8 @@ import eu.tivian.other.Logger;
 import eu.tivian.software.Monitor;
 
 import javax.swing.*;
+import java.io.IOException;
+import java.util.Arrays;
 
 /*
       TODO list
@@ -62,7 +64,7 @@ public class Main {
 
     /**
      * Parses arguments given by the {@code args} parameter.
-     * <br>Right now only '-l' is supported.
+     * <br>Right now '-l', '-m', '-v' and '-H' (headless mode, the rest of arguments go to {@link Headless}) are supported.
      *
      * @param args command-line arguments
      */
@@ -83,6 +85,16 @@ public class Main {
                     System.exit(0);
                     break;
 
+                case 'H':
+                    try {
+                        Headless.main(Arrays.copyOfRange(args, i + 1, args.length));
+                    } catch (IOException ex) {
+                        System.err.println(ex.getMessage());
+                        System.exit(1);
+                    }
+                    System.exit(0);
+                    break;
+
                 case 'v':
                     System.out.println("Teddy16 0.1\n2020-01-21\t by Paul Kania");
                     System.exit(0);
@@ -103,7 +115,8 @@ public class Main {
             createAndShowGUI();
             new Thread(() -> {
                 Motherboard mb = new Motherboard();
-                mb.render(window::set);
+                mb.render(window.panel().frame(), window.panel());
+                mb.scanlines(true);
                 mb.start();
             }).start();
         });
@@ -37,21 +37,13 @@ public class MainWindow extends JPanel {
     }
 
     /**
-     * Sets pixel at position ({@code x}, {@code y}) with color given by the {@code color} parameter
-     * which corresponds to the n-th color of the {@link Palette}.
+     * Returns the panel which displays the screen of the emulator.
+     * <br>The panel receives the frames from the video chip through its frame buffer.
      *
-     * @param x column
-     * @param y row
-     * @param color n-th color of the selected palette
-     * @throws IndexOutOfBoundsException if the {@code x} parameter is out of range (x &lt; 0 || x &ge; 720)
-     * @throws IndexOutOfBoundsException if the {@code y} parameter is out of range (y &lt; 0 || y &ge; 576)
-     * @throws IndexOutOfBoundsException if the {@code color} parameter exceeds its range
-     *         (color &lt; 0 || color &ge; 121)
+     * @return the pixel panel
+     * @see RenderPanel#frame()
      */
-    public void set(int x, int y, int color) {
-        //if (x == 0 && y == 0)
-            panel.repaint();
-
-        panel.image().setRGB(x, y, panel.palette().get(color).getRGB());
+    public RenderPanel panel() {
+        return panel;
     }
 }
@@ -1,7 +1,9 @@
 package eu.tivian.gui;
 
 import java.awt.*;
+import java.awt.image.IndexColorModel;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
@@ -9,6 +11,8 @@ import java.util.Set;
 /**
  * Commodore 16 palette.
  * <br>Based on <a href="www.colodore.com">Colodore</a>.
+ * <br>Each rendering of the palette is published at once, as a list of colors and a matching
+ * {@link IndexColorModel}, so the readers never see a half-changed palette.
  *
  * @author Paweł Kania
  * @author Pepto
@@ -46,7 +50,11 @@ public class Palette implements Iterable<Color> {
     /**
      * Actual palette of colors.
      */
-    private final List<Color> palette = new ArrayList<>();
+    private volatile List<Color> palette;
+    /**
+     * Color model of the actual palette.
+     */
+    private volatile IndexColorModel model;
 
     /**
      * Luminance levels of the TED chip.
@@ -86,6 +94,43 @@ public class Palette implements Iterable<Color> {
         return palette.get(i);
     }
 
+    /**
+     * Returns the ARGB values of the palette colors.
+     * <br>The returned array is a copy, so it can be used as a lookup table without any synchronization.
+     *
+     * @return ARGB value of each color, indexed by the color number
+     */
+    public int[] table() {
+        IndexColorModel model = this.model;
+        int[] table = new int[model.getMapSize()];
+        model.getRGBs(table);
+        return table;
+    }
+
+    /**
+     * Returns the color model of the palette, suitable for {@link java.awt.image.BufferedImage#TYPE_BYTE_INDEXED}.
+     * <br>The model is immutable, changing the palette creates a new one.
+     *
+     * @return color model of the palette
+     */
+    public IndexColorModel colorModel() {
+        return model;
+    }
+
+    /**
+     * Changes the picture settings and renders the palette again.
+     *
+     * @param brightness new brightness, 50 by default
+     * @param contrast new contrast, 100 by default
+     * @param saturation new saturation, 50 by default
+     */
+    public synchronized void adjust(double brightness, double contrast, double saturation) {
+        this.brightness = brightness;
+        this.contrast = contrast;
+        this.saturation = saturation;
+        render();
+    }
+
     /**
      * Returns the size of the palette.
      * @return the size of the palette.
@@ -161,7 +206,10 @@ public class Palette implements Iterable<Color> {
         double bri = brightness - 50;
         double y, u, v;
 
-        palette.clear();
+        List<Color> palette = new ArrayList<>();
+        byte[] red = new byte[lumas.length * (angles.length + 2)];
+        byte[] green = new byte[red.length];
+        byte[] blue = new byte[red.length];
 
         for (int luma : lumas) {
             for (int k = -2; k < angles.length; k++) {
@@ -177,9 +225,15 @@ public class Palette implements Iterable<Color> {
                 int g = (int) Math.round(gamma(yuv2g(y, u, v)));
                 int b = (int) Math.round(gamma(yuv2b(y, u)));
 
+                red[palette.size()] = (byte) r;
+                green[palette.size()] = (byte) g;
+                blue[palette.size()] = (byte) b;
                 palette.add(new Color((r << 16) | (g << 8) | b));
             }
         }
+
+        this.model = new IndexColorModel(8, red.length, red, green, blue);
+        this.palette = Collections.unmodifiableList(palette);
     }
 
     /**
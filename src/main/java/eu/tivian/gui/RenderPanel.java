@@ -1,23 +1,33 @@
 package eu.tivian.gui;
 
+import eu.tivian.hardware.TED;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
 import java.awt.image.ImageObserver;
 import java.awt.image.IndexColorModel;
+import java.awt.image.VolatileImage;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.IntStream;
 
 /**
  * Panel to draw the pixel data from the emulator.
+ * <br>The emulator writes the color indices into the {@link #frame()} and converts each finished line into
+ * the back buffer. At the vertical sync the back buffer is swapped with the pending one, and the panel is
+ * repainted once. Swing only draws the front buffer, so the emulator never writes the image being drawn.
  *
  * @author Paweł Kania
  * @since 2019-12-08
  * @see MainWindow
  */
-public class RenderPanel extends JPanel {
+public class RenderPanel extends JPanel implements TED.Screen {
     /**
      * Width of the panel.
      * <br>For PAL output it should be 720 pixels wide.
@@ -34,22 +44,163 @@ public class RenderPanel extends JPanel {
      */
     protected Palette pal;
     /**
-     * Image which should be drawn onto the emulator window.
+     * Image which should be drawn onto the emulator window, i.e. the front buffer.
      */
     protected BufferedImage image;
 
+    /**
+     * Color indices written by the video chip.
+     */
+    private final byte[] frame = new byte[TED.WIDTH * TED.HEIGHT];
+    /**
+     * {@code true} if the buffers hold color indices instead of RGB values.
+     */
+    private final boolean indexed;
+    /**
+     * RGB values of the palette colors, used by the RGB buffers.
+     */
+    private int[] rgb;
+    /**
+     * Image filled by the emulator.
+     */
+    private BufferedImage back;
+    /**
+     * Pixels of the RGB back buffer.
+     */
+    private int[] backPixels;
+    /**
+     * Pixels of the indexed back buffer.
+     */
+    private byte[] backIndices;
+    /**
+     * Finished image, waiting to be drawn.
+     */
+    private final AtomicReference<BufferedImage> pending;
+    /**
+     * {@code true} if the pending image wasn't drawn yet.
+     */
+    private final AtomicBoolean fresh = new AtomicBoolean(false);
+
     /**
      * Initialization of the panel, by default for the PAL output.
+     * <br>The frames are kept as color indices.
      */
     public RenderPanel() {
+        this(true);
+    }
+
+    /**
+     * Initialization of the panel for the PAL output.
+     * <br>Indexed buffers take a quarter of the memory traffic of the RGB ones, and their palette
+     * can be changed without touching the pixels.
+     *
+     * @param indexed {@code true} if the frames should be kept as color indices, {@code false} for RGB values
+     */
+    public RenderPanel(boolean indexed) {
         this.width = 720;
         this.height = 576;
+        this.indexed = indexed;
         this.pal = new Palette();
-        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.rgb = pal.table();
+        this.image = buffer();
+        this.pending = new AtomicReference<>(buffer());
+        back(buffer());
 
         this.setSize(width, height);
     }
 
+    /**
+     * Creates the frame buffer.
+     * @return image of the size of the frame
+     */
+    private BufferedImage buffer() {
+        return indexed ? new BufferedImage(TED.WIDTH, TED.HEIGHT, BufferedImage.TYPE_BYTE_INDEXED, pal.colorModel())
+                       : new BufferedImage(TED.WIDTH, TED.HEIGHT, BufferedImage.TYPE_INT_RGB);
+    }
+
+    /**
+     * Makes the given image the back buffer.
+     * @param image the new back buffer
+     */
+    private void back(BufferedImage image) {
+        back = image;
+        if (indexed)
+            backIndices = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+        else
+            backPixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
+    /**
+     * Returns the frame buffer which should be filled by the video chip.
+     * @return color indices of the frame
+     * @see TED#render(byte[], TED.Screen)
+     */
+    public byte[] frame() {
+        return frame;
+    }
+
+    /**
+     * Copies the finished line into the back buffer.
+     * @param y row of the frame
+     */
+    @Override
+    public void line(int y) {
+        int from = y * TED.WIDTH;
+        if (indexed) {
+            System.arraycopy(frame, from, backIndices, from, TED.WIDTH);
+            return;
+        }
+
+        int[] pixels = backPixels, rgb = this.rgb;
+        for (int i = from, end = from + TED.WIDTH; i < end; i++)
+            pixels[i] = rgb[frame[i] & 0x7F];
+    }
+
+    /**
+     * Publishes the back buffer and asks Swing to draw it.
+     */
+    @Override
+    public void vsync() {
+        back(pending.getAndSet(back));
+        if (!indexed)
+            rgb = pal.table();
+        fresh.set(true);
+        repaint();
+    }
+
+    /**
+     * Changes the picture settings.
+     * <br>The indexed frames only get the new color model, their pixels stay untouched.
+     *
+     * @param brightness new brightness
+     * @param contrast new contrast
+     * @param saturation new saturation
+     * @see Palette#adjust(double, double, double)
+     */
+    public void adjust(double brightness, double contrast, double saturation) {
+        pal.adjust(brightness, contrast, saturation);
+        repaint();
+    }
+
+    /**
+     * {@code true} if the front buffer is drawn through the {@link VolatileImage}.
+     */
+    private volatile boolean accelerated = false;
+    /**
+     * Accelerated copy of the front buffer.
+     */
+    private VolatileImage surface = null;
+
+    /**
+     * Chooses how the front buffer is drawn.
+     * <br>The accelerated path keeps a copy of the frame in the video memory, which helps when the panel is scaled.
+     *
+     * @param accelerated {@code true} if the frame should be drawn through the {@link VolatileImage}
+     */
+    public void accelerated(boolean accelerated) {
+        this.accelerated = accelerated;
+    }
+
     //private Image render() {
         /*int size = pal.size();
         byte r[] = new byte[size];
@@ -92,6 +243,8 @@ public class RenderPanel extends JPanel {
 
     /**
      * Returns the image which represents the C16 screen.
+     * <br>It's the front buffer, which is only changed by Swing when the panel is painted.
+     *
      * @return the image which represents the C16 screen
      */
     public BufferedImage image() {
@@ -136,6 +289,25 @@ public class RenderPanel extends JPanel {
      */
     @Override
     public void paint(Graphics g){
-        g.drawImage(image, 0, 0, this);
+        if (fresh.getAndSet(false))
+            image = pending.getAndSet(image);
+        if (indexed && image.getColorModel() != pal.colorModel())
+            image = new BufferedImage(pal.colorModel(), image.getRaster(), false, null);
+
+        if (!accelerated || getGraphicsConfiguration() == null) {
+            g.drawImage(image, 0, 0, getWidth(), getHeight(), this);
+            return;
+        }
+
+        do {
+            if (surface == null || surface.validate(getGraphicsConfiguration()) == VolatileImage.IMAGE_INCOMPATIBLE)
+                surface = createVolatileImage(TED.WIDTH, TED.HEIGHT);
+
+            Graphics2D copy = surface.createGraphics();
+            copy.drawImage(image, 0, 0, null);
+            copy.dispose();
+
+            g.drawImage(surface, 0, 0, getWidth(), getHeight(), this);
+        } while (surface.contentsLost());
     }
 }
@@ -25,13 +25,30 @@ public class Bus implements Iterable<Pin> {
      */
     private final Set<Bus> connections;
     /**
-     * Activates after changing the logical level of the bus.
+     * Index of the event handler in the {@link DeltaScheduler}, activates after changing the logical level of the bus.
+     * <br>{@code -1} if the bus has no event handler.
      */
-    private Runnable onChange = null;
+    int handler = -1;
+    /**
+     * Event handler of the bus, the {@link DeltaScheduler} holds it only weakly.
+     */
+    private Runnable onChange;
+    /**
+     * Scheduler of the thread which created the bus, evaluating its event handler.
+     */
+    final DeltaScheduler scheduler = DeltaScheduler.current();
     /**
      * Direction of the bus.
      */
     private Pin.Direction direction;
+    /**
+     * Bits of the pins set as outputs by the bus.
+     */
+    private long outputs;
+    /**
+     * Bus net shared with the buses wired pin-for-pin, {@code null} if there is none.
+     */
+    BusNet net = null;
 
     /**
      * Initializes unnamed bus with given list of pins.
@@ -53,6 +70,8 @@ public class Bus implements Iterable<Pin> {
         this.pins = new ArrayList<>(pins);
         this.connections = new HashSet<>();
         this.direction = pins.get(0).direction();
+        for (int i = Math.min(pins.size(), Long.SIZE) - 1; i >= 0; i--)
+            outputs = (outputs << 1) | (pins.get(i).direction() == Pin.Direction.OUTPUT ? 1 : 0);
     }
 
     /**
@@ -83,6 +102,7 @@ public class Bus implements Iterable<Pin> {
         for (int i = 0; i < length; i++)
             temp.add(new Pin(prefix + i, direction));
         pins = Collections.unmodifiableList(temp);
+        outputs = direction == Pin.Direction.OUTPUT ? mask() : 0;
     }
 
     /**
@@ -116,6 +136,7 @@ public class Bus implements Iterable<Pin> {
 
     /**
      * Connects the bus to another and maps the pins.
+     * <br>Buses wired pin-for-pin are joined into the {@link BusNet}.
      *
      * @param other a bus to connect to
      * @param mapper maps the pin indexes
@@ -123,14 +144,18 @@ public class Bus implements Iterable<Pin> {
      */
     public Bus connect(Bus other, Function<Integer, Integer> mapper) {
         if (!connections.contains(other)) {
+            boolean straight = pins.size() == other.pins.size();
             for (int i = 0; i < pins.size(); i++) {
                 int index = mapper.apply(i);
                 if (index >= 0)
                     other.pins.get(index).connect(pins.get(i));
+                straight &= index == i;
             }
 
             connections.add(other);
             other.connections.add(this);
+            if (straight)
+                BusNet.join(this, other);
         }
 
         return this;
@@ -151,6 +176,8 @@ public class Bus implements Iterable<Pin> {
      */
     public void disconnect(Bus other) {
         connections.remove(other);
+        if (net != null && net == other.net)
+            net.dissolve();
     }
 
     /**
@@ -166,8 +193,14 @@ public class Bus implements Iterable<Pin> {
      * @param direction new direction of the bus
      */
     public void direction(Pin.Direction direction) {
-        pins.forEach(p -> p.direction(direction));
+        scheduler.begin();
+        try {
+            pins.forEach(p -> p.direction(direction));
+        } finally {
+            scheduler.commit();
+        }
         this.direction = direction;
+        outputs = direction == Pin.Direction.OUTPUT ? mask() : 0;
     }
 
     /**
@@ -175,9 +208,15 @@ public class Bus implements Iterable<Pin> {
      * @param direction each bit represents either output ({@code 1}) or input ({@code 0})
      */
     public void direction(long direction) {
-        for (Pin p : pins) {
-            p.direction((direction & 1) != 0 ? Pin.Direction.OUTPUT : Pin.Direction.INPUT);
-            direction >>= 1;
+        outputs = direction & mask();
+        scheduler.begin();
+        try {
+            for (Pin p : pins) {
+                p.direction((direction & 1) != 0 ? Pin.Direction.OUTPUT : Pin.Direction.INPUT);
+                direction >>= 1;
+            }
+        } finally {
+            scheduler.commit();
         }
     }
 
@@ -186,20 +225,19 @@ public class Bus implements Iterable<Pin> {
      * @return bit representation of pin directions
      */
     public long dirValue() {
-        long val = 0x00;
-        for (int i = pins.size() - 1; i >= 0; i--) {
-            val <<= 1;
-            val |= pins.get(i).direction() == Pin.Direction.OUTPUT ? 1 : 0;
-        }
-
-        return val;
+        return outputs;
     }
 
     /**
      * Translates levels of all pins to bits.
+     * <br>The input bus which is a part of the {@link BusNet} reads the whole word at once.
+     *
      * @return bit representation of the levels of the pins
      */
     public long value() {
+        if (net != null && outputs == 0 && direction == Pin.Direction.INPUT)
+            return net.value() & mask();
+
         long val = 0x00;
         for (int i = pins.size() - 1; i >= 0; i--) {
             val <<= 1;
@@ -219,26 +257,40 @@ public class Bus implements Iterable<Pin> {
         if (direction == Pin.Direction.HI_Z)
             return;
 
-        for (Pin pin : pins) {
-            if (pin.level((val & 1) != 0))
-                changed = true;
-            val >>= 1;
-        }
+        scheduler.begin();
+        try {
+            for (Pin pin : pins) {
+                if (pin.level((val & 1) != 0))
+                    changed = true;
+                val >>= 1;
+            }
 
-        if (changed) {
-            for (Bus b : connections) {
-                if (b.direction == Pin.Direction.INPUT && b.onChange != null)
-                    b.onChange.run();
+            if (changed) {
+                for (Bus b : connections) {
+                    if (b.direction == Pin.Direction.INPUT && b.handler >= 0 && (net == null || b.net != net))
+                        b.scheduler.post(b.handler);
+                }
             }
+        } finally {
+            scheduler.commit();
         }
     }
 
+    /**
+     * Gets the mask of the bits covered by the bus.
+     * @return the mask of the bits of the bus
+     */
+    private long mask() {
+        return pins.size() >= Long.SIZE ? -1L : (1L << pins.size()) - 1;
+    }
+
     /**
      * Sets the event handler.
      * @param onChange the event handler
      */
     public void onChange(Runnable onChange) {
         this.onChange = onChange;
+        this.handler = onChange != null ? scheduler.register(onChange, name) : -1;
     }
 
     /**
@@ -0,0 +1,144 @@
+package eu.tivian.hardware;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Group of buses wired together pin-for-pin, created by {@link Bus#connect(Bus)}.
+ * <br>The net follows the wires of its bits and keeps their levels packed in a single {@code long},
+ * so the input buses can read the whole word at once. The event handlers of the member buses are
+ * notified through the {@link DeltaScheduler}, so they run once per word change, not once per bit.
+ * <br>Single pins tapping into the wires of the net still see the change of each bit.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see Bus
+ */
+final class BusNet {
+    /**
+     * Wires of the net, indexed by the bit.
+     */
+    private final Wire[] wires = new Wire[Long.SIZE];
+    /**
+     * Buses wired to the net.
+     */
+    private final List<Bus> members = new ArrayList<>();
+    /**
+     * Packed levels of the wires of the net.
+     */
+    private long value = 0;
+    /**
+     * {@code false} after the net was dissolved.
+     */
+    private boolean valid = true;
+
+    /**
+     * Joins two buses wired pin-for-pin into one net.
+     * <br>A bus joins the net only if each of its pins lies on the wire of the corresponding bit.
+     *
+     * @param a the first bus
+     * @param b the second bus
+     */
+    static void join(Bus a, Bus b) {
+        BusNet net = a.net != null ? a.net : (b.net != null ? b.net : new BusNet());
+        if (b.net != null && b.net != net) {
+            BusNet other = b.net;
+            List<Bus> moved = new ArrayList<>(other.members);
+            other.dissolve();
+            for (Bus m : moved)
+                net.add(m);
+        }
+
+        net.add(a);
+        net.add(b);
+    }
+
+    /**
+     * Adds the bus to the net.
+     *
+     * @param bus the bus to add
+     * @return {@code true} if the bus belongs to the net
+     */
+    private boolean add(Bus bus) {
+        if (bus.net == this)
+            return true;
+        else if (bus.net != null || bus.size() > Long.SIZE)
+            return false;
+
+        for (int i = 0; i < bus.size(); i++) {
+            Wire w = bus.get(i).wire();
+            if (w == null || (wires[i] != null && wires[i] != w) || (w.busNet != null && (w.busNet != this || w.bit != i)))
+                return false;
+        }
+
+        for (int i = 0; i < bus.size(); i++) {
+            Wire w = bus.get(i).wire();
+            if (wires[i] == null) {
+                wires[i] = w;
+                w.busNet = this;
+                w.bit = i;
+                level(i, w.level() == Pin.Level.HIGH);
+            }
+        }
+
+        bus.net = this;
+        members.add(bus);
+        return true;
+    }
+
+    /**
+     * Splits the net back into the single wires, after the wiring changed.
+     */
+    void dissolve() {
+        if (!valid)
+            return;
+
+        valid = false;
+        for (Bus m : members)
+            m.net = null;
+        for (int i = 0; i < wires.length; i++) {
+            if (wires[i] != null) {
+                wires[i].busNet = null;
+                wires[i].bit = -1;
+                wires[i] = null;
+            }
+        }
+        members.clear();
+    }
+
+    /**
+     * Gets the packed levels of the wires.
+     * @return the packed levels of the wires
+     */
+    long value() {
+        return value;
+    }
+
+    /**
+     * Stores the level of the wire without any events.
+     *
+     * @param bit index of the wire
+     * @param high new level of the wire
+     */
+    void level(int bit, boolean high) {
+        if (high)
+            value |= 1L << bit;
+        else
+            value &= ~(1L << bit);
+    }
+
+    /**
+     * Stores the changed level of the wire and queues the event handlers of the input buses.
+     *
+     * @param bit index of the wire
+     * @param high new level of the wire
+     */
+    void change(int bit, boolean high) {
+        level(bit, high);
+        for (int i = 0; i < members.size(); i++) {
+            Bus m = members.get(i);
+            if (m.direction() == Pin.Direction.INPUT && m.handler >= 0)
+                m.scheduler.post(m.handler);
+        }
+    }
+}
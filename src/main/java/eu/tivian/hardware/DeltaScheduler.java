@@ -0,0 +1,419 @@
+package eu.tivian.hardware;
+
+import eu.tivian.other.Logger;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Delta-cycle event scheduler of the pin events.
+ * <br>Changes of the nets don't run the event handlers recursively, instead the handlers are queued in
+ * a ring buffer and evaluated in delta cycles. Each handler is evaluated at most once per delta cycle,
+ * even if it listens to many changed pins. Handlers queued during a delta cycle are evaluated in the next one.
+ * <br>Changes made outside of any handler are propagated until the circuit settles, before the change returns,
+ * so for the caller the propagation still looks synchronous.
+ * <br>Each thread has its own scheduler, see {@link #current()}, and the pins and the buses are bound to the scheduler
+ * of the thread which created them. The scheduler is confined to its thread, so the circuit driven from another
+ * thread fails fast instead of corrupting the queue. All of the circuits built by the same thread share the scheduler,
+ * which costs nothing, because the queue is empty between the changes made from the outside.
+ * <br>The handlers are registered weakly, the pins and the buses keep them alive. Once the component is dropped,
+ * its handlers are collected and their indices are reused by the next registrations.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ */
+public final class DeltaScheduler {
+    /**
+     * Default maximum number of delta cycles needed for the circuit to settle.
+     */
+    public static final int CONVERGENCE_LIMIT = 1000;
+    /**
+     * Scheduler of each thread.
+     */
+    private static final ThreadLocal<DeltaScheduler> CURRENT = ThreadLocal.withInitial(DeltaScheduler::new);
+
+    /**
+     * Weak registration of the event handler, remembering its index.
+     */
+    private static final class Registration extends WeakReference<Runnable> {
+        /**
+         * Index of the event handler.
+         */
+        final int id;
+
+        /**
+         * Registers the event handler.
+         *
+         * @param handler the event handler
+         * @param id index of the event handler
+         * @param released queue of the collected event handlers
+         */
+        Registration(Runnable handler, int id, ReferenceQueue<Runnable> released) {
+            super(handler, released);
+            this.id = id;
+        }
+    }
+
+    /**
+     * Registered event handlers, {@code null} for the released indices.
+     */
+    private Registration[] handlers = new Registration[256];
+    /**
+     * Names of the registered event handlers, used to report the oscillations.
+     */
+    private String[] names = new String[256];
+    /**
+     * {@code true} if the event handler is waiting in the queue.
+     */
+    private boolean[] queued = new boolean[256];
+    /**
+     * Indices of the registered event handlers.
+     * <br>None of the handlers overrides {@code equals}, so they are compared by identity.
+     */
+    private final Map<Runnable, Integer> index = new WeakHashMap<>();
+    /**
+     * Number of used indices, including the released ones.
+     */
+    private int count = 0;
+    /**
+     * Registrations of the collected event handlers.
+     */
+    private final ReferenceQueue<Runnable> released = new ReferenceQueue<>();
+    /**
+     * Released indices, ready to be reused.
+     */
+    private int[] free = new int[256];
+    /**
+     * Number of released indices.
+     */
+    private int freed = 0;
+
+    /**
+     * Ring buffer of queued event handlers.
+     */
+    private int[] queue = new int[256];
+    /**
+     * Position of the first queued event handler.
+     */
+    private int head = 0;
+    /**
+     * Number of queued event handlers.
+     */
+    private int size = 0;
+
+    /**
+     * {@code true} while the queue is evaluated.
+     */
+    private boolean running = false;
+    /**
+     * Number of nested batches of changes, the queue is not evaluated until all of them are committed.
+     */
+    private int depth = 0;
+    /**
+     * Maximum number of delta cycles needed for the circuit to settle.
+     */
+    private int limit = CONVERGENCE_LIMIT;
+
+    /**
+     * Total number of delta cycles.
+     */
+    private long deltas = 0;
+    /**
+     * Total number of evaluated event handlers.
+     */
+    private long evaluations = 0;
+
+    /**
+     * Thread which owns the scheduler.
+     */
+    private final Thread thread;
+    /**
+     * Transaction handed out by {@link Transaction#begin()}, reused so it doesn't allocate.
+     */
+    final Transaction transaction = new Transaction(this);
+
+    /**
+     * Initializes the scheduler owned by the current thread.
+     * <br>Outside of the tests, the scheduler of the thread is taken from {@link #current()}.
+     */
+    DeltaScheduler() {
+        thread = Thread.currentThread();
+    }
+
+    /**
+     * Gets the scheduler of the current thread.
+     * @return the scheduler of the current thread
+     */
+    public static DeltaScheduler current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Registers the event handler.
+     * <br>The same handler object always gets the same index, so it can be shared between many pins.
+     *
+     * @param handler the event handler
+     * @param name the name used in the reports
+     * @return index of the event handler
+     * @throws NullPointerException if the event handler is {@code null}
+     */
+    int register(Runnable handler, String name) {
+        if (handler == null)
+            throw new NullPointerException("Event handler cannot be null!");
+
+        confine();
+        expunge();
+        Integer id = index.get(handler);
+        if (id != null)
+            return id;
+
+        int slot;
+        if (freed > 0) {
+            slot = free[--freed];
+        } else {
+            if (count == handlers.length) {
+                int length = count << 1;
+                handlers = Arrays.copyOf(handlers, length);
+                names = Arrays.copyOf(names, length);
+                queued = Arrays.copyOf(queued, length);
+            }
+            slot = count++;
+        }
+
+        handlers[slot] = new Registration(handler, slot, released);
+        names[slot] = name;
+        index.put(handler, slot);
+        return slot;
+    }
+
+    /**
+     * Gets the number of the registered event handlers, which weren't collected yet.
+     * @return the number of the registered event handlers
+     */
+    int registered() {
+        expunge();
+        return count - freed;
+    }
+
+    /**
+     * Queues the event handler to be evaluated in the next delta cycle.
+     * <br>If no delta cycle is running, the queue is evaluated before returning.
+     *
+     * @param id index of the event handler
+     */
+    void post(int id) {
+        confine();
+        if (!queued[id]) {
+            queued[id] = true;
+            if (size == queue.length)
+                grow();
+            queue[(head + size++) & (queue.length - 1)] = id;
+        }
+
+        if (!running && depth == 0)
+            settle();
+    }
+
+    /**
+     * Starts a batch of changes.
+     * <br>Event handlers are only queued until the matching {@link #commit()}.
+     */
+    void begin() {
+        confine();
+        depth++;
+    }
+
+    /**
+     * Checks if any batch of changes is open.
+     * @return {@code true} if the event handlers are only queued
+     */
+    boolean held() {
+        return depth > 0;
+    }
+
+    /**
+     * Finishes the batch of changes.
+     * <br>After the outermost batch the queue is evaluated, unless a delta cycle is already running.
+     *
+     * @throws IllegalStateException if there is no batch to commit
+     */
+    void commit() {
+        confine();
+        if (depth == 0)
+            throw new IllegalStateException("Nothing to commit!");
+
+        if (--depth == 0 && !running)
+            settle();
+    }
+
+    /**
+     * Evaluates the queued event handlers until the circuit settles.
+     * <br>May be called from the event handler which needs the outcome of its own changes.
+     *
+     * @throws IllegalStateException if the circuit doesn't settle within the convergence limit
+     *                               or the scheduler is owned by another thread
+     */
+    public void settle() {
+        confine();
+        boolean nested = running;
+        running = true;
+
+        try {
+            for (int delta = 0; size != 0; delta++) {
+                if (delta == limit)
+                    throw oscillation();
+
+                deltas++;
+                for (int n = size; n > 0 && size != 0; n--) {
+                    int id = queue[head];
+                    head = (head + 1) & (queue.length - 1);
+                    size--;
+
+                    queued[id] = false;
+                    evaluations++;
+                    Registration r = handlers[id];
+                    Runnable handler = r != null ? r.get() : null;
+                    if (handler != null)
+                        handler.run();
+                    else
+                        release(id);
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            clear();
+            throw e;
+        } finally {
+            running = nested;
+        }
+    }
+
+    /**
+     * Changes the maximum number of delta cycles needed for the circuit to settle.
+     *
+     * @param limit new convergence limit
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public void limit(int limit) {
+        if (limit <= 0)
+            throw new IllegalArgumentException("Convergence limit must be positive!");
+
+        this.limit = limit;
+    }
+
+    /**
+     * Gets the maximum number of delta cycles needed for the circuit to settle.
+     * @return the convergence limit
+     */
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * Gets the total number of delta cycles.
+     * @return the total number of delta cycles
+     */
+    public long deltas() {
+        return deltas;
+    }
+
+    /**
+     * Gets the total number of evaluated event handlers.
+     * @return the total number of evaluated event handlers
+     */
+    public long evaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Doubles the size of the queue.
+     */
+    private void grow() {
+        int[] temp = new int[queue.length << 1];
+        for (int i = 0; i < size; i++)
+            temp[i] = queue[(head + i) & (queue.length - 1)];
+
+        queue = temp;
+        head = 0;
+    }
+
+    /**
+     * Releases the indices of the collected event handlers.
+     * <br>An index still waiting in the queue is released once it's taken out of it.
+     */
+    private void expunge() {
+        for (Object ref; (ref = released.poll()) != null; ) {
+            Registration r = (Registration) ref;
+            if (handlers[r.id] == r) {
+                if (queued[r.id])
+                    handlers[r.id] = null;
+                else
+                    release(r.id);
+            }
+        }
+    }
+
+    /**
+     * Releases the index of the event handler.
+     *
+     * @param id index of the event handler
+     */
+    private void release(int id) {
+        handlers[id] = null;
+        names[id] = null;
+        if (freed == free.length)
+            free = Arrays.copyOf(free, freed << 1);
+        free[freed++] = id;
+    }
+
+    /**
+     * Drops all of the queued event handlers.
+     */
+    private void clear() {
+        for (; size > 0; size--) {
+            queued[queue[head]] = false;
+            head = (head + 1) & (queue.length - 1);
+        }
+    }
+
+    /**
+     * Gets the weak registration of the event handler.
+     * <br>Used by the tests to release the handler without waiting for the garbage collector.
+     *
+     * @param id index of the event handler
+     * @return the registration or {@code null} if the index is released
+     */
+    Reference<Runnable> registration(int id) {
+        return handlers[id];
+    }
+
+    /**
+     * Checks if the scheduler is used by its own thread.
+     * @throws IllegalStateException if the current thread doesn't own the scheduler
+     */
+    private void confine() {
+        if (Thread.currentThread() != thread)
+            throw new IllegalStateException("Delta scheduler is confined to the thread " + thread.getName() + "!");
+    }
+
+    /**
+     * Creates the report of the oscillating event handlers.
+     * @return the exception describing the oscillation
+     */
+    private IllegalStateException oscillation() {
+        List<String> loop = new ArrayList<>();
+        for (int i = 0; i < size; i++)
+            loop.add(names[queue[(head + i) & (queue.length - 1)]]);
+
+        String msg = "Circuit did not settle after " + limit + " delta cycles, oscillating: " + loop;
+        if (Logger.ENABLE)
+            Logger.error(msg);
+
+        return new IllegalStateException(msg);
+    }
+}
@@ -0,0 +1,133 @@
+package eu.tivian.hardware;
+
+import eu.tivian.other.Logger;
+
+import java.util.Arrays;
+
+/**
+ * Bank of the dynamic RAM, i.e. both TMS4416 chips (U5 and U6) together with their address multiplexers (U7 and U8).
+ * <br>The pins are the same as on the chips: row and column address strobes, R/W, select of the multiplexers
+ * and both data nibbles. The address bus is connected straight to the address bus of the CPU and the TED,
+ * because the multiplexers only pick one half of it.
+ * <br>The whole address is latched when RAS falls. When CAS falls, the row and the column are calculated
+ * from it, like the multiplexers would put them on the RAM pins, and the byte is accessed with a single
+ * array index, instead of updating the multiplexers on every change of the address bus.
+ * <br>The refresh is ignored, like by the {@link RAM} chip.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see RAM
+ * @see eu.tivian.hardware.logic.IC74LS257
+ */
+public class DramBank extends Memory {
+    /**
+     * Column address strobe.
+     */
+    public final Pin cas = new Pin("column address strobe", Pin.Direction.INPUT);
+    /**
+     * Row address strobe.
+     */
+    public final Pin ras = new Pin("row address strobe"   , Pin.Direction.INPUT);
+    /**
+     * Read/write pin.
+     */
+    public final Pin rw  = new Pin("R/W"                  , Pin.Direction.INPUT);
+    /**
+     * Select of the address multiplexers.
+     * <br>The row is put on the RAM pins while it's HIGH, the column while it's LOW.
+     */
+    public final Pin mux = new Pin("address mux"          , Pin.Direction.INPUT);
+
+    /**
+     * Mask of the address inside of the bank.
+     */
+    private final int mask;
+
+    /**
+     * {@code true} if the row has been latched.
+     */
+    private boolean strobed = false;
+    /**
+     * Address bus latched together with the row.
+     */
+    private int latch = 0;
+    /**
+     * Row put on the RAM pins by the multiplexers.
+     */
+    private int row = 0;
+
+    /**
+     * Initializes the bank with the content of the power-on.
+     *
+     * @param name name of the bank
+     * @param size number of the bytes, the power of two
+     * @throws IllegalArgumentException if {@code size} isn't the power of two
+     */
+    public DramBank(String name, int size) {
+        super(
+            name,
+            new Bus("data"   , "D", Pin.Direction.HI_Z , 8),
+            new Bus("address", "A", Pin.Direction.INPUT, 16),
+            size
+        );
+
+        if (Integer.bitCount(size) != 1)
+            throw new IllegalArgumentException("Size of the RAM bank must be the power of two!");
+
+        mask = size - 1;
+        Arrays.fill(content, (byte) 0xBB);
+
+        rw.onChange(this::direction);
+        cas.onChange(() -> {
+            direction();
+            update();
+        });
+        ras.onChange(this::update);
+    }
+
+    /**
+     * Changes the direction of the data bus according to the level at {@link #cas} and {@link #rw}.
+     */
+    private void direction() {
+        data.direction(cas.level() == Pin.Level.HIGH ? Pin.Direction.HI_Z
+            : (rw.level() == Pin.Level.HIGH ? Pin.Direction.OUTPUT : Pin.Direction.INPUT));
+    }
+
+    /**
+     * Calculates the levels of the RAM address pins, driven by the multiplexers.
+     * <br>Row is made of A0 - A7, column of A8 - A13 on the pins 1 - 6, the remaining pins are tied to VCC.
+     *
+     * @param address the address bus
+     * @param row {@code true} if the multiplexers select the row
+     * @return levels of the RAM address pins
+     */
+    private static int multiplex(int address, boolean row) {
+        return row ? address & 0xFF : 0x81 | ((address >> 7) & 0x7E);
+    }
+
+    /**
+     * Updates the state of the bank according to the {@link #ras}, {@link #cas} and {@link #rw} pins.
+     */
+    private void update() {
+        if (!strobed && ras.level() == Pin.Level.LOW) {
+            latch = (int) address.value();
+            row = multiplex(latch, mux.level() == Pin.Level.HIGH);
+            strobed = true;
+        } else if (strobed && cas.level() == Pin.Level.LOW) {
+            int column = (multiplex(latch, mux.level() == Pin.Level.HIGH) & 0x7E) >> 1;
+            int index = ((column << 8) | row) & mask;
+            if (rw.level() == Pin.Level.HIGH) {
+                if (Logger.ENABLE)
+                    Logger.info(String.format("Output: 0x%02X from %s at 0x%04X", content[index] & 0xFF, name, index));
+                data.value(content[index] & 0xFF);
+            } else {
+                if (Logger.ENABLE)
+                    Logger.info(String.format("Input: 0x%02X to %s at 0x%04X", data.value() & 0xFF, name, index));
+                content[index] = (byte) data.value();
+            }
+            strobed = false;
+        } else {
+            strobed = false;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package eu.tivian.hardware;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Scheduler of the events in the simulated time.
+ * <br>The time is counted in the level transitions of the {@link SystemClock}, so the timed components
+ * (like the reset circuit) behave the same regardless of the speed of the host.
+ * <br>Events due at the same time are fired in the order of posting.
+ * <br>The simulation is single-threaded, so is the scheduler.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see SystemClock#schedule(double, Runnable)
+ */
+public final class EventScheduler {
+    /**
+     * Event waiting in the queue.
+     */
+    private static final class Entry implements Comparable<Entry> {
+        /**
+         * Time of the event, in the clock level transitions.
+         */
+        final long time;
+        /**
+         * Order of posting, used to fire the simultaneous events in order.
+         */
+        final long order;
+        /**
+         * Action of the event.
+         */
+        final Runnable action;
+        /**
+         * Action run if the event is dropped by {@link #clear()}, may be {@code null}.
+         */
+        final Runnable discard;
+
+        /**
+         * Initializes the entry.
+         *
+         * @param time time of the event
+         * @param order order of posting
+         * @param action action of the event
+         * @param discard action run if the event is dropped, or {@code null}
+         */
+        Entry(long time, long order, Runnable action, Runnable discard) {
+            this.time = time;
+            this.order = order;
+            this.action = action;
+            this.discard = discard;
+        }
+
+        /**
+         * Compares the entries by their time and then by their order.
+         * @param other the other entry
+         * @return negative value if this entry should be fired first
+         */
+        @Override
+        public int compareTo(Entry other) {
+            int result = Long.compare(time, other.time);
+            return result != 0 ? result : Long.compare(order, other.order);
+        }
+    }
+
+    /**
+     * Queue of the events.
+     */
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+    /**
+     * Number of posted events.
+     */
+    private long posted = 0;
+    /**
+     * Time of the earliest event, checked by the clock on every pulse.
+     */
+    long next = Long.MAX_VALUE;
+
+    /**
+     * Posts the event to be fired at the given time.
+     *
+     * @param time time of the event, in the clock level transitions
+     * @param action action of the event
+     * @throws NullPointerException if {@code action} is {@code null}
+     */
+    public void post(long time, Runnable action) {
+        post(time, action, null);
+    }
+
+    /**
+     * Posts the event to be fired at the given time, with the action run instead if the event is dropped.
+     * <br>The components which wait for the event, like the timer ending its pulse, use it to return to their idle state.
+     *
+     * @param time time of the event, in the clock level transitions
+     * @param action action of the event
+     * @param discard action run if the event is dropped by {@link #clear()}, or {@code null}
+     * @throws NullPointerException if {@code action} is {@code null}
+     */
+    public void post(long time, Runnable action, Runnable discard) {
+        if (action == null)
+            throw new NullPointerException("Event action cannot be null!");
+
+        queue.add(new Entry(time, posted++, action, discard));
+        next = queue.peek().time;
+    }
+
+    /**
+     * Returns the time of the earliest event.
+     * @return the time of the earliest event, or {@link Long#MAX_VALUE} if there are none
+     */
+    public long next() {
+        return next;
+    }
+
+    /**
+     * Returns the number of the events waiting in the queue.
+     * @return the number of waiting events
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Fires all events due at the given time or earlier.
+     * <br>Events posted by the fired ones are fired too, if they are already due.
+     *
+     * @param now current time, in the clock level transitions
+     */
+    public void run(long now) {
+        while (!queue.isEmpty() && queue.peek().time <= now) {
+            Entry entry = queue.poll();
+            next = queue.isEmpty() ? Long.MAX_VALUE : queue.peek().time;
+            entry.action.run();
+        }
+        next = queue.isEmpty() ? Long.MAX_VALUE : queue.peek().time;
+    }
+
+    /**
+     * Removes all waiting events.
+     * <br>The discard actions of the removed events are run in the order of firing.
+     * Events posted by them stay in the queue.
+     */
+    public void clear() {
+        Entry[] dropped = queue.toArray(new Entry[0]);
+        Arrays.sort(dropped);
+        queue.clear();
+        next = Long.MAX_VALUE;
+
+        for (Entry entry : dropped) {
+            if (entry.discard != null)
+                entry.discard.run();
+        }
+    }
+}
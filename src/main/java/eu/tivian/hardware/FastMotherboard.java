@@ -0,0 +1,404 @@
+package eu.tivian.hardware;
+
+import eu.tivian.hardware.logic.DFlipFlop;
+import eu.tivian.hardware.logic.IC74LS175;
+
+/**
+ * Functional tier of the {@link Motherboard}.
+ * <br>The CPU reads and writes a flat memory map instead of driving its buses, and the TED core is stepped
+ * directly by the system clock, so no pins are switched during the memory accesses. The map follows
+ * the decoding done by the TED, the PLA and the ROM bank latch, see {@link MemoryMap}.
+ * <br>The memory chips and the TED core are shared with the pin-level board, so switching the tiers only
+ * moves the CPU state and the bank latch. The only pins left are the interrupt, ready and reset inputs
+ * of the CPU, driven when the TED or the reset circuit changes them.
+ * <br>The CPU isn't kept in lock-step with the TED while the TED can't affect it. The core predicts
+ * its next slot, which requests the interrupt, stops the CPU, changes the CPU clock rate or fetches
+ * the memory, see {@link TEDCore#horizon(int)}. The CPU runs all the cycles before that slot at once,
+ * and the TED catches up with it in the following half-cycles. The batch ends early when the CPU
+ * accesses the I/O area, the read is then completed in lock-step and the write is held back until
+ * the TED reaches its cycle.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see Motherboard#tier(Motherboard.Tier)
+ */
+final class FastMotherboard {
+    /**
+     * CPU reading and writing the memory map.
+     * <br>Reads are completed at the next falling edge of the clock, like on the buses. The I/O port
+     * at $00 and $01 is handled by the CPU itself.
+     */
+    private final class FastCPU extends MOS8501 {
+        /**
+         * Address of the pending read.
+         */
+        private int address = 0;
+
+        /**
+         * Starts the read of the memory map.
+         *
+         * @param address the memory address
+         * @param target destination of the received data
+         */
+        @Override
+        protected void read(short address, Target target) {
+            if (address == IO_DIR_VECT || address == IO_VECT) {
+                super.read(address, target);
+                return;
+            }
+
+            if (!halt && rdy.level() == Pin.Level.LOW)
+                halt = true;
+
+            pending = true;
+            this.target = target;
+            this.address = address & 0xFFFF;
+            source = Source.DATA;
+            if (MemoryMap.shared(this.address))
+                sync = true;
+        }
+
+        /**
+         * Completes the pending read of the memory map, unless the CPU is halted.
+         */
+        @Override
+        protected void latch() {
+            if (!pending || source != Source.DATA || target == Target.BUS) {
+                super.latch();
+            } else if (!halt) {
+                load(target, (byte) map.read(address));
+                pending = false;
+                target = Target.NONE;
+            }
+        }
+
+        /**
+         * Writes to the memory map.
+         *
+         * @param address the memory address
+         * @param value value to write
+         */
+        @Override
+        protected void write(short address, byte value) {
+            if (address == IO_DIR_VECT || address == IO_VECT) {
+                super.write(address, value);
+            } else if (ahead > 0 && MemoryMap.shared(address & 0xFFFF)) {
+                deferred = address & 0xFFFF;
+                deferredValue = value & 0xFF;
+                stop = true;
+            } else {
+                map.write(address & 0xFFFF, value & 0xFF);
+            }
+        }
+    }
+
+    /**
+     * Default number of the slots checked for the next event of the TED, one PAL frame.
+     */
+    static final int HORIZON_SLOTS = TEDCore.LINE_SLOTS * TEDCore.PAL_LINES;
+
+    /**
+     * System clock, counting the half-cycles.
+     */
+    private final SystemClock clock;
+    /**
+     * Video chip, drawing the pixels of its core.
+     */
+    private final TED ted;
+    /**
+     * Core of the video chip, shared with the pin-level board.
+     */
+    private final TEDCore core;
+    /**
+     * Memory map of the CPU and the TED.
+     */
+    private final MemoryMap map;
+    /**
+     * Keyboard, read through the keyboard port.
+     */
+    private final Keyboard keyboard;
+    /**
+     * Reset line of the pin-level board.
+     */
+    private final Pin reset;
+
+    /**
+     * The CPU.
+     */
+    private final FastCPU cpu = new FastCPU();
+    /**
+     * Drives the interrupt input of the CPU.
+     */
+    private final Pin irq     = new Pin("fast /IRQ", Pin.Direction.OUTPUT, Pin.Level.HIGH);
+    /**
+     * Drives the ready input of the CPU.
+     */
+    private final Pin ready   = new Pin("fast RDY" , Pin.Direction.OUTPUT, Pin.Level.HIGH);
+    /**
+     * Drives the reset input of the CPU.
+     */
+    private final Pin restart = new Pin("fast /RES", Pin.Direction.OUTPUT, Pin.Level.HIGH);
+
+    /**
+     * Levels of the core outputs after the last clock.
+     */
+    private int outputs = 0;
+    /**
+     * Maximum number of the slots the CPU can run ahead of the TED, 0 keeps them in lock-step.
+     */
+    private int limit = HORIZON_SLOTS;
+    /**
+     * Next slot of the TED, which the CPU could see, see {@link TEDCore#horizon(int)}.
+     */
+    private long horizon = 0;
+    /**
+     * Number of the CPU cycles run ahead of the TED.
+     */
+    private int ahead = 0;
+    /**
+     * {@code true} if the CPU has held back the write to the I/O area, so the batch ends.
+     */
+    private boolean stop = false;
+    /**
+     * {@code true} if the CPU has started the read of the I/O area or written the TED register,
+     * so the next cycle runs in lock-step.
+     */
+    private boolean sync = false;
+    /**
+     * Address of the held back write to the I/O area, -1 if none.
+     */
+    private int deferred = -1;
+    /**
+     * Value of the held back write.
+     */
+    private int deferredValue = 0;
+
+    /**
+     * Builds the functional tier over the chips of the pin-level board.
+     *
+     * @param clock the system clock
+     * @param ted the video chip
+     * @param ram the RAM bank
+     * @param basic BASIC ROM
+     * @param kernal KERNAL ROM
+     * @param keyboard the keyboard
+     * @param reset reset line of the CPU
+     */
+    FastMotherboard(SystemClock clock, TED ted, DramBank ram, ROM basic, ROM kernal, Keyboard keyboard, Pin reset) {
+        this.clock = clock;
+        this.ted = ted;
+        this.core = ted.core();
+        this.keyboard = keyboard;
+        this.map = new MemoryMap(ram, basic, kernal, new MemoryMap.Device() {
+            @Override
+            public int read(int address) {
+                return address >= 0xFF00 ? core.read(address & 0x3F) : (int) keyboard.row.value();
+            }
+
+            @Override
+            public void write(int address, int value) {
+                if (address >= 0xFF00) {
+                    core.write(address & 0x3F, value);
+                    map.rom(core.rom());
+                    horizon = 0;
+                    sync = true; // the outputs can change right away
+                }
+            }
+        });
+        this.reset = reset;
+
+        irq.connect(cpu.irq);
+        ready.connect(cpu.rdy);
+        restart.connect(cpu.reset);
+        cpu.aec.connect(new Pin(Pin.Direction.OUTPUT, Pin.Level.HIGH));
+        cpu.gate.connect(new Pin(Pin.Direction.OUTPUT, Pin.Level.LOW));
+    }
+
+    /**
+     * Takes over the pin-level board, which CPU has just started the opcode fetch.
+     *
+     * @param from CPU of the pin-level board
+     * @param latch ROM bank latch of the pin-level board
+     * @throws IllegalStateException if the CPU isn't fetching the opcode
+     */
+    void enter(MOS8501 from, IC74LS175 latch) {
+        map.bank(level(latch.get(0)) | level(latch.get(3)) << 1 | level(latch.get(1)) << 2 | level(latch.get(2)) << 3);
+        map.rom(core.rom());
+
+        // the CPU bus is decoded here, so the core mustn't see the last access again
+        core.address(0);
+        core.rw(true);
+        outputs = core.outputs();
+
+        irq.level(core.irq());
+        ready.level(core.ba());
+        restart.level(reset.level());
+        horizon = 0;
+        ahead = 0;
+        stop = false;
+        sync = false;
+        deferred = -1;
+        cpu.takeOver(from);
+    }
+
+    /**
+     * Hands the state back to the pin-level board.
+     *
+     * @param to CPU of the pin-level board
+     * @param latch ROM bank latch of the pin-level board
+     * @throws IllegalStateException if the CPU isn't fetching the opcode
+     * @see #fetching()
+     */
+    void leave(MOS8501 to, IC74LS175 latch) {
+        to.suspend();
+        ted.sync();
+        int bank = map.bank();
+        level(latch.get(0), bank & 1);
+        level(latch.get(3), (bank >> 1) & 1);
+        level(latch.get(1), (bank >> 2) & 1);
+        level(latch.get(2), (bank >> 3) & 1);
+        to.takeOver(cpu);
+    }
+
+    /**
+     * Checks if the state can be handed back to the pin-level board.
+     * @return {@code true} if the CPU has just started the opcode fetch in lock-step with the TED
+     *         and the clock pin has the right level
+     */
+    boolean fetching() {
+        return ahead == 0 && cpu.fetching() && clock.synced();
+    }
+
+    /**
+     * Limits how far the CPU can run ahead of the TED.
+     *
+     * @param slots maximum number of the slots, 0 keeps the CPU in lock-step with the TED
+     * @throws IllegalArgumentException if {@code slots} is negative
+     */
+    void horizon(int slots) {
+        if (slots < 0)
+            throw new IllegalArgumentException("Horizon can't be negative!");
+        limit = slots;
+        horizon = 0;
+    }
+
+    /**
+     * Counts one half-cycle of the system clock, the TED core is advanced on the rising edges.
+     */
+    void pulse() {
+        if (!clock.tick())
+            return;
+
+        core.clock();
+        ted.draw();
+        edge();
+    }
+
+    /**
+     * Runs up to the given number of half-cycles, with the TED core advanced in one batch.
+     * <br>The batch ends at the first clock which changes any output of the core, e.g. the fall of φ0,
+     * which runs the CPU, or the fall of CAS, which fetches the memory. It never reaches the next event
+     * of the clock, and it's a single half-cycle while the pixels are passed to the renderer one at a time,
+     * or while the CPU has just changed the outputs by writing the register. So the outcome is the same
+     * as of the {@link #pulse()} calls.
+     *
+     * @param count maximum number of the half-cycles
+     * @return number of the half-cycles run, at least 1
+     * @see TEDCore#advance(int)
+     */
+    int run(int count) {
+        int clocks = (int) (Math.min(count, clock.idle()) >> 1);
+        if (clocks == 0 || !clock.high() || ted.rendering() || core.outputs() != outputs) {
+            pulse();
+            return 1;
+        }
+
+        int done = core.advance(clocks);
+        clock.skip(done << 1);
+        edge();
+        return done << 1;
+    }
+
+    /**
+     * Follows the outputs of the core after its last clock.
+     */
+    private void edge() {
+        int outputs = core.outputs(), changed = outputs ^ this.outputs;
+        this.outputs = outputs;
+        if (changed == 0)
+            return;
+
+        if ((changed & TEDCore.IRQ) != 0)
+            irq.level(core.irq());
+        if ((changed & TEDCore.BA) != 0)
+            ready.level(core.ba());
+
+        int falling = changed & ~outputs;
+        if ((falling & (TEDCore.CAS | TEDCore.CS0 | TEDCore.CS1)) != 0 && core.addressOut()) {
+            int address = core.addressValue();
+            core.data((falling & TEDCore.CAS) != 0 ? map.ram(address) : map.rom(address));
+        }
+
+        if ((falling & TEDCore.PHI) != 0) {
+            if (ahead == 0) {
+                if (reset.level() != restart.level()) {
+                    restart.level(reset.level());
+                    if (reset.level() == Pin.Level.LOW)
+                        map.bank(0);
+                }
+                sync = false;
+                cpu.cycle();
+            } else if (--ahead == 0 && deferred >= 0) {
+                map.write(deferred, deferredValue);
+                deferred = -1;
+            }
+
+            if (ahead == 0)
+                runAhead();
+        }
+    }
+
+    /**
+     * Runs the CPU cycles until the next slot of the TED, which the CPU could see.
+     * <br>The reset line is only followed in lock-step, so a batch delays it by at most its length.
+     * The CPU held in reset stays in lock-step, so it starts right after the reset is released.
+     */
+    private void runAhead() {
+        stop = false;
+        if (sync || limit == 0 || reset.level() != restart.level() || restart.level() == Pin.Level.LOW)
+            return;
+
+        long slot = core.slots();
+        if (horizon <= slot + 1)
+            horizon = core.horizon(limit);
+        int cycles = (int) (horizon - slot - 1);
+        if (core.singleClock())
+            cycles >>= 1;
+
+        while (ahead < cycles && !stop && !sync) {
+            ahead++;
+            cpu.cycle();
+        }
+    }
+
+    /**
+     * Reads the output of the flip-flop.
+     *
+     * @param flipFlop the flip-flop
+     * @return 1 if the output is HIGH, 0 otherwise
+     */
+    private static int level(DFlipFlop flipFlop) {
+        return flipFlop.output.level() == Pin.Level.HIGH ? 1 : 0;
+    }
+
+    /**
+     * Changes the outputs of the flip-flop.
+     *
+     * @param flipFlop the flip-flop
+     * @param level 1 if the output should be HIGH
+     */
+    private static void level(DFlipFlop flipFlop, int level) {
+        flipFlop.output.level(level != 0);
+        flipFlop.revOut.level(level == 0);
+    }
+}
@@ -50,4 +50,12 @@ public class Keyboard {
         new String[] { "left", "*"   , "}"   , "?"    , "esc", "="  , "+" , "right" },
         new String[] { "inst", "ret" , "gbp" , "@"    , "f1" , "f2" , "f3", "help"  }
     };
+
+    /**
+     * Initializes the keyboard matrix with no key pressed.
+     * <br>The columns are pulled up, so they read as HIGH.
+     */
+    public Keyboard() {
+        column.value(0xFF);
+    }
 }
@@ -4,8 +4,6 @@ import eu.tivian.other.Logger;
 import eu.tivian.software.Monitor;
 
 import java.util.*;
-import java.util.function.Consumer;
-import java.util.function.Supplier;
 
 /**
  * An implementation of MOS8501 - the 8-bit CPU from 1985 used in the Commodore 16.
@@ -40,6 +38,86 @@ public class MOS8501 implements CPU {
         //MEMORY
     };
 
+    /**
+     * Destinations of the data transferred during the second half of the cycle.
+     */
+    public enum Target {
+        /**
+         * The data is discarded.
+         */
+        NONE,
+        /**
+         * The data is written to the data bus.
+         */
+        BUS,
+        /**
+         * The opcode of the next instruction.
+         */
+        OPCODE,
+        /**
+         * The operand of the instruction.
+         */
+        OPERAND,
+        /**
+         * Low byte of the temporary pointer.
+         */
+        POINTER_LOW,
+        /**
+         * High byte of the temporary pointer.
+         */
+        POINTER_HIGH,
+        /**
+         * Low byte of the effective address.
+         */
+        EA_LOW,
+        /**
+         * High byte of the effective address.
+         */
+        EA_HIGH,
+        /**
+         * Low byte of the program counter.
+         */
+        PC_LOW,
+        /**
+         * High byte of the program counter.
+         */
+        PC_HIGH,
+        /**
+         * High byte of the program counter, the low byte is taken from the operand.
+         */
+        PC_JUMP,
+        /**
+         * The accumulator, also updates the N and Z flags.
+         */
+        ACCUMULATOR,
+        /**
+         * The status register.
+         */
+        STATUS
+    }
+
+    /**
+     * Sources of the data transferred during the second half of the cycle.
+     */
+    protected enum Source {
+        /**
+         * The data bus.
+         */
+        DATA,
+        /**
+         * Direction of the I/O port.
+         */
+        PORT_DIRECTION,
+        /**
+         * Levels of the I/O port.
+         */
+        PORT,
+        /**
+         * The data latched by the write cycle.
+         */
+        LATCH
+    }
+
     /**
      * Functor used for decoding the instructions.
      */
@@ -324,6 +402,11 @@ public class MOS8501 implements CPU {
      * <br>If {@code true} then the CPU is halted.
      */
     protected boolean halt       = true;
+    /**
+     * CPU jam flag.
+     * <br>If {@code true} then the CPU executed one of the JAM opcodes and stays halted until reset.
+     */
+    protected boolean jammed     = false;
     /**
      * Denotes the pending interrupt request.
      */
@@ -388,49 +471,103 @@ public class MOS8501 implements CPU {
     protected byte  offset  = 0x00;
 
     /**
-     * Functor for handling the output data during the halfcycle.
+     * {@code true} if the data transfer is waiting for the second half of the cycle.
+     */
+    protected boolean pending  = false;
+    /**
+     * Destination of the pending data transfer.
+     */
+    protected Target  target   = Target.NONE;
+    /**
+     * Source of the pending data transfer.
      */
-    protected Consumer<Byte> halfCycleOut = null;
+    protected Source  source   = Source.DATA;
     /**
-     * Functor for handing the input data during the halfcycle.
+     * Data written during the pending write cycle.
      */
-    protected Supplier<Byte> halfCycleIn  = null;
+    protected int     latch    = 0x00;
     /**
-     * Data used in last write cycle.
+     * Data used in last write cycle, {@code -1} if there is none.
      * <br>Saved in case of gate in signal transition.
      */
-    protected Byte           lastData     = null;
+    protected int     lastData = -1;
+
+    /**
+     * Value written to the I/O port, driven only on its output pins.
+     */
+    protected int     portLatch = 0x00;
+
+    /**
+     * Drives the output pins of the I/O port with the written value.
+     * <br>Input pins keep the level of the connected devices.
+     */
+    private void port() {
+        for (int i = 0; i < port.size(); i++) {
+            Pin pin = port.get(i);
+            if (pin.direction() == Pin.Direction.OUTPUT)
+                pin.level((portLatch & (1 << i)) != 0);
+        }
+    }
 
     /**
      * Reads the memory and discards the result.
      * @param address the memory address
      */
     protected void read(short address) {
-        read(address, null);
+        read(address, Target.NONE);
     }
 
     /**
      * Reads the memory
      * @param address the memory address
-     * @param readCycle functor for received data
+     * @param target destination of the received data
      */
-    protected void read(short address, Consumer<Byte> readCycle) {
+    protected void read(short address, Target target) {
         if (!halt && (rdy.level() == Pin.Level.LOW))
             halt = true;
 
         if (Logger.ENABLE)
-            Logger.info(String.format("%s from 0x%04X", readCycle == null ? "Dummy read" : "Read", address));
+            Logger.info(String.format("%s from 0x%04X", target == Target.NONE ? "Dummy read" : "Read", address));
 
-        halfCycleOut = readCycle;
+        pending = true;
+        this.target = target;
         if (address == IO_DIR_VECT) {
-            halfCycleIn = () -> (byte) port.dirValue();
+            source = Source.PORT_DIRECTION;
         } else if (address == IO_VECT) {
-            halfCycleIn = () -> (byte) port.value();
+            source = Source.PORT;
         } else {
-            rw.level(Pin.Level.HIGH);
-            data.direction(Pin.Direction.INPUT);
-            this.address.value(address);
-            halfCycleIn = () -> (byte) (data.value() & 0xFF);
+            Transaction t = Transaction.begin();
+            try {
+                rw.level(Pin.Level.HIGH);
+                data.direction(Pin.Direction.INPUT);
+                this.address.value(address);
+            } finally {
+                t.commit();
+            }
+            source = Source.DATA;
+        }
+    }
+
+    /**
+     * Stores the received data in its destination.
+     *
+     * @param target destination of the data
+     * @param data the received data
+     */
+    protected void load(Target target, byte data) {
+        switch (target) {
+            case OPCODE:       opcode = data;                                       break;
+            case OPERAND:      operand = data;                                      break;
+            case POINTER_LOW:  pointer = (short) (data & 0xFF);                     break;
+            case POINTER_HIGH: pointer |= data << 8;                                break;
+            case EA_LOW:       ea = (short) (data & 0xFF);                          break;
+            case EA_HIGH:      ea |= data << 8;                                     break;
+            case PC_LOW:       PC = (short) ((PC & 0xFF00) | (data & 0xFF));        break;
+            case PC_HIGH:      PC = (short) ((data << 8) | (PC & 0x00FF));          break;
+            case PC_JUMP:      PC = (short) ((data << 8) | (operand & 0xFF));       break;
+            case ACCUMULATOR:  status.determineNZ(AC = data);                       break;
+            case STATUS:       SR = (byte) (data | Status.Bit.O);                   break;
+            default:                                                                break;
         }
     }
 
@@ -445,17 +582,22 @@ public class MOS8501 implements CPU {
 
         if (address == IO_DIR_VECT) {
             port.direction(value);
+            port();
         } else if (address == IO_VECT) {
-            port.value(value);
+            portLatch = value & 0xFF;
+            port();
         } else if (aec.level() == Pin.Level.HIGH) {
-            rw.level(Pin.Level.LOW);
-            data.direction(Pin.Direction.OUTPUT);
-            this.address.value(address);
-            halfCycleIn = () -> {
-                lastData = value;
-                return value;
-            };
-            halfCycleOut = this.data::value;
+            Transaction t = Transaction.begin();
+            try {
+                rw.level(Pin.Level.LOW);
+                this.address.value(address);
+            } finally {
+                t.commit();
+            }
+            pending = true;
+            target = Target.BUS;
+            source = Source.LATCH;
+            latch = value & 0xFF;
         }
     }
 
@@ -463,15 +605,15 @@ public class MOS8501 implements CPU {
      * Pulls the value from the stack and discards it.
      */
     private void pull() {
-        pull(null);
+        pull(Target.NONE);
     }
 
     /**
      * Pulls the value from the stack.
-     * @param operation functor for received data
+     * @param target destination of the received data
      */
-    private void pull(Consumer<Byte> operation) {
-        read((short) (STACK_VECT + (SP & 0xFF)), operation);
+    private void pull(Target target) {
+        read((short) (STACK_VECT + (SP & 0xFF)), target);
     }
 
     /**
@@ -515,6 +657,18 @@ public class MOS8501 implements CPU {
         "SHY", "SLO", "SRE"
     );
 
+    /**
+     * Set of undocumented opcodes, derived from {@link #undocumented}.
+     */
+    private static final BitSet undocumentedOpcodes = new BitSet(256);
+
+    static {
+        for (int i = 0; i < mnemonic.length; i++) {
+            if (undocumented.contains(mnemonic[i]))
+                undocumentedOpcodes.set(i);
+        }
+    }
+
     /**
      * Dictates if the use of undocumented instruction will cause exception.
      */
@@ -545,7 +699,7 @@ public class MOS8501 implements CPU {
          * <br><b>Every addressing mode starts with this step.</b>
          */
         void fetchOp() {
-            read(PC++, data -> opcode = data);
+            read(PC++, Target.OPCODE);
             stage = Stage.FETCH;
         }
 
@@ -584,7 +738,7 @@ public class MOS8501 implements CPU {
          *  REP, SBC, SBX, SEP
          */
         void imm() {
-            read(PC++, (data) -> operand = data);
+            read(PC++, Target.OPERAND);
             stage = Stage.EXECUTE;
         }
 
@@ -598,9 +752,9 @@ public class MOS8501 implements CPU {
          */
         void absJMP() {
             if (decodeCycle == 2) {
-                read(PC++, data -> ea = (short) (data & 0xFF));
+                read(PC++, Target.EA_LOW);
             } else {
-                read(PC, data -> ea |= data << 8);
+                read(PC, Target.EA_HIGH);
                 stage = Stage.EXECUTE;
             }
         }
@@ -618,11 +772,11 @@ public class MOS8501 implements CPU {
          */
         private void absR_W(boolean read) {
             if (decodeCycle == 2) {
-                read(PC++, data -> ea = (short) (data & 0xFF));
+                read(PC++, Target.EA_LOW);
             } else if (decodeCycle == 3) {
-                read(PC++, data -> ea |= data << 8);
+                read(PC++, Target.EA_HIGH);
             } else {
-                if (read) read(ea, data -> operand = data);
+                if (read) read(ea, Target.OPERAND);
                 stage = Stage.EXECUTE;
             }
         }
@@ -652,11 +806,11 @@ public class MOS8501 implements CPU {
          */
         void absRW() {
             if (decodeCycle == 2) {
-                read(PC++, data -> ea = (short) (data & 0xFF));
+                read(PC++, Target.EA_LOW);
             } else if (decodeCycle == 3) {
-                read(PC++, data -> ea |= data << 8);
+                read(PC++, Target.EA_HIGH);
             } else if (decodeCycle == 4) {
-                read(ea, data -> operand = data);
+                read(ea, Target.OPERAND);
             } else if (decodeCycle == 5) {
                 write(ea, operand);
             } else if (decodeCycle == 6) {
@@ -676,9 +830,9 @@ public class MOS8501 implements CPU {
          */
         private void zpgR_W(boolean read) {
             if (decodeCycle == 2) {
-                read(PC++, data -> ea = (short) (data & 0xFF));
+                read(PC++, Target.EA_LOW);
             } else {
-                if (read) read(ea, data -> operand = data);
+                if (read) read(ea, Target.OPERAND);
                 stage = Stage.EXECUTE;
             }
         }
@@ -707,9 +861,9 @@ public class MOS8501 implements CPU {
          */
         void zpgRW() {
             if (decodeCycle == 2) {
-                read(PC++, data -> ea = (short) (data & 0xFF));
+                read(PC++, Target.EA_LOW);
             } else if (decodeCycle == 3) {
-                read(ea, data -> operand = data);
+                read(ea, Target.OPERAND);
             } else if (decodeCycle == 4) {
                 write(ea, operand);
             } else {
@@ -733,12 +887,12 @@ public class MOS8501 implements CPU {
          */
         private void zpiR_W(byte reg, boolean read) {
             if (decodeCycle == 2) {
-                read(PC++, data -> ea = (short) (data & 0xFF));
+                read(PC++, Target.EA_LOW);
             } else if (decodeCycle == 3) {
                 read(ea);
             } else {
                 ea = (short) ((ea + (reg & 0xFF)) & 0xFF);
-                if (read) read(ea, data -> operand = data);
+                if (read) read(ea, Target.OPERAND);
                 stage = Stage.EXECUTE;
             }
         }
@@ -782,12 +936,12 @@ public class MOS8501 implements CPU {
          */
         private void zpiRW(byte reg) {
             if (decodeCycle == 2) {
-                read(PC++, data -> ea = (short) (data & 0xFF));
+                read(PC++, Target.EA_LOW);
             } else if (decodeCycle == 3) {
                 read(ea);
             } else if (decodeCycle == 4) {
                 ea = (short) ((ea + (reg & 0xFF)) & 0xFF);
-                read(ea, data -> operand = data);
+                read(ea, Target.OPERAND);
             } else if (decodeCycle == 5) {
                 write(ea, operand);
             } else {
@@ -823,20 +977,20 @@ public class MOS8501 implements CPU {
          */
         private void abxR_W(byte reg, boolean read) {
             if (decodeCycle == 2) {
-                read(PC++, data -> ea = (short) (data & 0xFF));
+                read(PC++, Target.EA_LOW);
             } else if (decodeCycle == 3) {
-                read(PC++, data -> ea |= data << 8);
+                read(PC++, Target.EA_HIGH);
             } else if (decodeCycle == 4) {
                 temp = (short) (ea + (reg & 0xFF));
                 ea = (short) ((ea & 0xFF00) | ((ea + (reg & 0xFF)) & 0x00FF));
                 carry = temp != ea;
 
-                read(ea, data -> operand = data);
+                read(ea, Target.OPERAND);
                 if (!carry) // high byte doesn't need fixing of effective address
                     stage = Stage.EXECUTE;
             } else {
                 ea = temp;
-                if (read) read(ea, data -> operand = data);
+                if (read) read(ea, Target.OPERAND);
                 stage = Stage.EXECUTE;
             }
         }
@@ -881,18 +1035,18 @@ public class MOS8501 implements CPU {
          */
         private void abiRW(byte reg) {
             if (decodeCycle == 2) {
-                read(PC++, data -> ea = (short) (data & 0xFF));
+                read(PC++, Target.EA_LOW);
             } else if (decodeCycle == 3) {
-                read(PC++, data -> ea |= data << 8);
+                read(PC++, Target.EA_HIGH);
             } else if (decodeCycle == 4) {
                 temp = (short) (ea + (reg & 0xFF));
                 ea = (short) ((ea & 0xFF00) | (temp & 0x00FF));
                 carry = temp != ea;
-                read(ea, data -> operand = data);
+                read(ea, Target.OPERAND);
             } else if (decodeCycle == 5) {
                 if (carry)
                     ea = temp;
-                read(ea, data -> operand = data);
+                read(ea, Target.OPERAND);
             } else if (decodeCycle == 6) {
                 write(ea, operand);
             } else {
@@ -925,10 +1079,10 @@ public class MOS8501 implements CPU {
          */
         void rel() {
             if (decodeCycle == 2) {
-                read(PC++, data -> operand = data);
+                read(PC++, Target.OPERAND);
             } else if (decodeCycle == 3) {
                 read(PC);
-                ops.get(mnemonic[opcode & 0xFF]).execute();
+                operations[opcode & 0xFF].execute();
                 if (offset == 0) { // branch not taken
                     maskIRQ = true; // sort of bug of the cpu, which causes IRQ to be missed if it occurred on skipped branch
                     stage = Stage.OPCODE;
@@ -962,16 +1116,16 @@ public class MOS8501 implements CPU {
          */
         private void izxR_W(boolean read) {
             if (decodeCycle == 2) {
-                read(PC++, data -> operand = data);
+                read(PC++, Target.OPERAND);
             } else if (decodeCycle == 3) {
-                read(operand);
+                read((short) (operand & 0xFF));
                 pointer = (short) ((operand + (XR & 0xFF)) & 0xFF);
             } else if (decodeCycle == 4) {
-                read(pointer, data -> ea = (short) (data & 0xFF));
+                read(pointer, Target.EA_LOW);
             } else if (decodeCycle == 5) {
-                read((byte) (pointer + 1), data -> ea |= data << 8);
+                read((short) ((pointer + 1) & 0xFF), Target.EA_HIGH);
             } else {
-                if (read) read(ea, data -> operand = data);
+                if (read) read(ea, Target.OPERAND);
                 stage = Stage.EXECUTE;
             }
         }
@@ -1003,22 +1157,22 @@ public class MOS8501 implements CPU {
          */
         private void izyR_W(boolean read) {
             if (decodeCycle == 2) {
-                read(PC++, data -> pointer = (short) (data & 0xFF));
+                read(PC++, Target.POINTER_LOW);
             } else if (decodeCycle == 3) {
-                read(pointer, data -> ea = (short) (data & 0xFF));
+                read(pointer, Target.EA_LOW);
             } else if (decodeCycle == 4) {
-                read((byte) (pointer + 1), data -> ea |= data << 8);
+                read((short) ((pointer + 1) & 0xFF), Target.EA_HIGH);
             } else if (decodeCycle == 5) {
                 temp = (short) (ea + (YR & 0xFF));
                 ea = (short) ((ea & 0xFF00) | ((ea + (YR & 0xFF)) & 0x00FF));
                 carry = temp != ea;
 
-                read(ea, data -> operand = data);
+                read(ea, Target.OPERAND);
                 if (!carry) // the high byte of effective address doesn't need fixing
                     stage = Stage.EXECUTE;
             } else {
                 ea = temp;
-                if (read) read(ea, data -> operand = data);
+                if (read) read(ea, Target.OPERAND);
                 stage = Stage.EXECUTE;
             }
         }
@@ -1047,13 +1201,13 @@ public class MOS8501 implements CPU {
          */
         void indJMP() {
             if (decodeCycle == 2) {
-                read(PC++, data -> pointer = (short) (data & 0xFF));
+                read(PC++, Target.POINTER_LOW);
             } else if (decodeCycle == 3) {
-                read(PC++, data -> pointer |= data << 8);
+                read(PC++, Target.POINTER_HIGH);
             } else if (decodeCycle == 4) {
-                read(pointer, data -> ea = (short) (data & 0xFF));
+                read(pointer, Target.EA_LOW);
             } else {
-                read((short) ((pointer & 0xFF00) | ((pointer + 1) & 0x00FF)), data -> ea |= data << 8);
+                read((short) ((pointer & 0xFF00) | ((pointer + 1) & 0x00FF)), Target.EA_HIGH);
                 stage = Stage.EXECUTE;
             }
         }
@@ -1080,17 +1234,17 @@ public class MOS8501 implements CPU {
             } else if (decodeCycle == 5) {
                 if (irqPending && status.irq() == 0) {
                     irqPending = false;
-                    decoding = this::irq;
+                    decoding = irqSequence;
                     decoding.decode();
                     return;
                 }
 
                 push((byte) (SR | Status.Bit.O | Status.Bit.B));
             } else if (decodeCycle == 6) {
-                read(IRQ_VECT, data -> PC = (short) ((PC & 0xFF00) | (data & 0xFF)));
+                read(IRQ_VECT, Target.PC_LOW);
             } else {
                 status.irq(true);
-                read((short) (IRQ_VECT + 1), data -> PC = (short) ((data << 8) | (PC & 0x00FF)));
+                read((short) (IRQ_VECT + 1), Target.PC_HIGH);
                 stage = Stage.EXECUTE;
             }
         }
@@ -1111,17 +1265,13 @@ public class MOS8501 implements CPU {
             } else if (decodeCycle == 3) {
                 SP++;
             } else if (decodeCycle == 4) {
-                pull(data -> {
-                    SR = (byte) (data | Status.Bit.O);
-                    SP++;
-                });
+                pull(Target.STATUS);
+                SP++;
             } else if (decodeCycle == 5) {
-                pull(data -> {
-                    PC = (short) ((PC & 0xFF00) | (data & 0xFF));
-                    SP++;
-                });
+                pull(Target.PC_LOW);
+                SP++;
             } else {
-                pull(data -> PC = (short) ((data << 8) | (PC & 0x00FF)));
+                pull(Target.PC_HIGH);
                 stage = Stage.EXECUTE;
             }
         }
@@ -1142,12 +1292,10 @@ public class MOS8501 implements CPU {
             } else if (decodeCycle == 3) {
                 SP++;
             } else if (decodeCycle == 4) {
-                pull(data -> {
-                    PC = (short) ((PC & 0xFF00) | (data & 0xFF));
-                    SP++;
-                });
+                pull(Target.PC_LOW);
+                SP++;
             } else if (decodeCycle == 5) {
-                pull(data -> PC = (short) ((data << 8) | (PC & 0x00FF)));
+                pull(Target.PC_HIGH);
             } else {
                 PC++;
                 stage = Stage.EXECUTE;
@@ -1201,7 +1349,7 @@ public class MOS8501 implements CPU {
          */
         void stkJSR() {
             if (decodeCycle == 2) {
-                read(PC++, data -> operand = data);
+                read(PC++, Target.OPERAND);
             } else if (decodeCycle == 3) {
                 pull();
             } else if (decodeCycle == 4) {
@@ -1209,7 +1357,7 @@ public class MOS8501 implements CPU {
             } else if (decodeCycle == 5) {
                 push((byte) (PC & 0x00FF));
             } else if (decodeCycle == 6) {
-                read(PC, data -> PC = (short) ((data << 8) | (operand & 0xFF)));
+                read(PC, Target.PC_JUMP);
                 stage = Stage.EXECUTE;
             }
         }
@@ -1230,16 +1378,16 @@ public class MOS8501 implements CPU {
          */
         void izxILL() {
             if (decodeCycle == 2) {
-                read(PC++, data -> operand = data);
+                read(PC++, Target.OPERAND);
             } else if (decodeCycle == 3) {
                 read(PC);
             } else if (decodeCycle == 4) {
                 pointer = (short) ((operand + (XR & 0xFF)) & 0xFF);
-                read(pointer, data -> ea = (short) (data & 0xFF));
+                read(pointer, Target.EA_LOW);
             } else if (decodeCycle == 5) {
-                read((byte) (pointer + 1), data -> ea |= data << 8);
+                read((short) ((pointer + 1) & 0xFF), Target.EA_HIGH);
             } else if (decodeCycle == 6) {
-                read(ea, data -> operand = data);
+                read(ea, Target.OPERAND);
             } else if (decodeCycle == 7) {
                 write(ea, operand);
             } else {
@@ -1262,16 +1410,16 @@ public class MOS8501 implements CPU {
          */
         void izyILL() {
             if (decodeCycle == 2) {
-                read(PC++, data -> operand = data);
+                read(PC++, Target.OPERAND);
             } else if (decodeCycle == 3) {
-                read(operand++, data -> ea = (short) (data & 0xFF));
+                read((short) (operand++ & 0xFF), Target.EA_LOW);
             } else if (decodeCycle == 4) {
-                read(operand, data -> ea |= data << 8);
+                read((short) (operand & 0xFF), Target.EA_HIGH);
             } else if (decodeCycle == 5) {
                 ea += YR;
                 read(ea);
             } else if (decodeCycle == 6) {
-                read(ea, data -> operand = data);
+                read(ea, Target.OPERAND);
             } else if (decodeCycle == 7) {
                 write(ea, operand);
             } else {
@@ -1300,9 +1448,9 @@ public class MOS8501 implements CPU {
             } else if (decodeCycle == 5) {
                 read((short) (0x0100 + ((SP - 2) & 0xFF)));
             } else if (decodeCycle == 6) {
-                read(RESET_VECT, data -> PC = (short) ((PC & 0xFF00) | data));
+                read(RESET_VECT, Target.PC_LOW);
             } else {
-                read((short) ((RESET_VECT & 0xFFFF) + 1), data -> PC = (short) ((data << 8) | (PC & 0x00FF)));
+                read((short) ((RESET_VECT & 0xFFFF) + 1), Target.PC_HIGH);
                 stage = Stage.OPCODE;
             }
         }
@@ -1328,9 +1476,9 @@ public class MOS8501 implements CPU {
             } else if (decodeCycle == 5) {
                 push((byte) (SR & ~Status.Bit.B));
             } else if (decodeCycle == 6) {
-                read(IRQ_VECT, data -> PC = (short) ((PC & 0xFF00) | data));
+                read(IRQ_VECT, Target.PC_LOW);
             } else {
-                read((short) ((IRQ_VECT & 0xFFFF) + 1), data -> PC = (short) ((data << 8) | (PC & 0x00FF)));
+                read((short) ((IRQ_VECT & 0xFFFF) + 1), Target.PC_HIGH);
                 status.irq(true);
                 stage = Stage.OPCODE;
             }
@@ -1345,6 +1493,14 @@ public class MOS8501 implements CPU {
      * A singleton of addressing mode decoding stages.
      */
     protected final Addressing addr = new Addressing();
+    /**
+     * Interrupt sequence, kept to avoid creating the method reference on each interrupt.
+     */
+    private final AddressingMode irqSequence = addr::irq;
+    /**
+     * Reset sequence, kept to avoid creating the method reference on each reset.
+     */
+    private final AddressingMode resetSequence = addr::reset;
     /**
      * Addressing modes list.
      */
@@ -1490,8 +1646,8 @@ public class MOS8501 implements CPU {
         put("ORA", () -> status.determineNZ(AC |= operand));
         put("PHA", () -> push(AC));
         put("PHP", () -> push((byte) (SR | Status.Bit.O | Status.Bit.B)));
-        put("PLA", () -> pull(data -> status.determineNZ(AC = data)));
-        put("PLP", () -> pull(data -> SR = (byte) (data | Status.Bit.O)));
+        put("PLA", () -> pull(Target.ACCUMULATOR));
+        put("PLP", () -> pull(Target.STATUS));
         put("ROL", () -> { // rotate left
             result = (short) (((operand & 0xFF) << 1) | status.carry());
             status.carry((operand & (1 << 7)) != 0);
@@ -1543,8 +1699,11 @@ public class MOS8501 implements CPU {
         // special instruction
         // should put data bus to 0xFF
         put("JAM", () -> {
-            System.err.printf("PC = %04X, cycle = %d\n", PC, cycles);
-            throw new RuntimeException("Machine is jammed!");
+            if (Logger.ENABLE)
+                Logger.warn(String.format("Machine is jammed at 0x%04X, cycle %d", (PC - 1) & 0xFFFF, cycles));
+
+            jammed = true;
+            halt = true;
         });
 
         // undocumented opcodes
@@ -1603,7 +1762,7 @@ public class MOS8501 implements CPU {
         put("ISB", () -> { // INC memory, SBC memory
             operand = (byte) (operand + 1);
             write(ea, operand);
-            ops.get("SBC").execute();
+            operations[0xE9].execute(); // SBC
         });
         put("LAS", () -> { // SP AND with memory, TSX, TXA
             result = (short) (SP & operand);
@@ -1620,7 +1779,7 @@ public class MOS8501 implements CPU {
         });
         put("RRA", () -> { // ROR memory, ADC memory
             operand >>= 1;
-            ops.get("ADC").execute();
+            operations[0x69].execute(); // ADC
         });
         put("SAX", () -> write(ea, (byte) (AC & XR)));
         put("SBX", () -> { // Accu AND X-Register, subtract operand, result into X-Register
@@ -1650,6 +1809,12 @@ public class MOS8501 implements CPU {
         });
     }};
 
+    /**
+     * The CPU instruction implementations indexed by the opcode.
+     * <br>Built from {@link #ops} at construction, so the opcode is dispatched without hashing the mnemonic.
+     */
+    private final Operation[] operations = new Operation[256];
+
     /**
      * Behaviour of the RDY pin. After 3 cycles of RDY held LOW the CPU halts its operation.
      */
@@ -1673,6 +1838,7 @@ public class MOS8501 implements CPU {
             Logger.info(String.format("AEC pin changed to %s", aec.level()));
 
         address.direction(aec.level() == Pin.Level.LOW ? Pin.Direction.HI_Z : Pin.Direction.OUTPUT);
+        gateIn();
     }
 
     /**
@@ -1687,11 +1853,11 @@ public class MOS8501 implements CPU {
             rw.direction(Pin.Direction.HI_Z);
         } else if (gate.level() == Pin.Level.LOW && aec.level() == Pin.Level.HIGH) {
             rw.direction(Pin.Direction.OUTPUT);
-            if (rw.level() == Pin.Level.LOW && lastData != null) {
+            if (rw.level() == Pin.Level.LOW && lastData >= 0) {
                 if (Logger.ENABLE)
                     Logger.info("Output again data to data bus");
                 data.value(lastData);
-                lastData = null;
+                lastData = -1;
             }
         }
 
@@ -1723,34 +1889,62 @@ public class MOS8501 implements CPU {
             maskIRQ = false;
             irqPending = false;
             rdyCounter = 0;
+            pending = false;
+            target = Target.NONE;
 
             stage = Stage.DECODE;
             decodeCycle = 1;
-            decoding = addr::reset;
+            decoding = resetSequence;
             halt = false;
+            jammed = false;
         } else {
             halt = true;
         }
     }
 
     /**
-     * Manages the data coming in to or out from the CPU when clock signal is HIGH.
+     * Puts the written data on the data bus when clock signal is HIGH.
      */
     protected void halfstep() {
-        //if (halfCycleOut != null && halfCycleIn != null && aec.level() == Pin.Level.HIGH) {
-
-        if (halfCycleIn != null) {
+        if (pending && target == Target.BUS && aec.level() == Pin.Level.HIGH) {
             if (Logger.ENABLE)
-                Logger.info(String.format("Halfcycle memory access [0x%02X]", halfCycleIn.get()));
+                Logger.info(String.format("Halfcycle memory access [0x%02X]", latch));
 
-            if (halfCycleOut != null)
-                halfCycleOut.accept(halfCycleIn.get());
+            lastData = latch;
+            data.direction(Pin.Direction.OUTPUT);
+            data.value(latch);
         }
+    }
+
+    /**
+     * Completes the pending data transfer when clock signal falls.
+     * <br>Read data is latched at the end of the cycle, so the memory has the whole HIGH phase to respond.
+     * The halted CPU keeps its pending read until the bus is available again.
+     */
+    protected void latch() {
+        if (!pending)
+            return;
+
+        if (target == Target.BUS) {
+            data.direction(Pin.Direction.INPUT);
+        } else if (halt) {
+            return;
+        } else {
+            int value;
+            switch (source) {
+                case PORT_DIRECTION: value = (int) port.dirValue();      break;
+                case PORT:           value = (int) port.value();         break;
+                default:             value = (int) data.value() & 0xFF;  break;
+            }
 
-        if (aec.level() == Pin.Level.HIGH && gate.level() == Pin.Level.LOW) {
-            halfCycleOut = null;
-            halfCycleIn = null;
+            if (Logger.ENABLE)
+                Logger.info(String.format("Halfcycle memory access [0x%02X]", value & 0xFF));
+
+            load(target, (byte) value);
         }
+
+        pending = false;
+        target = Target.NONE;
     }
 
     /**
@@ -1760,12 +1954,19 @@ public class MOS8501 implements CPU {
         if (Logger.ENABLE)
             Logger.info("phi0 is " + phi0.level());
 
-        if (phi0.level() == Pin.Level.HIGH) {
+        if (phi0.level() == Pin.Level.HIGH)
             halfstep();
-            return;
-        }
+        else
+            cycle();
+    }
 
-        lastData = null;
+    /**
+     * Runs the CPU cycle started by the falling edge of the clock.
+     * <br>The pending data transfer is completed first, then the next bus access is started.
+     */
+    protected void cycle() {
+        latch();
+        lastData = -1;
         irqPending = (irq.level() == Pin.Level.LOW && status.irq() == 0 && !maskIRQ);
         if (maskIRQ)
             maskIRQ = false;
@@ -1796,27 +1997,23 @@ public class MOS8501 implements CPU {
                 Logger.info(String.format("Fetched %s with %s addressing",
                         mnemonic[opcode & 0xFF], Monitor.addressing.get(opcode & 0xFF)));
 
-            if (!useUndocumented && undocumented.contains(mnemonic[opcode & 0xFF]))
+            if (!useUndocumented && undocumentedOpcodes.get(opcode & 0xFF))
                 throw new RuntimeException("Undocumented instructions support is disabled!");
 
             stage = Stage.DECODE;
         }
 
         if (stage == Stage.EXECUTE) {
-            try {
-                if (Logger.ENABLE)
-                    Logger.info(String.format("Executing %s", mnemonic[opcode & 0xFF]));
+            if (Logger.ENABLE)
+                Logger.info(String.format("Executing %s", mnemonic[opcode & 0xFF]));
 
-                ops.get(mnemonic[opcode & 0xFF]).execute();
-            } catch (NullPointerException ex) {
-                ex.printStackTrace();
-                System.err.printf("PC = %04X, cycle = %d\n", PC, cycles);
-                System.exit(1);
-            }
+            operations[opcode & 0xFF].execute();
+            if (jammed)
+                return;
 
             //stage = (halfCycleOut == null && halfCycleIn == null) ? Stage.OPCODE : Stage.MEMORY;
             stage = Stage.OPCODE;
-            if (halfCycleOut != null || halfCycleIn != null)
+            if (pending)
                 return;
         }
 
@@ -1834,7 +2031,7 @@ public class MOS8501 implements CPU {
 
             if (irqPending && status.irq() == 0) {
                 irqPending = false;
-                decoding = addr::irq;
+                decoding = irqSequence;
                 stage = Stage.DECODE;
 
                 if (Logger.ENABLE)
@@ -1859,10 +2056,80 @@ public class MOS8501 implements CPU {
         }
     }
 
+    /**
+     * Checks if the CPU has just started the opcode fetch, so its state can be taken over.
+     * <br>Between the instructions the CPU keeps no state bound to the addressing mode.
+     *
+     * @return {@code true} if the opcode read is pending
+     * @see #takeOver(MOS8501)
+     */
+    boolean fetching() {
+        return stage == Stage.FETCH && pending && target == Target.OPCODE && source == Source.DATA && !halt;
+    }
+
+    /**
+     * Halts the CPU and drops its pending data transfer, so it ignores the clock until it's taken over.
+     * @see #takeOver(MOS8501)
+     */
+    void suspend() {
+        halt = true;
+        pending = false;
+        target = Target.NONE;
+        lastData = -1;
+    }
+
+    /**
+     * Takes over the state of the other CPU, which has just started the opcode fetch.
+     * <br>The registers, the counters and the I/O port are copied, and the opcode read is issued again
+     * on this CPU, so it's completed at its next falling edge of the clock.
+     *
+     * @param from the CPU to take over
+     * @throws IllegalStateException if the other CPU isn't fetching the opcode
+     * @see #fetching()
+     */
+    void takeOver(MOS8501 from) {
+        if (!from.fetching())
+            throw new IllegalStateException("CPU can be taken over only at the opcode fetch!");
+
+        SR = from.SR;
+        PC = from.PC;
+        AC = from.AC;
+        XR = from.XR;
+        YR = from.YR;
+        SP = from.SP;
+        halt = from.halt;
+        jammed = from.jammed;
+        irqPending = from.irqPending;
+        maskIRQ = from.maskIRQ;
+        rdyCounter = from.rdyCounter;
+        stage = from.stage;
+        decodeCycle = from.decodeCycle;
+        isAccu = from.isAccu;
+        cycles = from.cycles;
+        opcode = from.opcode;
+        lastPos = from.lastPos;
+        operand = from.operand;
+        ea = from.ea;
+        pointer = from.pointer;
+        offset = from.offset;
+        lastData = -1;
+
+        port.direction(from.port.dirValue());
+        portLatch = from.portLatch;
+        port();
+
+        pending = false;
+        target = Target.NONE;
+        read(lastPos, Target.OPCODE);
+    }
+
     /**
      * Initializes events for all input pins.
      */
     public MOS8501() {
+        for (int i = 0; i < operations.length; i++)
+            operations[i] = ops.get(mnemonic[i]);
+
         phi0.onChange(this::step);
         rdy.onChange(this::ready);
         aec.onChange(this::aec);
@@ -1878,6 +2145,16 @@ public class MOS8501 implements CPU {
         return halt;
     }
 
+    /**
+     * Returns {@code true} if CPU executed the JAM opcode.
+     * <br>Jammed CPU is also halted, only the reset brings it back.
+     *
+     * @return {@code true} if CPU is jammed
+     */
+    public boolean isJammed() {
+        return jammed;
+    }
+
     /**
      * Returns the number of CPU cycles.
      * @return the number of CPU cycles
@@ -1915,8 +2192,7 @@ public class MOS8501 implements CPU {
      * @return the mnemonic of current opcode
      */
     public String mnemonic() {
-        String op = mnemonic[opcode & 0xFF];
-        return ops.containsKey(op) ? op : "***";
+        return operations[opcode & 0xFF] != null ? mnemonic[opcode & 0xFF] : "***";
     }
 
     /**
@@ -1937,7 +2213,9 @@ public class MOS8501 implements CPU {
         sb.append("  PC  SR AC XR YR SP  NV-BDIZC\n");
         sb.append(String.format(";%04X %s  ", PC, reg()));
         sb.append(String.format("%8s", Integer.toString(SR & 0xFF, 2)).replace(' ', '0'));
-        if (halt)
+        if (jammed)
+            sb.append("\n\tThe CPU is jammed!");
+        else if (halt)
             sb.append("\n\tThe CPU is halted!");
 
         return sb.toString();
@@ -0,0 +1,361 @@
+package eu.tivian.hardware;
+
+/**
+ * Memory map of the CPU, resolved with a table of 256 pages.
+ * <br>Each page holds the handler of its reads and writes: RAM, one of the ROM chips, the open bus or the I/O.
+ * The table is derived from the same logic the board runs on every access:
+ * <ul>
+ *     <li>the TED maps ROM above $8000 for reading and decodes its registers and the I/O area</li>
+ *     <li>the PLA output F6 forces KERNAL at $FC00 - $FCFF, F5 selects the keyboard port and F4 clocks the bank latch</li>
+ *     <li>the NOR gates (U12) mix F6 with the bank latch (U15), and the demultiplexer (U14) selects the ROM chip</li>
+ * </ul>
+ * The table is rebuilt only when the bank latch or the ROM select of the TED changes, so any address is resolved
+ * with one array index, plus a check of the 16-byte line in the I/O pages.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see FastMotherboard
+ */
+final class MemoryMap {
+    /**
+     * Registers mapped into the I/O pages: the TED registers and the keyboard port.
+     */
+    interface Device {
+        /**
+         * Reads the register.
+         *
+         * @param address the memory address
+         * @return value of the register
+         */
+        int read(int address);
+
+        /**
+         * Writes the register.
+         *
+         * @param address the memory address
+         * @param value value to write
+         */
+        void write(int address, int value);
+    }
+
+    /**
+     * Page of RAM.
+     */
+    private static final byte RAM = 0;
+    /**
+     * Page of BASIC ROM.
+     */
+    private static final byte BASIC = 1;
+    /**
+     * Page of KERNAL ROM.
+     */
+    private static final byte KERNAL = 2;
+    /**
+     * Page of an empty cartridge bank, nothing drives the data bus.
+     */
+    private static final byte OPEN = 3;
+    /**
+     * I/O page, decoded by the lines of 16 bytes.
+     */
+    private static final byte IO = 4;
+    /**
+     * Line of the keyboard port.
+     */
+    private static final byte KEYPORT = 5;
+    /**
+     * Line of the ROM bank latch.
+     */
+    private static final byte LATCH = 6;
+
+    /**
+     * Value read from the open bus, the data bus isn't pulled up.
+     */
+    static final int OPEN_BUS = 0x00;
+
+    /**
+     * First address of the I/O area.
+     */
+    private static final int IO_FIRST = 0xFD00;
+    /**
+     * First address of the TED registers.
+     */
+    private static final int TED_FIRST = 0xFF00;
+    /**
+     * First address after the TED registers.
+     */
+    private static final int TED_LAST = 0xFF40;
+
+    /**
+     * Address lines connected to the inputs of the PLA, -1 for the inputs of the other signals.
+     */
+    private static final int[] PLA_LINES = { -1, -1, 15, 4, 5, 6, 7, 12, -1, 14, 8, 9, 13, 11, 10, -1 };
+
+    /**
+     * Handlers of the 16-byte lines in $FD00 - $FEFF, decoded by the PLA.
+     */
+    private static final byte[] LINES = new byte[(TED_FIRST - IO_FIRST) >> 4];
+
+    static {
+        for (int i = 0; i < LINES.length; i++) {
+            int outputs = PLA.outputs(pla(IO_FIRST + (i << 4)));
+            LINES[i] = (outputs & 0x20) == 0 ? KEYPORT : (outputs & 0x10) == 0 ? LATCH : OPEN;
+        }
+    }
+
+    /**
+     * Content of the RAM.
+     */
+    private final byte[] ram;
+    /**
+     * Mask of the address inside of the RAM, which is mirrored over the whole address space.
+     */
+    private final int mask;
+    /**
+     * BASIC ROM.
+     */
+    private final byte[] basic;
+    /**
+     * KERNAL ROM.
+     */
+    private final byte[] kernal;
+    /**
+     * Registers in the I/O pages.
+     */
+    private final Device device;
+
+    /**
+     * Handlers of the CPU reads, indexed by the page.
+     */
+    private final byte[] reads = new byte[256];
+    /**
+     * Handlers of the CPU writes, indexed by the page.
+     */
+    private final byte[] writes = new byte[256];
+    /**
+     * ROM chips selected by the demultiplexer, indexed by the page.
+     */
+    private final byte[] roms = new byte[256];
+
+    /**
+     * ROM bank latch.
+     * <br>Bits 0 and 1 select the low ROM, bits 2 and 3 the high ROM, 0 being BASIC and KERNAL.
+     */
+    private int bank = 0;
+    /**
+     * {@code true} if the TED maps ROM above $8000 for reading.
+     */
+    private boolean rom = true;
+
+    /**
+     * Builds the memory map of the chips.
+     *
+     * @param ram the RAM bank
+     * @param basic BASIC ROM
+     * @param kernal KERNAL ROM
+     * @param device registers in the I/O pages
+     * @throws NullPointerException if {@code device} is {@code null}
+     */
+    MemoryMap(DramBank ram, ROM basic, ROM kernal, Device device) {
+        if (device == null)
+            throw new NullPointerException("Device must be specified!");
+
+        this.ram = ram.content;
+        this.mask = ram.content.length - 1;
+        this.basic = basic.content;
+        this.kernal = kernal.content;
+        this.device = device;
+        rebuild();
+    }
+
+    /**
+     * Reads the memory, like the CPU does.
+     *
+     * @param address the memory address
+     * @return value of the byte
+     */
+    int read(int address) {
+        byte handler = reads[address >>> 8];
+        return handler != IO ? read(handler, address) : io(address);
+    }
+
+    /**
+     * Writes to the memory, like the CPU does.
+     * <br>Writes to the ROM area always go to RAM.
+     *
+     * @param address the memory address
+     * @param value value to write
+     */
+    void write(int address, int value) {
+        if (writes[address >>> 8] == RAM || address >= TED_LAST) {
+            ram[address & mask] = (byte) value;
+        } else if (address >= TED_FIRST) {
+            device.write(address, value);
+        } else {
+            byte line = LINES[(address - IO_FIRST) >> 4];
+            if (line == KEYPORT)
+                device.write(address, value);
+            else if (line == LATCH)
+                bank(address & 0x0F);
+        }
+    }
+
+    /**
+     * Checks if the address is shared with the other chips, i.e. in the I/O area or the TED registers.
+     *
+     * @param address the memory address
+     * @return {@code true} for $FD00 - $FF3F
+     */
+    static boolean shared(int address) {
+        return address >= IO_FIRST && address < TED_LAST;
+    }
+
+    /**
+     * Reads the RAM.
+     *
+     * @param address the memory address
+     * @return value of the byte
+     */
+    int ram(int address) {
+        return ram[address & mask] & 0xFF;
+    }
+
+    /**
+     * Reads the ROM chip selected for the address, whatever the ROM select of the TED.
+     *
+     * @param address the memory address
+     * @return value of the byte
+     */
+    int rom(int address) {
+        return read(roms[address >>> 8], address);
+    }
+
+    /**
+     * Returns the ROM bank latch.
+     * @return the bank latch, bits 0 and 1 for the low ROM, bits 2 and 3 for the high ROM
+     */
+    int bank() {
+        return bank;
+    }
+
+    /**
+     * Changes the ROM bank latch.
+     * @param bank the bank latch, bits 0 and 1 for the low ROM, bits 2 and 3 for the high ROM
+     */
+    void bank(int bank) {
+        bank &= 0x0F;
+        if (bank != this.bank) {
+            this.bank = bank;
+            rebuild();
+        }
+    }
+
+    /**
+     * Changes the ROM select of the TED.
+     * @param rom {@code true} if ROM is mapped above $8000 for reading
+     */
+    void rom(boolean rom) {
+        if (rom != this.rom) {
+            this.rom = rom;
+            rebuild();
+        }
+    }
+
+    /**
+     * Reads the page of the given handler.
+     *
+     * @param handler handler of the page
+     * @param address the memory address
+     * @return value of the byte
+     */
+    private int read(byte handler, int address) {
+        switch (handler) {
+            case RAM:    return ram(address);
+            case BASIC:  return basic[address & 0x3FFF] & 0xFF;
+            case KERNAL: return kernal[address & 0x3FFF] & 0xFF;
+            default:     return OPEN_BUS;
+        }
+    }
+
+    /**
+     * Reads the I/O pages.
+     *
+     * @param address the memory address
+     * @return value of the byte
+     */
+    private int io(int address) {
+        if (address >= TED_LAST)
+            return read(rom ? roms[address >>> 8] : RAM, address);
+        else if (address >= TED_FIRST || LINES[(address - IO_FIRST) >> 4] == KEYPORT)
+            return device.read(address);
+        else
+            return OPEN_BUS;
+    }
+
+    /**
+     * Fills the page table for the current bank latch and ROM select.
+     */
+    private void rebuild() {
+        for (int page = 0; page < reads.length; page++) {
+            int address = page << 8;
+            roms[page] = select(address);
+            reads[page] = rom && address >= 0x8000 ? roms[page] : RAM;
+            writes[page] = RAM;
+        }
+
+        for (int page = IO_FIRST >> 8; page < reads.length; page++)
+            reads[page] = writes[page] = IO;
+    }
+
+    /**
+     * Finds the ROM chip selected by the demultiplexer.
+     *
+     * @param address the memory address
+     * @return handler of the selected chip
+     */
+    private byte select(int address) {
+        if (address < 0x8000)
+            return RAM;
+
+        boolean upper = address >= 0xC000;
+        int a0, a1;
+        if (upper) {
+            int kernal = (PLA.outputs(pla(address)) >> 6) & 1;
+            a0 = nor(((bank >> 2) & 1) ^ 1, kernal); // inverted outputs of the flip-flops
+            a1 = nor(((bank >> 3) & 1) ^ 1, kernal);
+        } else {
+            a0 = bank & 1;
+            a1 = (bank >> 1) & 1;
+        }
+
+        if (a0 != 0 || a1 != 0)
+            return OPEN; // cartridge sockets are empty
+        return upper ? KERNAL : BASIC;
+    }
+
+    /**
+     * Evaluates the NOR gate.
+     *
+     * @param a level of the first input
+     * @param b level of the second input
+     * @return level of the output
+     */
+    private static int nor(int a, int b) {
+        return (a | b) ^ 1;
+    }
+
+    /**
+     * Calculates the inputs of the PLA during the CPU access to the given address.
+     * <br>RAS is LOW, φ0 and the F7 feedback are HIGH, like in the middle of the access.
+     *
+     * @param address the memory address
+     * @return levels of the input pins of the PLA
+     */
+    private static int pla(int address) {
+        int inputs = 1 | 1 << 1 | 1 << 8;
+        for (int i = 0; i < PLA_LINES.length; i++) {
+            if (PLA_LINES[i] >= 0)
+                inputs |= ((address >> PLA_LINES[i]) & 1) << i;
+        }
+        return inputs;
+    }
+}
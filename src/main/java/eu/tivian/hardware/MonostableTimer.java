@@ -21,18 +21,40 @@ public class MonostableTimer {
      */
     public final Pin trigger = new Pin("trigger", Pin.Direction.INPUT);
     /**
-     *
+     * HIGH for the duration of the pulse.
      */
     public final Pin output = new Pin("output", Pin.Direction.OUTPUT);
 
     /**
-     * Initialize the values of discrete elements
+     * Clock measuring the duration of the pulse.
+     */
+    private final SystemClock clock;
+    /**
+     * {@code true} while the pulse lasts.
+     */
+    private boolean active = false;
+
+    /**
+     * Initialize the values of discrete elements, without the clock.
+     * <br>Such timer ends the pulse right after it starts.
      *
      * @param resistor value of resistor in ohms
      * @param capacitor value of capacitor in farads
      * @throws IllegalArgumentException if either {@code resistor} value or {@code capacitor} value is negative
      */
     public MonostableTimer(double resistor, double capacitor) {
+        this(resistor, capacitor, null);
+    }
+
+    /**
+     * Initialize the values of discrete elements
+     *
+     * @param resistor value of resistor in ohms
+     * @param capacitor value of capacitor in farads
+     * @param clock clock measuring the duration of the pulse, or {@code null} for the pulse of zero length
+     * @throws IllegalArgumentException if either {@code resistor} value or {@code capacitor} value is negative
+     */
+    public MonostableTimer(double resistor, double capacitor, SystemClock clock) {
         if (resistor < 0)
             throw new IllegalArgumentException("Resistance cannot be negative!");
         else if (capacitor < 0)
@@ -40,6 +62,7 @@ public class MonostableTimer {
 
         this.resistor = resistor;
         this.capacitor = capacitor;
+        this.clock = clock;
 
         trigger.onChange(() -> {
             if (trigger.level() == Pin.Level.LOW)
@@ -50,13 +73,37 @@ public class MonostableTimer {
     /**
      * Level at {@link #output} pin will change from HIGH to LOW after chosen amount of time.
      * <br>The timeout is calculated with the formula: {@code ln(3)*R*C}
+     * <br>The time is measured in the simulated time of the clock, the trigger doesn't block.
+     * Triggers during the pulse are ignored. If the clock drops the end of the pulse,
+     * see {@link SystemClock#clear()}, the pulse ends right away, so the next trigger isn't ignored.
      * @see <a href="http://www.ti.com/lit/ds/symlink/lm555.pdf#page=9">Formula source</a>
      */
     public void trigger() {
+        if (active)
+            return;
+
+        active = true;
         output.level(Pin.Level.HIGH);
-        try {
-            Thread.sleep(Math.round(Math.log(3.0) * resistor * capacitor * 1000));
-        } catch (InterruptedException ex) { }
+        output.scheduler.settle();
+        if (clock != null)
+            clock.schedule(timeout(), this::release, this::release);
+        else
+            release();
+    }
+
+    /**
+     * Returns the duration of the pulse.
+     * @return the duration of the pulse in seconds
+     */
+    public double timeout() {
+        return Math.log(3.0) * resistor * capacitor;
+    }
+
+    /**
+     * Ends the pulse.
+     */
+    private void release() {
+        active = false;
         output.level(Pin.Level.LOW);
     }
 }
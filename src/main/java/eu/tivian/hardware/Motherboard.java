@@ -7,6 +7,8 @@ import eu.tivian.other.SI;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
 
 /**
  * Motherboard of the Commodore 16.
@@ -18,6 +20,21 @@ import java.util.List;
  *     C16 Service Manual</a>
  */
 public class Motherboard {
+    /**
+     * Level of detail of the simulation.
+     */
+    public enum Tier {
+        /**
+         * Every chip is driven through its pins, exact but slow.
+         */
+        PINS,
+
+        /**
+         * The CPU reads and writes the memory map and the TED core is stepped directly, without any pins.
+         */
+        FAST
+    }
+
     /**
      * {@link MOS8501} - CPU of the Commodore 16. U2
      */
@@ -27,13 +44,9 @@ public class Motherboard {
      */
     private final TED     ted;
     /**
-     * RAM chip containing low nibbles. U5
+     * RAM chips with their address multiplexers. U5, U6, U7, U8
      */
-    private final RAM     ram1;
-    /**
-     * RAM chip containing high nibbles. U6
-     */
-    private final RAM     ram2;
+    private final DramBank ram;
     /**
      * BASIC ROM. U3
      */
@@ -53,17 +66,13 @@ public class Motherboard {
      */
     private final SystemClock     clock;
     /**
-     * NE555 timer. U10
-     */
-    private final MonostableTimer timer;
-    /**
-     * Low nibble RAM multiplexer. U7
+     * Keeps the emulation in step with the wall clock.
      */
-    private final IC74LS257       ramMux1;
+    private final Pacer           pacer;
     /**
-     * High nibble RAM multiplexer. U8
+     * NE555 timer. U10
      */
-    private final IC74LS257       ramMux2;
+    private final MonostableTimer timer;
     /**
      * Hex inverter. Mainly for buffering. U9
      */
@@ -138,9 +147,47 @@ public class Motherboard {
     private final Switch resetSw;
 
     /**
-     * Main loop flag.
+     * Functional tier, sharing the chips of this board.
+     */
+    private final FastMotherboard fast;
+    /**
+     * Tier requested by {@link #tier(Tier)}.
+     */
+    private volatile Tier requested = Tier.PINS;
+    /**
+     * Tier which runs the board.
+     */
+    private Tier tier = Tier.PINS;
+    /**
+     * Frame during which the switch of the tiers was requested, {@code -1} if there's no request.
      */
-    private boolean running = true;
+    private long switchFrame = -1;
+
+    /**
+     * Mask of the half-cycles between the checks of the wall-clock budget.
+     */
+    private static final int BUDGET_CHECK = 0xFFF;
+
+    /**
+     * Main loop flag, {@code true} while the board is powered.
+     */
+    private volatile boolean running = true;
+    /**
+     * {@code true} if the emulation is paused.
+     */
+    private volatile boolean paused = false;
+    /**
+     * {@code true} if {@link #stop()} was called from another thread, the owner cuts off the power.
+     */
+    private volatile boolean stopping = false;
+    /**
+     * Thread which turned on the power and runs the board.
+     */
+    private volatile Thread owner = null;
+    /**
+     * Last level of the CPU clock, used for logging.
+     */
+    private Pin.Level phase = Pin.Level.LOW;
 
     /**
      * Initializes all motherboard components and connects them together.
@@ -152,16 +199,14 @@ public class Motherboard {
     public Motherboard() {
         this.cpu    = new MOS8501();
         this.ted    = new TED();
-        this.ram1   = new RAM("RAM low ", 8, 4, 0x4000);
-        this.ram2   = new RAM("RAM high", 8, 4, 0x4000);
+        this.ram    = new DramBank("RAM", 0x4000);
         this.basic  = new ROM("BASIC", 0x4000);
         this.kernal = new ROM("KERNAL", 0x4000);
         this.pla    = new PLA();
 
         this.clock    = new SystemClock();
-        this.timer    = new MonostableTimer(47 * SI.KILO, 10 * SI.MICRO);
-        this.ramMux1  = new IC74LS257();
-        this.ramMux2  = new IC74LS257();
+        this.pacer    = new Pacer(clock);
+        this.timer    = new MonostableTimer(47 * SI.KILO, 10 * SI.MICRO, clock);
         this.invhex   = new IC7406();
         this.buffer   = new IC74LS125();
         this.norGate  = new IC74LS02();
@@ -184,6 +229,8 @@ public class Motherboard {
         this.powerSw = new Switch("SW1", VCC, power.get(0));
         this.resetSw = new Switch("SW2", GND, timer.trigger);
 
+        this.fast = new FastMotherboard(clock, ted, ram, basic, kernal, keyboard, cpu.reset);
+
         if (Logger.ENABLE)
             Logger.info("Creating motherboard");
 
@@ -227,25 +274,23 @@ public class Motherboard {
         //cpu.port.get(4).connect(); // cassette read
         //cpu.port.get(6).connect().pullUp(true); // cassette write
         //cpu.port.get(7).connect().pullUp(true); // ???
-        cpu.gate.connect(ted.mux)
-            .connect(ramMux1.select).connect(ramMux2.select);
-        cpu.rw.connect(ted.rw).connect(keyPort.rw)
-            .connect(ram1.rw).connect(ram2.rw);
+        cpu.gate.connect(ted.mux).connect(ram.mux);
+        cpu.rw.connect(ted.rw).connect(keyPort.rw).connect(ram.rw);
         cpu.data.connect(keyPort.data).connect(ted.data)
             .connect(basic.data).connect(kernal.data)
-            .connect(ram1.data, i -> i > 3 ? -1 : i)
-            .connect(ram2.data, i -> i < 4 ? -1 : i - 4);
+            .connect(ram.data);
         cpu.address.connect(ted.address)
             .connect(basic.address, i -> i > 13 ? -1 : i)
-            .connect(kernal.address, i -> i > 13 ? -1 : i);
+            .connect(kernal.address, i -> i > 13 ? -1 : i)
+            .connect(ram.address);
 
         // TED connections [U1]
         ted.mux.connect(pla.input.get(8));
         ted.phiIn.connect(clock.clock);
         ted.cs0.connect(demux.get(0).enable);
         ted.cs1.connect(demux.get(1).enable);
-        ted.ras.connect(ram1.ras).connect(ram2.ras);
-        ted.cas.connect(ram1.cas).connect(ram2.cas);
+        ted.ras.connect(ram.ras);
+        ted.cas.connect(ram.cas);
         ted.keyboard.connect(keyboard.column);
 
         // BASIC ROM connections [U3]
@@ -258,43 +303,6 @@ public class Motherboard {
         kernal.cs.get(1).connect(GND);
         kernal.cs.get(2).connect(VCC);
 
-        // RAM multiplexer 1 [U7]
-        ramMux1.get(0).inputA.connect(VCC);
-        ramMux1.get(0).inputB.connect(cpu.address.get( 0));
-        ramMux1.get(1).inputA.connect(cpu.address.get( 8));
-        ramMux1.get(1).inputB.connect(cpu.address.get( 1));
-        ramMux1.get(2).inputA.connect(cpu.address.get( 9));
-        ramMux1.get(2).inputB.connect(cpu.address.get( 2));
-        ramMux1.get(3).inputA.connect(cpu.address.get(10));
-        ramMux1.get(3).inputB.connect(cpu.address.get( 3));
-        ramMux1.enable.connect(GND);
-
-        // RAM multiplexer 2 [U8]
-        ramMux2.get(0).inputA.connect(cpu.address.get(11));
-        ramMux2.get(0).inputB.connect(cpu.address.get( 4));
-        ramMux2.get(1).inputA.connect(cpu.address.get(12));
-        ramMux2.get(1).inputB.connect(cpu.address.get( 5));
-        ramMux2.get(2).inputA.connect(cpu.address.get(13));
-        ramMux2.get(2).inputB.connect(cpu.address.get( 6));
-        ramMux2.get(3).inputA.connect(VCC);
-        ramMux2.get(3).inputB.connect(cpu.address.get( 7));
-        ramMux2.enable.connect(GND);
-
-        // RAM 1 connections [U5]
-        ram1.address.get(0).connect(ramMux1.get(0).output);
-        ram1.address.get(1).connect(ramMux1.get(1).output);
-        ram1.address.get(2).connect(ramMux1.get(2).output);
-        ram1.address.get(3).connect(ramMux1.get(3).output);
-        ram1.address.get(4).connect(ramMux2.get(0).output);
-        ram1.address.get(5).connect(ramMux2.get(1).output);
-        ram1.address.get(6).connect(ramMux2.get(2).output);
-        ram1.address.get(7).connect(ramMux2.get(3).output);
-        ram1.enable.connect(GND);
-
-        // RAM 2 connections [U6]
-        ram2.address.connect(ram1.address);
-        ram2.enable.connect(GND);
-
         // PLA connections [U16]
         pla.input.get( 0).connect(pla.output.get(7));
         pla.input.get( 1).connect(cpu.phi0);
@@ -354,44 +362,359 @@ public class Motherboard {
     }
 
     /**
-     * Turns on the power on the motherboard.
+     * Turns on the power on the motherboard, without running it.
+     * <br>The board can be then driven with {@link #runHalfCycles(long)}, {@link #runFrame()}
+     * and {@link #runUntil(BooleanSupplier, long)}.
      */
-    public void start() {
+    public void powerOn() {
         if (Logger.ENABLE)
             Logger.info("Switching on...");
 
+        owner = Thread.currentThread();
+        stopping = false;
         powerSw.on();
+        NetlistCompiler.compile(this);
+    }
+
+    /**
+     * Turns on the power on the motherboard and runs it until the power is cut off.
+     * <br>The emulation is paced by the {@link #pacer()}.
+     */
+    public void start() {
+        powerOn();
         loop();
     }
 
     /**
      * Cuts off the power from the motherboard.
+     * <br>Can be called from any thread. The pins are only changed by the thread running the board,
+     * so from another thread the power is cut off by the owner, between the half-cycles or in the paused loop,
+     * and this method returns right away.
      */
     public void stop() {
+        if (owner == null || owner == Thread.currentThread()) {
+            powerOff();
+        } else {
+            stopping = true;
+            LockSupport.unpark(owner);
+        }
+    }
+
+    /**
+     * Cuts off the power, on the thread running the board.
+     */
+    private void powerOff() {
         if (Logger.ENABLE)
             Logger.info("Switching off...");
 
+        stopping = false;
         powerSw.off();
         clock.clear();
     }
 
     /**
-     * Mail emulation loop.
+     * Checks if the board can run the next half-cycle.
+     * <br>Cuts off the power if another thread called {@link #stop()}.
+     *
+     * @return {@code true} if the board is powered and not paused
+     */
+    private boolean live() {
+        if (stopping)
+            powerOff();
+        return running && !paused;
+    }
+
+    /**
+     * Pauses the emulation.
+     * <br>The main loop waits and any running batch returns, until {@link #resume()} is called.
+     * Can be called from any thread.
+     */
+    public void pause() {
+        paused = true;
+    }
+
+    /**
+     * Resumes the paused emulation.
+     * <br>Can be called from any thread.
+     */
+    public void resume() {
+        paused = false;
+        LockSupport.unpark(owner);
+    }
+
+    /**
+     * Checks if the emulation is paused.
+     * @return {@code true} if the emulation is paused
+     */
+    public boolean paused() {
+        return paused;
+    }
+
+    /**
+     * Checks if the motherboard is powered.
+     * @return {@code true} if the motherboard is powered
+     */
+    public boolean running() {
+        return running;
+    }
+
+    /**
+     * Returns the number of the system clock level transitions since the power was turned on.
+     * @return the number of half-cycles of the system clock
+     */
+    public long halfcycles() {
+        return clock.halfcycle();
+    }
+
+    /**
+     * Returns the frequency of the system clock.
+     * @return the frequency in hertz
+     */
+    public double frequency() {
+        return clock.frequency();
+    }
+
+    /**
+     * Runs the given number of the system clock half-cycles, as fast as possible.
+     * <br>The run stops early if the power is cut off or the emulation is paused.
+     * <br>In the fast tier the TED core is advanced in batches, see {@link FastMotherboard#run(int)}.
+     *
+     * @param count number of the half-cycles to run
+     * @return number of the half-cycles actually run
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public long runHalfCycles(long count) {
+        if (count < 0)
+            throw new IllegalArgumentException("Number of half-cycles cannot be negative!");
+
+        long done = 0;
+        while (done < count && live()) {
+            if (tier == Tier.FAST && requested == tier) {
+                done += fast.run((int) Math.min(count - done, Integer.MAX_VALUE));
+                switchFrame = -1;
+            } else {
+                pulse();
+                done++;
+            }
+        }
+        return done;
+    }
+
+    /**
+     * Runs the motherboard until the video chip finishes the current frame.
+     * <br>The frame ends when the raster wraps to the first line.
+     *
+     * @return {@code true} if the frame was finished, {@code false} if the run was stopped
+     * @see TED#frames()
+     */
+    public boolean runFrame() {
+        long frame = ted.frames();
+        return runUntil(() -> ted.frames() != frame, Long.MAX_VALUE);
+    }
+
+    /**
+     * Runs the motherboard until the condition is met, without any time limit.
+     *
+     * @param condition condition checked after every half-cycle
+     * @return {@code true} if the condition was met, {@code false} if the run was stopped
+     * @throws NullPointerException if {@code condition} is {@code null}
+     */
+    public boolean runUntil(BooleanSupplier condition) {
+        return runUntil(condition, Long.MAX_VALUE);
+    }
+
+    /**
+     * Runs the motherboard until the condition is met or the wall-clock budget is spent.
+     * <br>The run stops early if the power is cut off or the emulation is paused.
+     *
+     * @param condition condition checked after every half-cycle
+     * @param budget wall-clock time limit in nanoseconds, {@link Long#MAX_VALUE} for no limit
+     * @return {@code true} if the condition was met, {@code false} otherwise
+     * @throws NullPointerException if {@code condition} is {@code null}
+     * @throws IllegalArgumentException if {@code budget} is negative
+     */
+    public boolean runUntil(BooleanSupplier condition, long budget) {
+        if (condition == null)
+            throw new NullPointerException("Condition cannot be null!");
+        else if (budget < 0)
+            throw new IllegalArgumentException("Time budget cannot be negative!");
+
+        boolean limited = budget != Long.MAX_VALUE;
+        long deadline = System.nanoTime() + budget;
+        for (int i = 1; live(); i++) {
+            if (condition.getAsBoolean())
+                return true;
+            if (limited && (i & BUDGET_CHECK) == 0 && System.nanoTime() - deadline >= 0)
+                return false;
+            pulse();
+        }
+        return condition.getAsBoolean();
+    }
+
+    /**
+     * Main emulation loop.
+     * <br>The clock is pulsed in slices, after each one the {@link Pacer} waits for the wall clock.
      */
     private void loop() {
-        Pin.Level old = Pin.Level.LOW;
+        pacer.reset();
+        while (true) {
+            if (!live()) {
+                if (!running)
+                    return;
+
+                LockSupport.park(this);
+                pacer.reset();
+                continue;
+            }
 
-        while (running) {
+            runHalfCycles(pacer.slice().halfcycles());
+            pacer.sync();
+        }
+    }
+
+    /**
+     * Pulses the system clock once.
+     */
+    private void pulse() {
+        if (tier == Tier.FAST) {
+            fast.pulse();
+        } else {
             clock.pulse();
             if (Logger.ENABLE) {
                 Pin.Level current = ted.phiOut.level();
-                if (current != old) {
+                if (current != phase) {
                     if (current == Pin.Level.LOW)
                         Logger.info("Current RAM state:\n" + RAMDump());
-                    old = current;
+                    phase = current;
                 }
             }
         }
+
+        if (requested != tier)
+            handover();
+        else if (switchFrame >= 0)
+            switchFrame = -1;
+    }
+
+    /**
+     * Switches to the requested tier, at the first opcode fetch after the current frame.
+     */
+    private void handover() {
+        long frames = ted.frames();
+        if (switchFrame < 0) {
+            switchFrame = frames;
+            return;
+        } else if (frames == switchFrame) {
+            return;
+        }
+
+        if (tier == Tier.PINS && cpu.fetching()) {
+            fast.enter(cpu, flipFlop);
+        } else if (tier == Tier.FAST && fast.fetching()) {
+            fast.leave(cpu, flipFlop);
+        } else {
+            return;
+        }
+
+        if (Logger.ENABLE)
+            Logger.info("Switched to the " + requested + " tier");
+
+        tier = tier == Tier.PINS ? Tier.FAST : Tier.PINS;
+        switchFrame = -1;
+    }
+
+    /**
+     * Requests the tier of the simulation.
+     * <br>The board switches at the first opcode fetch after the end of the current frame, carrying
+     * the CPU registers, RAM, the ROM bank latch and the state of the TED across. Can be called from any thread.
+     *
+     * @param tier the requested tier
+     * @throws NullPointerException if {@code tier} is {@code null}
+     */
+    public void tier(Tier tier) {
+        if (tier == null)
+            throw new NullPointerException("Tier cannot be null!");
+
+        requested = tier;
+    }
+
+    /**
+     * Returns the tier which currently runs the board.
+     * @return the current tier
+     */
+    public Tier tier() {
+        return tier;
+    }
+
+    /**
+     * Returns the pacer of the emulation.
+     * <br>It selects the speed of the emulation and reports the measured one.
+     *
+     * @return the pacer of the emulation
+     */
+    public Pacer pacer() {
+        return pacer;
+    }
+
+    /**
+     * Replaces the BASIC ROM image.
+     *
+     * @param image content of the ROM, 16 KiB
+     * @throws NullPointerException if {@code image} is {@code null}
+     * @throws IllegalArgumentException if {@code image} has a wrong size
+     */
+    public void basic(byte[] image) {
+        preload(basic, image);
+    }
+
+    /**
+     * Replaces the KERNAL ROM image.
+     *
+     * @param image content of the ROM, 16 KiB
+     * @throws NullPointerException if {@code image} is {@code null}
+     * @throws IllegalArgumentException if {@code image} has a wrong size
+     */
+    public void kernal(byte[] image) {
+        preload(kernal, image);
+    }
+
+    /**
+     * Loads the image onto the ROM chip.
+     *
+     * @param rom the ROM chip
+     * @param image content of the ROM
+     * @throws NullPointerException if {@code image} is {@code null}
+     * @throws IllegalArgumentException if {@code image} has a wrong size
+     */
+    private static void preload(ROM rom, byte[] image) {
+        if (image == null)
+            throw new NullPointerException("ROM image cannot be null!");
+        else if (image.length != rom.size())
+            throw new IllegalArgumentException("ROM image must have " + rom.size() + " bytes!");
+
+        rom.preload(image);
+    }
+
+    /**
+     * Reads the byte from RAM, bypassing the buses.
+     * <br>The 16 KiB of RAM is mirrored over the whole address space.
+     *
+     * @param address address of the byte
+     * @return value of the byte
+     */
+    public int peek(int address) {
+        return ram.peek(address & 0x3FFF) & 0xFF;
+    }
+
+    /**
+     * Writes the byte to RAM, bypassing the buses.
+     * <br>The 16 KiB of RAM is mirrored over the whole address space.
+     *
+     * @param address address of the byte
+     * @param value value of the byte
+     */
+    public void poke(int address, int value) {
+        ram.poke(address & 0x3FFF, (byte) value);
     }
 
     /**
@@ -401,9 +724,9 @@ public class Motherboard {
     private String RAMDump() {
         List<String> mem = new ArrayList<>();
 
-        for (int i = 0; i < ram1.content.length; i++) {
-            if (!(ram1.content[i] == (byte) 0xBB && ram2.content[i] == (byte) 0xBB))
-                mem.add(String.format("%04X => %1X%1X", i, ram2.content[i], ram1.content[i]));
+        for (int i = 0; i < ram.content.length; i++) {
+            if (ram.content[i] != (byte) 0xBB)
+                mem.add(String.format("%04X => %02X", i, ram.content[i] & 0xFF));
         }
 
         return "[ " + String.join(", ", mem) + " ]";
@@ -416,4 +739,26 @@ public class Motherboard {
     public void render(TED.Video fx) {
         ted.render(fx);
     }
+
+    /**
+     * Sets the frame buffer of the video chip.
+     *
+     * @param frame the frame buffer, at least {@link TED#WIDTH} by {@link TED#HEIGHT} bytes
+     * @param screen receiver of the line and frame events
+     * @see TED#render(byte[], TED.Screen)
+     */
+    public void render(byte[] frame, TED.Screen screen) {
+        ted.render(frame, screen);
+    }
+
+    /**
+     * Switches the scanline mode of the frame buffer.
+     *
+     * @param enabled {@code true} to render the frame buffer a whole raster line at a time
+     * @throws IllegalStateException if the video renderer is set
+     * @see TED#scanlines(boolean)
+     */
+    public void scanlines(boolean enabled) {
+        ted.scanlines(enabled);
+    }
 }
@@ -0,0 +1,453 @@
+package eu.tivian.hardware;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Structure-of-arrays model of the wired pins, emitted by the {@link NetlistCompiler}.
+ * <br>Every wire (net) and every pin connected to it gets an index. Levels are kept in {@code long} bitsets,
+ * the drivers of the nets are counted and the pins with event handlers are kept in {@code int} fan-out lists,
+ * so the handlers are posted to the {@link DeltaScheduler} by index.
+ * <br>While the netlist is active the {@link Pin} and {@link Wire} objects only forward to it.
+ * Any change of the topology releases the netlist, which writes its state back to the objects.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see NetlistCompiler
+ */
+public final class Netlist {
+    /**
+     * Index of {@link Pin.Direction#INPUT}.
+     */
+    private static final byte INPUT  = (byte) Pin.Direction.INPUT.ordinal();
+    /**
+     * Index of {@link Pin.Direction#OUTPUT}.
+     */
+    private static final byte OUTPUT = (byte) Pin.Direction.OUTPUT.ordinal();
+    /**
+     * Index of {@link Pin.Direction#HI_Z}.
+     */
+    private static final byte HI_Z   = (byte) Pin.Direction.HI_Z.ordinal();
+
+    /**
+     * Compiled pins.
+     */
+    private final Pin[] pins;
+    /**
+     * Compiled wires.
+     */
+    private final Wire[] wires;
+
+    /**
+     * Levels of the nets.
+     */
+    private final long[] netLevel;
+    /**
+     * Number of the pins driving the net.
+     */
+    private final int[] netDrivers;
+    /**
+     * Number of the pins driving the net at {@link Pin.Level#HIGH} level.
+     */
+    private final int[] netHigh;
+    /**
+     * Number of the pulled-up pins which are not driving the net.
+     */
+    private final int[] netPulled;
+    /**
+     * Offset of the fan-out list of the net.
+     */
+    private final int[] fanStart;
+    /**
+     * Length of the fan-out list of the net.
+     */
+    private final int[] fanCount;
+    /**
+     * Pins with the event handlers, grouped by the net.
+     */
+    private final int[] fanout;
+
+    /**
+     * Levels of the pins.
+     * <br>Valid for input pins only if they have an event handler.
+     */
+    private final long[] pinLevel;
+    /**
+     * Pull-ups of the pins.
+     */
+    private final long[] pinPull;
+    /**
+     * Directions of the pins.
+     */
+    private final byte[] pinDir;
+    /**
+     * Net of the pin.
+     */
+    private final int[] pinNet;
+    /**
+     * Position of the pin in the {@link #fanout} list or {@code -1} if the pin has no event handler.
+     */
+    private final int[] pinFan;
+    /**
+     * Index of the event handler of the pin in the {@link DeltaScheduler}.
+     */
+    private final int[] pinHandler;
+
+    /**
+     * {@code true} until the netlist is released.
+     */
+    private boolean active = true;
+
+    /**
+     * Compiles the given wires and binds them and all of their pins to the netlist.
+     * @param nets the wires to compile
+     */
+    Netlist(Collection<Wire> nets) {
+        for (Wire w : nets) {
+            if (w.netlist != null)
+                w.netlist.release();
+            for (Pin p : w.pins()) {
+                if (p.netlist != null)
+                    p.netlist.release();
+            }
+        }
+
+        List<Pin> list = new ArrayList<>();
+        for (Wire w : nets) {
+            for (Pin p : w.pins()) {
+                if (p.wire() == w && !constant(p))
+                    list.add(p);
+            }
+        }
+
+        wires = nets.toArray(new Wire[0]);
+        pins = list.toArray(new Pin[0]);
+
+        netLevel   = new long[(wires.length + 63) >> 6];
+        netDrivers = new int[wires.length];
+        netHigh    = new int[wires.length];
+        netPulled  = new int[wires.length];
+        fanStart   = new int[wires.length + 1];
+        fanCount   = new int[wires.length];
+        fanout     = new int[pins.length];
+
+        pinLevel   = new long[(pins.length + 63) >> 6];
+        pinPull    = new long[(pins.length + 63) >> 6];
+        pinDir     = new byte[pins.length];
+        pinNet     = new int[pins.length];
+        pinFan     = new int[pins.length];
+        pinHandler = new int[pins.length];
+
+        for (int n = 0, i = 0; n < wires.length; n++) {
+            fanStart[n] = i;
+            for (Pin p : wires[n].pins()) {
+                if (constant(p)) {
+                    netDrivers[n]++;
+                    if (p == Pin.VCC)
+                        netHigh[n]++;
+                } else if (p.wire() == wires[n]) {
+                    pinNet[i] = n;
+                    i++;
+                }
+            }
+            fanStart[n + 1] = i;
+        }
+
+        for (int i = 0; i < pins.length; i++) {
+            Pin p = pins[i];
+            int n = pinNet[i];
+            boolean high = p.level == Pin.Level.HIGH;
+
+            pinDir[i] = (byte) p.direction().ordinal();
+            set(pinLevel, i, high);
+            set(pinPull, i, p.isPulled());
+            pinFan[i] = -1;
+            pinHandler[i] = -1;
+
+            if (pinDir[i] == OUTPUT) {
+                netDrivers[n]++;
+                if (high)
+                    netHigh[n]++;
+            } else if (p.isPulled()) {
+                netPulled[n]++;
+            }
+
+            if (p.handler >= 0)
+                listen(i, p.handler);
+        }
+
+        for (int n = 0; n < wires.length; n++) {
+            set(netLevel, n, resolved(n));
+            wires[n].netlist = this;
+            wires[n].index = n;
+        }
+
+        for (int i = 0; i < pins.length; i++) {
+            pins[i].netlist = this;
+            pins[i].index = i;
+        }
+    }
+
+    /**
+     * Checks if the pin never changes its state.
+     *
+     * @param pin the pin to check
+     * @return {@code true} if the pin is the power or the ground
+     */
+    private static boolean constant(Pin pin) {
+        return pin == Pin.VCC || pin == Pin.GND;
+    }
+
+    /**
+     * Gets the value of the bit in the bitset.
+     *
+     * @param bits the bitset
+     * @param i index of the bit
+     * @return the value of the bit
+     */
+    private static boolean bit(long[] bits, int i) {
+        return (bits[i >> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * Sets the value of the bit in the bitset.
+     *
+     * @param bits the bitset
+     * @param i index of the bit
+     * @param value new value of the bit
+     */
+    private static void set(long[] bits, int i, boolean value) {
+        if (value)
+            bits[i >> 6] |= 1L << i;
+        else
+            bits[i >> 6] &= ~(1L << i);
+    }
+
+    /**
+     * Gets the number of the compiled pins.
+     * @return the number of the compiled pins
+     */
+    public int pins() {
+        return pins.length;
+    }
+
+    /**
+     * Gets the number of the compiled nets.
+     * @return the number of the compiled nets
+     */
+    public int nets() {
+        return wires.length;
+    }
+
+    /**
+     * Checks if the netlist still holds the state of its pins.
+     * @return {@code false} if the netlist was released
+     */
+    public boolean active() {
+        return active;
+    }
+
+    /**
+     * Writes the state back to the pins and wires and unbinds them from the netlist.
+     * <br>Afterwards the simulation runs on the objects again.
+     */
+    public void release() {
+        if (!active)
+            return;
+        active = false;
+
+        for (int i = 0; i < pins.length; i++) {
+            Pin p = pins[i];
+            p.level = level(i) ? Pin.Level.HIGH : Pin.Level.LOW;
+            p.netlist = null;
+            p.index = -1;
+        }
+
+        for (Wire w : wires) {
+            w.netlist = null;
+            w.index = -1;
+            w.refresh();
+        }
+    }
+
+    /**
+     * Gets the level of the net.
+     *
+     * @param n index of the net
+     * @return {@code true} if the net is at {@link Pin.Level#HIGH} level
+     */
+    boolean net(int n) {
+        return bit(netLevel, n);
+    }
+
+    /**
+     * Gets the level of the pin.
+     *
+     * @param p index of the pin
+     * @return {@code true} if the pin is at {@link Pin.Level#HIGH} level
+     */
+    boolean level(int p) {
+        return pinDir[p] == INPUT ? bit(netLevel, pinNet[p]) : bit(pinLevel, p);
+    }
+
+    /**
+     * Changes the level of the pin.
+     *
+     * @param p index of the pin
+     * @param high new level of the pin
+     * @return {@code true} if the value was changed
+     */
+    boolean level(int p, boolean high) {
+        byte dir = pinDir[p];
+        if (dir == INPUT)
+            throw new IllegalArgumentException("Input pin value cannot be changed, only checked!");
+        if (dir == HI_Z || bit(pinLevel, p) == high)
+            return false;
+
+        set(pinLevel, p, high);
+        int n = pinNet[p];
+        netHigh[n] += high ? 1 : -1;
+        resolve(n);
+        return true;
+    }
+
+    /**
+     * Changes the direction of the pin.
+     *
+     * @param p index of the pin
+     * @param dir new direction of the pin
+     */
+    void direction(int p, Pin.Direction dir) {
+        byte old = pinDir[p];
+        byte now = (byte) dir.ordinal();
+        if (old == now)
+            return;
+
+        int n = pinNet[p];
+        boolean high = level(p);
+        boolean pulled = bit(pinPull, p);
+
+        if (old == OUTPUT) {
+            netDrivers[n]--;
+            if (high)
+                netHigh[n]--;
+        } else if (pulled) {
+            netPulled[n]--;
+        }
+
+        pinDir[p] = now;
+        set(pinLevel, p, high);
+
+        if (now == OUTPUT) {
+            netDrivers[n]++;
+            if (high)
+                netHigh[n]++;
+        } else if (pulled) {
+            netPulled[n]++;
+        }
+
+        resolve(n);
+        if (now == INPUT)
+            sense(p);
+    }
+
+    /**
+     * Changes the pull-up of the pin.
+     *
+     * @param p index of the pin
+     * @param pullUp {@code true} if the pin should be pulled-up
+     */
+    void pullUp(int p, boolean pullUp) {
+        if (bit(pinPull, p) == pullUp)
+            return;
+
+        set(pinPull, p, pullUp);
+        if (pinDir[p] != OUTPUT) {
+            int n = pinNet[p];
+            netPulled[n] += pullUp ? 1 : -1;
+            resolve(n);
+            sense(p);
+        }
+    }
+
+    /**
+     * Changes the event handler of the pin.
+     *
+     * @param p index of the pin
+     * @param handler index of the new event handler or {@code -1}
+     */
+    void onChange(int p, int handler) {
+        if (pinFan[p] >= 0) {
+            int n = pinNet[p];
+            int last = fanStart[n] + --fanCount[n];
+            int moved = fanout[last];
+            fanout[pinFan[p]] = moved;
+            pinFan[moved] = pinFan[p];
+            pinFan[p] = -1;
+            pinHandler[p] = -1;
+        }
+
+        if (handler >= 0) {
+            set(pinLevel, p, level(p));
+            listen(p, handler);
+        }
+    }
+
+    /**
+     * Adds the pin to the fan-out list of its net.
+     *
+     * @param p index of the pin
+     * @param h index of the event handler of the pin
+     */
+    private void listen(int p, int h) {
+        int n = pinNet[p];
+        int pos = fanStart[n] + fanCount[n]++;
+        fanout[pos] = p;
+        pinFan[p] = pos;
+        pinHandler[p] = h;
+    }
+
+    /**
+     * Calculates the level of the net from its drivers and pull-ups.
+     *
+     * @param n index of the net
+     * @return the level of the net
+     */
+    private boolean resolved(int n) {
+        return netDrivers[n] > 0 ? netHigh[n] > 0 : netPulled[n] > 0;
+    }
+
+    /**
+     * Updates the level of the net and notifies its fan-out if the level changed.
+     * @param n index of the net
+     */
+    private void resolve(int n) {
+        boolean high = resolved(n);
+        BusNet bus = wires[n].busNet;
+        if (bit(netLevel, n) == high)
+            return;
+
+        set(netLevel, n, high);
+        if (bus != null)
+            bus.change(wires[n].bit, high);
+        for (int k = fanStart[n]; k < fanStart[n] + fanCount[n]; k++)
+            sense(fanout[k]);
+    }
+
+    /**
+     * Fires the event handler of the input pin if its level differs from the level of the net.
+     * @param p index of the pin
+     */
+    private void sense(int p) {
+        if (pinDir[p] != INPUT)
+            return;
+
+        boolean high = bit(netLevel, pinNet[p]);
+        if (bit(pinLevel, p) != high) {
+            set(pinLevel, p, high);
+            if (pinHandler[p] >= 0)
+                pins[p].scheduler.post(pinHandler[p]);
+        }
+    }
+}
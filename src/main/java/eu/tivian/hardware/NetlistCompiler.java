@@ -0,0 +1,108 @@
+package eu.tivian.hardware;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Flattens the graph of the {@link Pin}, {@link Wire} and {@link Bus} objects into a {@link Netlist}.
+ * <br>The compiler walks through the fields of the given components (for example a fully wired
+ * {@link Motherboard}) and collects every wire reachable from their pins.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see Netlist
+ */
+public final class NetlistCompiler {
+    /**
+     * Package containing all of the hardware components.
+     */
+    private static final String PACKAGE = "eu.tivian.hardware";
+
+    /**
+     * Prevents the instantiation.
+     */
+    private NetlistCompiler() { }
+
+    /**
+     * Compiles the nets reachable from the given components.
+     * <br>Components can be pins, buses, collections or any object from the hardware package.
+     *
+     * @param roots the components to compile
+     * @return compiled netlist bound to the found pins and wires
+     */
+    public static Netlist compile(Object... roots) {
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Object> queue = new ArrayDeque<>(Arrays.asList(roots));
+        Set<Wire> wires = new LinkedHashSet<>();
+
+        while (!queue.isEmpty()) {
+            Object obj = queue.poll();
+            if (!visited.add(obj))
+                continue;
+
+            if (obj instanceof Pin) {
+                Wire wire = ((Pin) obj).wire();
+                if (wire != null)
+                    wires.add(wire);
+            } else if (obj instanceof Iterable) {
+                for (Object o : (Iterable<?>) obj) {
+                    if (o != null)
+                        queue.add(o);
+                }
+            } else if (obj instanceof Object[]) {
+                for (Object o : (Object[]) obj) {
+                    if (o != null)
+                        queue.add(o);
+                }
+            } else if (component(obj)) {
+                for (Class<?> c = obj.getClass(); c != null && c.getPackageName().startsWith(PACKAGE);
+                     c = c.getSuperclass()) {
+                    for (Field f : c.getDeclaredFields()) {
+                        if (Modifier.isStatic(f.getModifiers()) || f.getType().isPrimitive())
+                            continue;
+
+                        Object value = get(f, obj);
+                        if (value != null)
+                            queue.add(value);
+                    }
+                }
+            }
+        }
+
+        return new Netlist(wires);
+    }
+
+    /**
+     * Checks if the fields of the object should be searched for the pins.
+     *
+     * @param obj the object to check
+     * @return {@code true} if the object is a hardware component
+     */
+    private static boolean component(Object obj) {
+        Class<?> c = obj.getClass();
+        return c.getPackageName().startsWith(PACKAGE) && !c.isSynthetic() && !(obj instanceof Enum);
+    }
+
+    /**
+     * Reads the value of the field.
+     *
+     * @param field the field to read
+     * @param obj owner of the field
+     * @return the value of the field
+     */
+    private static Object get(Field field, Object obj) {
+        try {
+            field.setAccessible(true);
+            return field.get(obj);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalStateException("Cannot inspect the field " + field + "!", e);
+        }
+    }
+}
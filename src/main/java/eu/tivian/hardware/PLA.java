@@ -1,5 +1,8 @@
 package eu.tivian.hardware;
 
+import eu.tivian.hardware.logic.Lanes;
+import eu.tivian.hardware.logic.TruthTableChip;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -14,7 +17,14 @@ import java.util.List;
  * @see <a href="http://www.zimmers.net/anonftp/pub/cbm/firmware/computers/plus4/pla.c">
  *     PLA souce code written in C</a>
  */
-public class PLA {
+public class PLA extends TruthTableChip {
+    /**
+     * Truth table of the PLA, indexed by the levels of all 16 input pins.
+     * <br>{@code F7} is calculated from the {@code F1} term of the same entry. Its feedback through the
+     * {@code I0} input is a latch, so it's resolved on the wire, one delta cycle later.
+     */
+    private static final byte[] TABLE = table(16, PLA::evaluate);
+
     /**
      * Input pins.
      */
@@ -28,54 +38,87 @@ public class PLA {
      * Initializes inner logic of the PLA chip.
      */
     public PLA() {
-        this(16, 8);
-    }
+        super(TABLE, null);
 
-    /**
-     * Initializes PLA with custom number of inputs and outputs.
-     *
-     * @param inputs number of inputs
-     * @param outputs number of outputs
-     */
-    private PLA(int inputs, int outputs) {
+        Runnable update = this::update;
         List<Pin> temp = new ArrayList<>();
-        for (int i = 0; i < inputs; i++) {
+        for (int i = 0; i < 16; i++) {
             Pin pin = new Pin("I" + i, Pin.Direction.INPUT);
-            pin.onChange(this::update);
+            pin.onChange(update);
             temp.add(pin);
         }
         this.input = Collections.unmodifiableList(temp);
 
         temp = new ArrayList<>();
-        for (int i = 0; i < outputs; i++)
+        for (int i = 0; i < 8; i++)
             temp.add(new Pin("F" + i, Pin.Direction.OUTPUT));
         this.output = Collections.unmodifiableList(temp);
 
+        pins(input.toArray(new Pin[0]), output.toArray(new Pin[0]));
         update();
     }
 
     /**
-     * Changes the state of output pins according to the input pins.
-     * @see <a href="https://www.pagetable.com/docs/ted/TED%20System%20Hardware%20Manual.pdf#page=38">
-     *     C16 PLA truth table</a>
+     * Reads the truth table of the PLA, without any pins.
+     *
+     * @param inputs levels of the input pins, {@code I0} being the least significant bit
+     * @return levels of the output pins
+     * @see MemoryMap
+     */
+    static int outputs(int inputs) {
+        return TABLE[inputs & 0xFFFF] & 0xFF;
+    }
+
+    /**
+     * Evaluates the PLA for {@value Lanes#COUNT} instances at once.
+     * <br>The equations are evaluated directly, without walking through the table.
+     *
+     * @param inputs levels of the input pins
+     * @param outputs receives the levels of the output pins
+     * @throws IllegalArgumentException if the number of the inputs is not 16 or there's no room for 8 outputs
+     */
+    @Override
+    public void evaluate(long[] inputs, long[] outputs) {
+        check(inputs, outputs);
+        equations(inputs, outputs);
+    }
+
+    /**
+     * Calculates the state of output pins for the given levels of the input pins.
+     *
+     * @param index levels of the input pins
+     * @return levels of the output pins
      */
-    private void update() {
-        boolean[] in = new boolean[input.size()];
+    private static int evaluate(int index) {
+        long[] in = new long[16];
         for (int i = 0; i < in.length; i++)
-            in[i] = input.get(i).level().bool();
-
-        boolean[] out = new boolean[output.size()];
-        out[0] =  in[15] || !in[14] || !in[13] || !in[12] ||  in[11] || !in[10] || !in[9] || !in[7] ||  in[6] ||  in[5] || !in[4] ||  in[3] || !in[2] || !in[1];
-        out[1] = !in[15] &&   in[1] &&   in[0];
-        out[2] =  in[15] || !in[14] || !in[13] || !in[12] ||  in[11] || !in[10] || !in[9] || !in[7] ||  in[6] ||  in[5] ||  in[4] || !in[3] || !in[2] || !in[1] || !in[0];
-        out[3] = !in[14] || !in[13] || !in[12] ||  in[11] || !in[10] ||  !in[9] || !in[7] ||  in[6] ||  in[5] ||  in[4] ||  in[3] || !in[2] || !in[1];
-        out[4] =  in[15] || !in[14] || !in[13] || !in[12] ||  in[11] || !in[10] || !in[9] || !in[7] || !in[6] || !in[5] ||  in[4] || !in[3] || !in[2] || !in[1] || !in[0];
-        out[5] =  in[15] || !in[14] || !in[13] || !in[12] ||  in[11] || !in[10] || !in[9] || !in[7] ||  in[6] ||  in[5] || !in[4] || !in[3] || !in[2] || !in[1] || !in[0];
-        out[6] =  in[14] &&  in[13] &&  in[12] && !in[11] && !in[10] &&   in[9] &&  in[7] &&  in[2];
-        out[7] =   in[8] || out[1];
+            in[i] = Lanes.of((index & (1 << i)) != 0);
 
+        long[] out = new long[8];
+        equations(in, out);
+        int levels = 0;
         for (int i = 0; i < out.length; i++)
-            output.get(i).level(out[i]);
+            levels |= (out[i] & 1) != 0 ? 1 << i : 0;
+        return levels;
+    }
+
+    /**
+     * Calculates the levels of the output pins, each bit being one instance of the chip.
+     *
+     * @param in levels of the input pins
+     * @param out receives the levels of the output pins
+     * @see <a href="https://www.pagetable.com/docs/ted/TED%20System%20Hardware%20Manual.pdf#page=38">
+     *     C16 PLA truth table</a>
+     */
+    private static void equations(long[] in, long[] out) {
+        out[0] =  in[15] | ~in[14] | ~in[13] | ~in[12] |  in[11] | ~in[10] | ~in[9] | ~in[7] |  in[6] |  in[5] | ~in[4] |  in[3] | ~in[2] | ~in[1];
+        out[1] = ~in[15] &   in[1] &   in[0];
+        out[2] =  in[15] | ~in[14] | ~in[13] | ~in[12] |  in[11] | ~in[10] | ~in[9] | ~in[7] |  in[6] |  in[5] |  in[4] | ~in[3] | ~in[2] | ~in[1] | ~in[0];
+        out[3] = ~in[14] | ~in[13] | ~in[12] |  in[11] | ~in[10] |  ~in[9] | ~in[7] |  in[6] |  in[5] |  in[4] |  in[3] | ~in[2] | ~in[1];
+        out[4] =  in[15] | ~in[14] | ~in[13] | ~in[12] |  in[11] | ~in[10] | ~in[9] | ~in[7] | ~in[6] | ~in[5] |  in[4] | ~in[3] | ~in[2] | ~in[1] | ~in[0];
+        out[5] =  in[15] | ~in[14] | ~in[13] | ~in[12] |  in[11] | ~in[10] | ~in[9] | ~in[7] |  in[6] |  in[5] | ~in[4] | ~in[3] | ~in[2] | ~in[1] | ~in[0];
+        out[6] =  in[14] &  in[13] &  in[12] & ~in[11] & ~in[10] &   in[9] &  in[7] &  in[2];
+        out[7] =   in[8] | out[1];
     }
 }
 
@@ -0,0 +1,220 @@
+package eu.tivian.hardware;
+
+import eu.tivian.other.SI;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Keeps the emulation in step with the wall-clock time.
+ * <br>The emulation runs in slices (a raster line or a whole frame) as fast as it can, and after each slice
+ * the pacer parks the emulation thread until the wall clock catches up with the simulated time.
+ * <br>The deadlines are counted from a fixed origin, so the rounding errors and late wake-ups
+ * don't accumulate. If the emulation falls too far behind, the origin is moved instead of running
+ * faster to catch up.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see SystemClock
+ */
+public class Pacer {
+    /**
+     * Granularity of the synchronization with the wall clock.
+     */
+    public enum Slice {
+        /**
+         * One raster line, about 64 microseconds.
+         */
+        LINE(1),
+        /**
+         * One PAL frame, about 20 milliseconds.
+         */
+        FRAME(TEDCore.PAL_LINES);
+
+        /**
+         * Number of the clock level transitions in the slice.
+         */
+        final long halfcycles;
+
+        /**
+         * Initializes the slice.
+         * @param lines number of raster lines in the slice
+         */
+        Slice(int lines) {
+            this.halfcycles = 2L * lines * TEDCore.LINE_SLOTS * TEDCore.SLOT_CLOCKS;
+        }
+
+        /**
+         * Returns the number of the clock level transitions in the slice.
+         * @return the number of the clock level transitions
+         */
+        public long halfcycles() {
+            return halfcycles;
+        }
+    }
+
+    /**
+     * Speed of the emulation without any throttling.
+     */
+    public static final double WARP = 0.0;
+    /**
+     * Largest lag behind the wall clock which is still caught up, in nanoseconds.
+     */
+    static final long MAX_LAG = 100_000_000L;
+    /**
+     * Period of the measurement of the emulation speed, in nanoseconds.
+     */
+    static final long WINDOW = 250_000_000L;
+
+    /**
+     * Paced clock.
+     */
+    private final SystemClock clock;
+    /**
+     * Granularity of the synchronization.
+     */
+    private volatile Slice slice = Slice.FRAME;
+    /**
+     * Target speed of the emulation in percents, or {@link #WARP}.
+     */
+    private volatile double speed = 100.0;
+    /**
+     * {@code true} if the time origin should be moved before the next synchronization.
+     */
+    private volatile boolean rebase = true;
+    /**
+     * Measured speed of the emulation in percents.
+     */
+    private volatile double measured = 0.0;
+
+    /**
+     * Wall-clock time of the origin, in nanoseconds.
+     */
+    private long originTime;
+    /**
+     * Number of the clock level transitions at the origin.
+     */
+    private long originCycles;
+    /**
+     * Wall-clock time of the start of the measurement.
+     */
+    private long windowTime;
+    /**
+     * Number of the clock level transitions at the start of the measurement.
+     */
+    private long windowCycles;
+
+    /**
+     * Initializes the pacer of the given clock.
+     *
+     * @param clock the paced clock
+     * @throws NullPointerException if {@code clock} is {@code null}
+     */
+    public Pacer(SystemClock clock) {
+        if (clock == null)
+            throw new NullPointerException("Clock cannot be null!");
+
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the granularity of the synchronization.
+     * @return the granularity of the synchronization
+     */
+    public Slice slice() {
+        return slice;
+    }
+
+    /**
+     * Sets the granularity of the synchronization.
+     * <br>Shorter slices give smoother timing, longer slices cost less.
+     *
+     * @param slice the granularity of the synchronization
+     * @throws NullPointerException if {@code slice} is {@code null}
+     */
+    public void slice(Slice slice) {
+        if (slice == null)
+            throw new NullPointerException("Slice cannot be null!");
+
+        this.slice = slice;
+    }
+
+    /**
+     * Returns the target speed of the emulation.
+     * @return the target speed in percents, or {@link #WARP}
+     */
+    public double speed() {
+        return speed;
+    }
+
+    /**
+     * Sets the target speed of the emulation.
+     * <br>The change can be made from any thread.
+     *
+     * @param percent the speed in percents of the real machine, {@link #WARP} to run without throttling
+     * @throws IllegalArgumentException if {@code percent} is negative or not finite
+     */
+    public void speed(double percent) {
+        if (!(percent >= 0) || Double.isInfinite(percent))
+            throw new IllegalArgumentException("Speed must be a non-negative number!");
+
+        this.speed = percent;
+        this.rebase = true;
+    }
+
+    /**
+     * Returns the measured speed of the emulation.
+     * <br>The value is refreshed a few times per second.
+     *
+     * @return the speed in percents of the real machine
+     */
+    public double measured() {
+        return measured;
+    }
+
+    /**
+     * Starts the timing from scratch, e.g. after the emulation was paused.
+     */
+    public void reset() {
+        rebase = true;
+    }
+
+    /**
+     * Waits until the wall clock reaches the simulated time of the clock.
+     * <br>Should be called by the emulation thread after each {@link #slice()}.
+     */
+    public void sync() {
+        long cycles = clock.halfcycle();
+        long now = System.nanoTime();
+
+        if (rebase || cycles < originCycles) {
+            rebase = false;
+            originTime = windowTime = now;
+            originCycles = windowCycles = cycles;
+            return;
+        }
+
+        double halfcycle = SI.GIGA / clock.frequency() / 2.0;
+        if (!(halfcycle < Double.POSITIVE_INFINITY))
+            return;
+        if (now - windowTime >= WINDOW) {
+            measured = (cycles - windowCycles) * halfcycle * 100.0 / (now - windowTime);
+            windowTime = now;
+            windowCycles = cycles;
+        }
+
+        double percent = speed;
+        if (percent == WARP)
+            return;
+
+        long deadline = originTime + Math.round((cycles - originCycles) * halfcycle * 100.0 / percent);
+        if (now - deadline > MAX_LAG) {
+            originTime = now;
+            originCycles = cycles;
+            return;
+        }
+
+        Thread thread = Thread.currentThread();
+        for (long left = deadline - now; left > 0 && !thread.isInterrupted(); left = deadline - System.nanoTime())
+            LockSupport.parkNanos(left);
+    }
+}
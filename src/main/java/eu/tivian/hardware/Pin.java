@@ -99,9 +99,18 @@ public class Pin {
      */
     private Direction direction;
     /**
-     * Activates after changing the logical level of the pin.
+     * Index of the event handler in the {@link DeltaScheduler}, activates after changing the logical level of the pin.
+     * <br>{@code -1} if the pin has no event handler.
      */
-    private Runnable onChange = null;
+    int handler = -1;
+    /**
+     * Event handler of the pin, the {@link DeltaScheduler} holds it only weakly.
+     */
+    private Runnable onChange;
+    /**
+     * Scheduler of the thread which created the pin, evaluating its event handler.
+     */
+    final DeltaScheduler scheduler = DeltaScheduler.current();
     /**
      * {@code true} if pin should be pulled-up.
      */
@@ -109,7 +118,25 @@ public class Pin {
     /**
      * Internal state of the pin.
      */
-    private Level level = Level.LOW;
+    Level level = Level.LOW;
+
+    /**
+     * Compiled netlist which holds the state of this pin.
+     * <br>{@code null} if the pin is simulated by its own object.
+     */
+    Netlist netlist = null;
+    /**
+     * Index of the pin inside of the {@link #netlist}.
+     */
+    int index = -1;
+    /**
+     * Position of the pin in the {@link #wire}.
+     */
+    int slot = -1;
+    /**
+     * Position of the pin in the list of notified pins of the {@link #wire}, {@code -1} if the pin has no event handler.
+     */
+    int listener = -1;
 
     /**
      * Initializes isolated pin without the name.
@@ -203,8 +230,13 @@ public class Pin {
      * @param pullUp {@code true} if the pin should be pulled-up
      */
     public void pullUp(boolean pullUp) {
+        if (this.pullUp == pullUp)
+            return;
+
         this.pullUp = pullUp;
-        if (wire != null)
+        if (netlist != null)
+            netlist.pullUp(index, pullUp);
+        else if (wire != null)
             wire.update(this);
     }
 
@@ -215,6 +247,7 @@ public class Pin {
      * @return a reference to this object
      */
     public Pin connect(Wire wire) {
+        release();
         this.wire = wire;
         return this;
     }
@@ -227,10 +260,13 @@ public class Pin {
      */
     public Pin connect(Pin other) {
         if (other != this) {
+            release();
+            other.release();
+
             if (wire != null) {
                 wire.connect(other);
             } else if (other.wire == null) {
-                wire = new Wire();
+                Wire wire = new Wire();
                 wire.connect(this);
                 wire.connect(other);
             } else {
@@ -245,6 +281,8 @@ public class Pin {
      * Disconnects the pin from the wire.
      */
     public void disconnect() {
+        release();
+
         if (wire != null) {
             wire.disconnect(this);
             this.wire = null;
@@ -272,10 +310,14 @@ public class Pin {
      */
     public void direction(Direction dir) {
         Direction old = this.direction;
+        if (old == Direction.INPUT && wire != null && netlist == null)
+            level = wire.level();
         this.direction = dir;
 
-        if (wire != null)
-            wire.update(this, dir);
+        if (netlist != null)
+            netlist.direction(index, dir);
+        else if (wire != null)
+            wire.update(this, old);
         else if (old == Direction.OUTPUT && dir == Direction.HI_Z)
             level = pullUp ? Level.HIGH : Level.LOW;
     }
@@ -305,7 +347,9 @@ public class Pin {
      * @return {@code true} if the value was changed
      */
     public boolean level(Level value) {
-        if (direction == Direction.INPUT) {
+        if (netlist != null) {
+            return netlist.level(index, value == Level.HIGH);
+        } else if (direction == Direction.INPUT) {
             throw new IllegalArgumentException("Input pin value cannot be changed, only checked!");
         } else if (direction != Direction.HI_Z && this.level != value) {
             this.level = value;
@@ -325,6 +369,11 @@ public class Pin {
         if (Logger.ENABLE && direction == Direction.HI_Z)
             Logger.warn("Reading from HI-Z pin!");
 
+        if (netlist != null)
+            return netlist.level(index) ? Level.HIGH : Level.LOW;
+        else if (direction == Direction.INPUT && wire != null)
+            return wire.level();
+
         return level;
     }
 
@@ -341,7 +390,7 @@ public class Pin {
      */
     private void update() {
         if (wire != null)
-            wire.update(this);
+            wire.drive(this);
     }
 
     /**
@@ -351,8 +400,8 @@ public class Pin {
     private void update(Level level) {
         if (direction == Direction.INPUT) {
             this.level = level;
-            if (onChange != null)
-                onChange.run();
+            if (handler >= 0)
+                scheduler.post(handler);
         }
     }
 
@@ -364,17 +413,36 @@ public class Pin {
         Level level = wire.level();
         if (direction == Direction.INPUT && this.level != level) {
             this.level = level;
-            if (onChange != null)
-                onChange.run();
+            if (handler >= 0)
+                scheduler.post(handler);
         }
     }
 
     /**
      * Sets the event handler.
+     * <br>The handler is evaluated by the {@link DeltaScheduler}, at most once per delta cycle,
+     * so pins sharing the same handler object cause just one evaluation.
+     *
      * @param onChange the event handler
      */
     public void onChange(Runnable onChange) {
         this.onChange = onChange;
+        this.handler = onChange != null ? scheduler.register(onChange, name) : -1;
+        if (netlist != null)
+            netlist.onChange(index, handler);
+        if (wire != null) {
+            if (netlist == null && direction == Direction.INPUT)
+                level = wire.level();
+            wire.listen(this);
+        }
+    }
+
+    /**
+     * Writes the state of the compiled {@link #netlist} back to the objects before the topology is changed.
+     */
+    private void release() {
+        if (netlist != null)
+            netlist.release();
     }
 
     /**
@@ -383,6 +451,8 @@ public class Pin {
      */
     @Override
     public String toString() {
-        return name + " [" + (level == Level.HIGH ? 1 : 0) + "]";
+        boolean high = netlist != null ? netlist.level(index)
+            : (direction == Direction.INPUT && wire != null ? wire.level() : level) == Level.HIGH;
+        return name + " [" + (high ? 1 : 0) + "]";
     }
 }
@@ -82,8 +82,9 @@ public class RAM extends Memory {
         //else
             Arrays.fill(content, (byte) 0xBB);
 
-        rw.onChange(this::enable);
-        enable.onChange(this::enable);
+        Runnable direction = this::enable;
+        rw.onChange(direction);
+        enable.onChange(direction);
         cas.onChange(() -> {
             enable();
             update();
@@ -43,14 +43,15 @@ public class ROM extends Memory {
             size
         );
 
+        Runnable select = () -> {
+            enable();
+            update();
+        };
         List<Pin> temp = new ArrayList<>();
         for (int i = 1; i <= 3; i++) {
             Pin pin = new Pin("cs" + i, Pin.Direction.INPUT);
             temp.add(pin);
-            pin.onChange(() -> {
-                enable();
-                update();
-            });
+            pin.onChange(select);
         }
         cs = Collections.unmodifiableList(temp);
         address.onChange(this::update);
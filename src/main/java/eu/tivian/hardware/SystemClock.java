@@ -1,11 +1,10 @@
 package eu.tivian.hardware;
 
-import eu.tivian.other.SI;
-
 /**
  * Main clock generator.
  * <br>For PAL system proper frequency is 17.734475MHz.
  * <br>For NTSC system proper frequency is 14.318180MHz.
+ * <br>The clock only counts the simulated time, the wall-clock timing is done by the {@link Pacer}.
  *
  * @author Paweł Kania
  * @since 2019-11-06
@@ -17,14 +16,18 @@ public class SystemClock {
      * Frequency of the clock.
      */
     private double frequency;
-    /**
-     * Inverse of the frequency.
-     */
-    private double duration;
     /**
      * Number of level transitions.
      */
     private long halfcycle = 0;
+    /**
+     * Level of the clock, kept also while the output pin isn't driven.
+     */
+    private boolean level = false;
+    /**
+     * Events waiting for their time.
+     */
+    private final EventScheduler events = new EventScheduler();
 
     /**
      * Clock output pin.
@@ -32,7 +35,7 @@ public class SystemClock {
     public final Pin clock = new Pin("clock", Pin.Direction.OUTPUT);
 
     /**
-     * Initializes the clock with minimal delay between pulses.
+     * Initializes the clock with unknown frequency.
      */
     public SystemClock() {
         this(0);
@@ -61,24 +64,118 @@ public class SystemClock {
      */
     public void frequency(double freq) {
         this.frequency = freq;
-        this.duration = (SI.NANO / frequency) / 2.0;
     }
 
     /**
-     * Pulses the system clock with selected frequency.
+     * Changes the level of the clock output.
      */
     public void pulse() {
         halfcycle++;
+        clock.level(level = !level);
+        if (halfcycle >= events.next)
+            events.run(halfcycle);
+    }
+
+    /**
+     * Counts the level transition without driving the clock output.
+     * <br>Used while the chips are stepped directly by the {@link FastMotherboard}.
+     * The scheduled events are run as usual.
+     *
+     * @return {@code true} if the clock rises
+     */
+    boolean tick() {
+        halfcycle++;
+        level = !level;
+        if (halfcycle >= events.next)
+            events.run(halfcycle);
+        return level;
+    }
+
+    /**
+     * Counts the pairs of level transitions without driving the clock output.
+     * <br>Used by the {@link FastMotherboard} after it advanced the TED core by the matching number of clocks.
+     * No event may be due in the meantime, see {@link #idle()}.
+     *
+     * @param halfcycles number of the level transitions, must be even
+     * @throws IllegalArgumentException if {@code halfcycles} is negative or odd
+     * @throws IllegalStateException if any event would be skipped
+     */
+    void skip(int halfcycles) {
+        if (halfcycles < 0 || (halfcycles & 1) != 0)
+            throw new IllegalArgumentException("Only pairs of level transitions can be skipped!");
+        else if (halfcycles > idle())
+            throw new IllegalStateException("Scheduled event would be skipped!");
+
+        halfcycle += halfcycles;
+    }
+
+    /**
+     * Returns the number of the level transitions before the next scheduled event.
+     * @return the number of the level transitions which fire no event
+     */
+    long idle() {
+        return events.next - halfcycle - 1;
+    }
+
+    /**
+     * Returns the level counted by the last level transition.
+     * @return {@code true} if the clock has risen
+     */
+    boolean high() {
+        return level;
+    }
+
+    /**
+     * Checks if the clock output has the level counted by {@link #tick()}.
+     * <br>Only then the pins can be clocked again without a spurious edge.
+     *
+     * @return {@code true} if the level of the output is up to date
+     */
+    boolean synced() {
+        return clock.level().bool() == level;
+    }
+
+    /**
+     * Returns the scheduler of the events in the simulated time of this clock.
+     * @return the event scheduler
+     */
+    public EventScheduler events() {
+        return events;
+    }
+
+    /**
+     * Posts the event to be fired after the given amount of the simulated time.
+     * <br>The event is fired on the pulse of the clock, at least one level transition from now.
+     *
+     * @param seconds delay of the event in seconds
+     * @param action action of the event
+     * @throws IllegalArgumentException if {@code seconds} is negative or not finite
+     * @throws IllegalStateException if the frequency of the clock is unknown
+     * @throws NullPointerException if {@code action} is {@code null}
+     */
+    public void schedule(double seconds, Runnable action) {
+        schedule(seconds, action, null);
+    }
+
+    /**
+     * Posts the event to be fired after the given amount of the simulated time,
+     * with the action run instead if the event is dropped by {@link #clear()}.
+     *
+     * @param seconds delay of the event in seconds
+     * @param action action of the event
+     * @param discard action run if the event is dropped, or {@code null}
+     * @throws IllegalArgumentException if {@code seconds} is negative or not finite
+     * @throws IllegalStateException if the frequency of the clock is unknown
+     * @throws NullPointerException if {@code action} is {@code null}
+     * @see EventScheduler#post(long, Runnable, Runnable)
+     */
+    public void schedule(double seconds, Runnable action, Runnable discard) {
+        if (!(seconds >= 0) || Double.isInfinite(seconds))
+            throw new IllegalArgumentException("Delay must be a non-negative number!");
+        else if (!(frequency > 0) || Double.isInfinite(frequency))
+            throw new IllegalStateException("Clock frequency is unknown!");
 
-        long before = System.nanoTime();
-        clock.level(!clock.level().bool());
-        long after = System.nanoTime();
-        double diff = duration - (after - before);
-        if (diff > 0) {
-            try {
-                Thread.sleep(Math.round(diff * 1000));
-            } catch (InterruptedException ex) { }
-        }
+        events.post(halfcycle + Math.max(1, Math.round(seconds * frequency * 2.0)), action, discard);
     }
 
     /**
@@ -90,9 +187,11 @@ public class SystemClock {
     }
 
     /**
-     * Clears the level transitions counter.
+     * Clears the level transitions counter and drops the waiting events.
+     * <br>The discard actions of the dropped events are run.
      */
     public void clear() {
         halfcycle = 0;
+        events.clear();
     }
 }
@@ -9,7 +9,7 @@ import eu.tivian.other.Logger;
 /**
  * TED - video chip.
  * <br><b>MOS 8360</b>
- * <br>Right now uses the Verilog version of TED from <a href="https://github.com/ishe/plus4">FPGATED project</a>.
+ * <br>The core is implemented in Java by {@link TEDCore}, so it runs on every platform.
  *
  * @author Paweł Kania
  * @since 2019-11-06
@@ -32,6 +32,33 @@ public class TED implements AutoCloseable {
         void accept(int x, int y, int color);
     }
 
+    /**
+     * Frame buffer events.
+     * <br>The pixels are written straight into the frame buffer, so the receiver only learns
+     * when the line or the whole frame is complete.
+     */
+    public interface Screen {
+        /**
+         * Called after the visible part of the raster line is written to the frame buffer.
+         * @param y row of the frame buffer
+         */
+        default void line(int y) {}
+
+        /**
+         * Called after the last visible line of the frame, i.e. at the vertical sync.
+         */
+        void vsync();
+    }
+
+    /**
+     * Width of the frame buffer.
+     */
+    public static final int WIDTH  = TEDCore.VISIBLE_WIDTH;
+    /**
+     * Height of the frame buffer, enough for the PAL frame.
+     */
+    public static final int HEIGHT = TEDCore.PAL_HEIGHT;
+
     /**
      * Address bus.
      */
@@ -99,44 +126,44 @@ public class TED implements AutoCloseable {
     /**
      * Current video column.
      */
-    private int x = 0;
+    private int x = -1;
     /**
      * Current video row.
      */
-    private int y = 0;
+    private int y = -1;
     /**
-     * Currently drawn color.
+     * {@code true} if the frame buffer is rendered a whole raster line at a time.
      */
-    private int color = 0;
+    private boolean scanlines = false;
 
     /**
-     * Verilog version of TED
+     * Java implementation of the TED core.
      */
-    private TEDNative internal;
+    private final TEDCore internal = new TEDCore();
 
     /**
      * Initializes inner logic of the video chip.
      */
     public TED() {
         render = null;
-        internal = new TEDNative();
-        internal.init();
 
         phiIn.onChange(this::step);
-        rw.onChange(this::enable);
         rw.pullUp(); // R/-W is pulled-up internally
 
         keyboard.onChange(() -> internal.keyboard((int) keyboard.value()));
 
         address.onChange(() -> {
             if (address.direction() == Pin.Direction.INPUT)
-                internal.addr_in((int) address.value());
+                internal.address((int) address.value());
         });
 
         data.onChange(() -> {
             if (data.direction() == Pin.Direction.INPUT)
-                internal.data_in((int) data.value());
+                internal.data((int) data.value());
         });
+
+        update(~0);
+        phiOut.level(internal.phi());
     }
 
     /**
@@ -144,85 +171,185 @@ public class TED implements AutoCloseable {
      *
      * @param fx renderer
      * @throws NullPointerException if renderer is {@code null}
+     * @throws IllegalStateException if the scanline mode is on
      */
     public void render(Video fx) {
         if (fx == null)
             throw new NullPointerException("Renderer cannot be null!");
+        else if (scanlines)
+            throw new IllegalStateException("Renderer needs the pixels one by one, turn off the scanline mode!");
 
         this.render = fx;
     }
 
     /**
-     * Changes the direction of {@link #data} bus according to the {@link #rw} level.
+     * Sets the frame buffer.
+     * <br>Each visible pixel is stored as the color index of the palette, row by row,
+     * {@link #WIDTH} pixels per row.
+     *
+     * @param frame the frame buffer, at least {@link #WIDTH} by {@link #HEIGHT} bytes
+     * @param screen receiver of the line and frame events
+     * @throws NullPointerException if any of the parameters is {@code null}
+     * @throws IllegalArgumentException if the frame buffer is too small
      */
-    private void enable() {
-        if (rw.level() == Pin.Level.HIGH) {
-            internal.rw(1);
-            data.direction(internal.tedreg() == 1 ? Pin.Direction.OUTPUT : Pin.Direction.HI_Z);
-            //data.direction(Pin.Direction.HI_Z);
-        } else {
-            internal.rw(0);
-            data.direction(Pin.Direction.INPUT);
-        }
+    public void render(byte[] frame, Screen screen) {
+        if (frame == null || screen == null)
+            throw new NullPointerException("Frame buffer and screen cannot be null!");
+        else if (frame.length < WIDTH * HEIGHT)
+            throw new IllegalArgumentException("Frame buffer must hold at least " + (WIDTH * HEIGHT) + " pixels!");
+
+        internal.frame(frame, screen);
+    }
+
+    /**
+     * Switches the scanline mode of the frame buffer.
+     * <br>The raster line is rendered at once when it ends, or up to the beam when a register is written
+     * in the middle of it, so the raster effects stay exact. The cost of the video then depends
+     * on the number of the lines, not the pixels.
+     *
+     * @param enabled {@code true} to render the frame buffer a whole raster line at a time
+     * @throws IllegalStateException if the renderer is set, it needs the pixels one by one
+     * @see #render(byte[], Screen)
+     */
+    public void scanlines(boolean enabled) {
+        if (enabled && render != null)
+            throw new IllegalStateException("Renderer needs the pixels one by one, scanline mode is unavailable!");
+
+        scanlines = enabled;
+        internal.scanlines(enabled);
+    }
+
+    /**
+     * Returns the number of the frames finished since the video chip was created.
+     * <br>The counter advances when the raster wraps to the first line.
+     *
+     * @return the number of frames
+     */
+    public long frames() {
+        return internal.frames();
     }
 
-    //private int maxX = 0, maxY = 0;
     /**
      * Calculates current state of the video chip.
+     * <br>The core advances on the rising edges of the clock input.
      */
     private void step() {
-        internal.step();
-        internal.clk(phiIn.level() == Pin.Level.HIGH ? 1 : 0);
-
-        cs0.level(internal.cs0() != 0);
-        cs1.level(internal.cs1() != 0);
-        irq.level(internal.irq() != 0);
-        mux.level(internal.mux() != 0);
-        ras.level(internal.ras() != 0);
-        cas.level(internal.cas() != 0);
-        ba.level(internal.ba() != 0);
-        aec.level(internal.aec() != 0);
-
-        if (render != null) {
-            int x = internal.vcount(), y = internal.hcount(), color = internal.color();
-            if (this.x != x || this.y != y || this.color != color) {
-                //render.accept(y, x, new Random().nextInt() & 0x7F);
-                render.accept(y, x, color);
-
-                //maxX = Math.max(maxX, x);
-                //maxY = Math.max(maxY, y);
+        if (phiIn.level() != Pin.Level.HIGH)
+            return;
 
+        internal.rw(rw.level() == Pin.Level.HIGH);
+        internal.advance(1);
+
+        int changed = internal.changed();
+        if ((changed & ~TEDCore.PHI) != 0) {
+            Transaction t = Transaction.begin();
+            try {
+                update(changed);
+            } finally {
+                t.commit();
+            }
+        }
+
+        if ((changed & TEDCore.PHI) != 0)
+            phiOut.level(internal.phi());
+
+        draw();
+    }
+
+    /**
+     * Checks if the pixels are passed to the renderer, one at a time.
+     * @return {@code true} if the renderer is set
+     * @see #render(Video)
+     */
+    boolean rendering() {
+        return render != null;
+    }
+
+    /**
+     * Passes the current pixel to the renderer, if there is one.
+     */
+    void draw() {
+        if (render != null && internal.visible()) {
+            int x = internal.x(), y = internal.y();
+            if (this.x != x || this.y != y) {
+                render.accept(x, y, internal.color());
                 this.x = x;
                 this.y = y;
-                this.color = color;
             }
         }
+    }
 
-        address.direction(internal.ba() == 0 ? Pin.Direction.OUTPUT : Pin.Direction.INPUT);
-        if (address.direction() == Pin.Direction.OUTPUT) {
-            if (Logger.ENABLE)
-                Logger.info(String.format("TED wants to read memory at 0x%04X", internal.addr_out()));
+    /**
+     * Gets the core of the video chip, so it can be stepped without the pins.
+     * @return the core of the video chip
+     * @see FastMotherboard
+     */
+    TEDCore core() {
+        return internal;
+    }
 
-            address.value(internal.addr_out());
+    /**
+     * Brings the pins in line with the core, after it was stepped without them.
+     * <br>All outputs are driven again and the core reads the levels of the input buses.
+     */
+    void sync() {
+        Transaction t = Transaction.begin();
+        try {
+            update(~0);
+        } finally {
+            t.commit();
         }
 
-        if (internal.tedreg() == 1 && data.direction() == Pin.Direction.OUTPUT) {
-            if (Logger.ENABLE)
-                Logger.info(String.format("TED wants to write memory at 0x%04X", internal.data_out()));
+        internal.keyboard((int) keyboard.value());
+        if (address.direction() == Pin.Direction.INPUT)
+            internal.address((int) address.value());
+        if (data.direction() == Pin.Direction.INPUT)
+            internal.data((int) data.value());
+        phiOut.level(internal.phi());
+    }
+
+    /**
+     * Copies the changed state of the video chip to its pins.
+     * @param changed mask of the changed outputs of the core
+     */
+    private void update(int changed) {
+        if ((changed & TEDCore.CS0) != 0) cs0.level(internal.cs0());
+        if ((changed & TEDCore.CS1) != 0) cs1.level(internal.cs1());
+        if ((changed & TEDCore.IRQ) != 0) irq.level(internal.irq());
+        if ((changed & TEDCore.MUX) != 0) mux.level(internal.mux());
+        if ((changed & TEDCore.RAS) != 0) ras.level(internal.ras());
+        if ((changed & TEDCore.CAS) != 0) cas.level(internal.cas());
+        if ((changed & TEDCore.BA ) != 0) ba.level(internal.ba());
+        if ((changed & TEDCore.AEC) != 0) aec.level(internal.aec());
 
-            data.value(internal.data_out());
+        if ((changed & TEDCore.ADDRESS) != 0) {
+            if (internal.addressOut()) {
+                if (Logger.ENABLE)
+                    Logger.info(String.format("TED wants to read memory at 0x%04X", internal.addressValue()));
+
+                address.direction(Pin.Direction.OUTPUT);
+                address.value(internal.addressValue());
+            } else {
+                address.direction(Pin.Direction.INPUT);
+            }
         }
 
-        phiOut.level(internal.cpuclk() != 0);
+        if ((changed & TEDCore.DATA) != 0) {
+            if (internal.dataOut()) {
+                data.direction(Pin.Direction.OUTPUT);
+                data.value(internal.dataValue());
+            } else {
+                data.direction(Pin.Direction.INPUT);
+            }
+        }
     }
 
     /**
      * Clears up the memory after TED chip is not needed.
+     * <br>The Java core holds no native resources, so there is nothing to free.
      */
     @Override
-    public void close() {
-        internal.free();
-    }
+    public void close() {}
 
     // VCC pin 4
     //public final Pin chroma; // pin 13
@@ -0,0 +1,1178 @@
+package eu.tivian.hardware;
+
+import java.util.Arrays;
+
+/**
+ * Java implementation of the TED core.
+ * <br>The core is driven by the rising edges of the 4x dot clock. Every 16 clock edges make one slot, which
+ * draws 4 pixels and holds one memory access. In the double clock mode each slot is a separate CPU cycle.
+ * In the single clock mode two slots make one CPU cycle, the first one is used by the TED for its own
+ * memory fetch, the second one by the CPU.
+ * <br>Timing of the slot, in clock edges:
+ * <ul>
+ *     <li>0 - previous access ends, φ0 falls, MUX rises</li>
+ *     <li>1 - RAS and CAS rise, AEC falls if the TED owns the slot, φ0 rises in the second half of the single cycle</li>
+ *     <li>2 - BA changes</li>
+ *     <li>4 - RAS falls</li>
+ *     <li>8 - φ0 rises in the double clock mode</li>
+ *     <li>10 - MUX falls, the CPU drives R/W again</li>
+ *     <li>11 - the access is decoded, CAS falls or ROM is selected, TED registers are put on the data bus</li>
+ * </ul>
+ * <br>The memory is not refreshed, because the simulated RAM doesn't need it. Sound registers are only stored.
+ * <br>In the scanline mode the frame buffer is rendered a whole raster line at a time, when the line ends
+ * or when a register is written in the middle of it. The fetched data of the line don't change after
+ * the beam has passed their column, so the rendered line is the same as the one drawn pixel by pixel.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see TED
+ * @see <a href="https://www.pagetable.com/docs/ted/TED%207360R0%20Preliminary%20Data%20Sheet.pdf">TED datasheet</a>
+ */
+final class TEDCore {
+    /**
+     * Number of clock edges in one slot.
+     */
+    static final int SLOT_CLOCKS = 16;
+    /**
+     * Number of slots in one raster line.
+     */
+    static final int LINE_SLOTS = 114;
+    /**
+     * Number of pixels drawn in one slot.
+     */
+    static final int SLOT_PIXELS = 4;
+    /**
+     * Number of raster lines in the PAL frame.
+     */
+    static final int PAL_LINES = 312;
+    /**
+     * Number of raster lines in the NTSC frame.
+     */
+    static final int NTSC_LINES = 262;
+    /**
+     * Width of the visible part of the raster line.
+     */
+    static final int VISIBLE_WIDTH = 384;
+    /**
+     * Height of the visible part of the PAL frame.
+     */
+    static final int PAL_HEIGHT = 289;
+    /**
+     * Height of the visible part of the NTSC frame.
+     */
+    static final int NTSC_HEIGHT = 245;
+
+    /**
+     * Change of the CPU clock output.
+     */
+    static final int PHI     = 1;
+    /**
+     * Change of the row address strobe.
+     */
+    static final int RAS     = 1 << 1;
+    /**
+     * Change of the column address strobe.
+     */
+    static final int CAS     = 1 << 2;
+    /**
+     * Change of the RAM multiplexers signal.
+     */
+    static final int MUX     = 1 << 3;
+    /**
+     * Change of the bus available signal.
+     */
+    static final int BA      = 1 << 4;
+    /**
+     * Change of the address enable control.
+     */
+    static final int AEC     = 1 << 5;
+    /**
+     * Change of the low ROM chip select.
+     */
+    static final int CS0     = 1 << 6;
+    /**
+     * Change of the high ROM chip select.
+     */
+    static final int CS1     = 1 << 7;
+    /**
+     * Change of the interrupt request line.
+     */
+    static final int IRQ     = 1 << 8;
+    /**
+     * Change of the address driven by the TED.
+     */
+    static final int ADDRESS = 1 << 9;
+    /**
+     * Change of the data driven by the TED.
+     */
+    static final int DATA    = 1 << 10;
+
+    /**
+     * First slot of the fetch window.
+     * <br>The window lasts for 41 single cycles, the bitmap of n-th column is fetched in the n+1 cycle.
+     */
+    private static final int FETCH_SLOT = 22;
+    /**
+     * Number of slots in the fetch window.
+     */
+    private static final int FETCH_SLOTS = 82;
+    /**
+     * First pixel of the display window.
+     */
+    private static final int WINDOW_X = SLOT_PIXELS * (FETCH_SLOT + 3);
+    /**
+     * First visible pixel of the raster line.
+     */
+    private static final int VISIBLE_X = WINDOW_X - 32;
+    /**
+     * First raster line of the character rows.
+     */
+    private static final int ROW_FIRST = 4;
+    /**
+     * Raster line after the last character row.
+     */
+    private static final int ROW_LAST = 204;
+    /**
+     * Number of columns of the character matrix.
+     */
+    private static final int COLUMNS = 40;
+
+    /**
+     * Nothing is accessed in the slot.
+     */
+    private static final int IDLE = 0;
+    /**
+     * The CPU accesses the memory.
+     */
+    private static final int CPU = 1;
+    /**
+     * The CPU reads the TED register.
+     */
+    private static final int REG_READ = 2;
+    /**
+     * The CPU writes the TED register.
+     */
+    private static final int REG_WRITE = 3;
+    /**
+     * The TED fetches the attribute.
+     */
+    private static final int ATTRIBUTE = 4;
+    /**
+     * The TED fetches the character pointer.
+     */
+    private static final int POINTER = 5;
+    /**
+     * The TED fetches the bitmap.
+     */
+    private static final int BITMAP = 6;
+
+    /**
+     * Registers at $FF00 - $FF3F.
+     */
+    private final int[] reg = new int[0x40];
+    /**
+     * Character pointers of the current row.
+     */
+    private final int[] pointers = new int[COLUMNS];
+    /**
+     * Attributes of the current row.
+     */
+    private int[] attributes = new int[COLUMNS];
+    /**
+     * Attributes of the next row, fetched on the line before it starts.
+     */
+    private int[] nextAttributes = new int[COLUMNS];
+    /**
+     * Bitmap of the current raster line.
+     */
+    private final int[] bitmap = new int[COLUMNS];
+
+    /**
+     * Clock edge inside of the slot.
+     */
+    private int tick = 0;
+    /**
+     * Slot inside of the raster line.
+     */
+    private int slot = 0;
+    /**
+     * Current raster line.
+     */
+    private int line = 0;
+    /**
+     * Number of the finished frames.
+     */
+    private long frames = 0;
+    /**
+     * Number of the finished slots.
+     */
+    private long slots = 0;
+    /**
+     * Index of the character row, the next row if no row started on the current line.
+     */
+    private int row = 0;
+    /**
+     * Raster line inside of the character row.
+     */
+    private int rowLine = 0;
+    /**
+     * Flash counter, incremented every frame.
+     */
+    private int flash = 0;
+
+    /**
+     * {@code true} if the bitmap is fetched on the current line.
+     */
+    private boolean fetchLine = false;
+    /**
+     * {@code true} if the attributes are fetched on the current line.
+     */
+    private boolean attributeLine = false;
+    /**
+     * {@code true} if the character pointers are fetched on the current line.
+     */
+    private boolean pointerLine = false;
+    /**
+     * {@code true} if the current pair of slots is a single cycle.
+     */
+    private boolean single = false;
+    /**
+     * Access made in the current slot.
+     */
+    private int access = IDLE;
+    /**
+     * Column of the fetched data.
+     */
+    private int column = 0;
+    /**
+     * Address accessed in the current slot.
+     */
+    private int accessAddress = 0;
+
+    /**
+     * First timer.
+     */
+    private int timer1 = 0;
+    /**
+     * Reload value of the first timer.
+     */
+    private int reload1 = 0;
+    /**
+     * Second timer.
+     */
+    private int timer2 = 0;
+    /**
+     * Third timer.
+     */
+    private int timer3 = 0;
+    /**
+     * Running timers, one bit per timer.
+     */
+    private int running = 0;
+    /**
+     * Interrupt request flags, as in the $FF09 register.
+     */
+    private int irqFlags = 0;
+    /**
+     * {@code true} if the ROM is visible to the CPU.
+     */
+    private boolean rom = true;
+
+    /**
+     * Address bus seen by the TED.
+     */
+    private int addressIn = 0;
+    /**
+     * Data bus seen by the TED.
+     */
+    private int dataIn = 0;
+    /**
+     * Read/write line seen by the TED.
+     */
+    private boolean read = true;
+    /**
+     * Keyboard matrix port.
+     */
+    private int keyboard = 0xFF;
+
+    /**
+     * CPU clock output.
+     */
+    private boolean phi = false;
+    /**
+     * Row address strobe output.
+     */
+    private boolean ras = true;
+    /**
+     * Column address strobe output.
+     */
+    private boolean cas = true;
+    /**
+     * RAM multiplexers output.
+     */
+    private boolean mux = true;
+    /**
+     * Bus available output.
+     */
+    private boolean ba = true;
+    /**
+     * Address enable control output.
+     */
+    private boolean aec = true;
+    /**
+     * Low ROM chip select output.
+     */
+    private boolean cs0 = true;
+    /**
+     * High ROM chip select output.
+     */
+    private boolean cs1 = true;
+    /**
+     * {@code true} if the TED drives the address bus.
+     */
+    private boolean addressOut = false;
+    /**
+     * Address driven by the TED.
+     */
+    private int addressValue = 0;
+    /**
+     * {@code true} if the TED drives the data bus.
+     */
+    private boolean dataOut = false;
+    /**
+     * Data driven by the TED.
+     */
+    private int dataValue = 0;
+
+    /**
+     * Frame buffer, one palette index per visible pixel.
+     * <br>{@code null} if the frame isn't rendered.
+     */
+    private byte[] frame = null;
+    /**
+     * Receiver of the line and frame events.
+     */
+    private TED.Screen screen = null;
+    /**
+     * {@code true} if the frame buffer is rendered a whole raster line at a time.
+     */
+    private boolean scanlines = false;
+    /**
+     * Horizontal position of the first pixel of the current line, which isn't rendered yet in the scanline mode.
+     */
+    private int drawn = 0;
+
+    /**
+     * Outputs changed during the last {@link #advance(int)} call.
+     */
+    private int changed = 0;
+
+    /**
+     * Column of the last drawn pixel.
+     */
+    private int x = 0;
+    /**
+     * Row of the last drawn pixel.
+     */
+    private int y = 0;
+    /**
+     * Horizontal position of the last drawn pixel.
+     */
+    private int position = 0;
+    /**
+     * {@code true} if the last drawn pixel is visible.
+     */
+    private boolean visible = false;
+
+    /**
+     * Advances the core by the given number of clock edges, or until any of its outputs changes.
+     * <br>The changed outputs are reported by {@link #changed()}, so the caller only copies them to the pins.
+     * The pin-level {@link TED} is clocked by its φ0 pin, so it advances one edge at a time,
+     * the {@link FastMotherboard} runs the whole batches between the changes.
+     *
+     * @param clocks maximum number of rising edges of the clock
+     * @return number of the processed clock edges
+     */
+    int advance(int clocks) {
+        int before = outputs(), address = addressValue, data = dataValue;
+        for (int i = 1; i <= clocks; i++) {
+            clock();
+
+            changed = outputs() ^ before;
+            if (addressValue != address)
+                changed |= ADDRESS;
+            if (dataValue != data)
+                changed |= DATA;
+            if (changed != 0)
+                return i;
+        }
+
+        return clocks;
+    }
+
+    /**
+     * Sets the frame buffer.
+     *
+     * @param frame frame buffer of {@link #VISIBLE_WIDTH} by {@link #PAL_HEIGHT} pixels, or {@code null}
+     * @param screen receiver of the line and frame events
+     */
+    void frame(byte[] frame, TED.Screen screen) {
+        if (scanlines)
+            render(beam());
+        this.frame = frame;
+        this.screen = screen;
+    }
+
+    /**
+     * Switches the scanline mode.
+     * <br>The pixel state reported by {@link #x()}, {@link #y()} and {@link #visible()} isn't updated
+     * in the scanline mode.
+     *
+     * @param enabled {@code true} to render the frame buffer a whole raster line at a time
+     */
+    void scanlines(boolean enabled) {
+        if (enabled == scanlines)
+            return;
+
+        if (scanlines)
+            render(beam());
+        else
+            drawn = beam();
+        scanlines = enabled;
+        visible = false;
+    }
+
+    /**
+     * Gets the outputs changed during the last {@link #advance(int)} call.
+     * @return mask of the changed outputs
+     */
+    int changed() {
+        return changed;
+    }
+
+    /**
+     * Packs the levels of the outputs.
+     * <br>The {@link #ADDRESS} and {@link #DATA} bits are set if the TED drives the bus.
+     *
+     * @return levels of the outputs
+     */
+    int outputs() {
+        return (phi ? PHI : 0) | (ras ? RAS : 0) | (cas ? CAS : 0) | (mux ? MUX : 0) | (ba ? BA : 0)
+             | (aec ? AEC : 0) | (cs0 ? CS0 : 0) | (cs1 ? CS1 : 0) | (irq() ? IRQ : 0)
+             | (addressOut ? ADDRESS : 0) | (dataOut ? DATA : 0);
+    }
+
+    /**
+     * Advances the core by one rising edge of the clock.
+     */
+    void clock() {
+        switch (tick) {
+            case 0:  begin(); break;
+            case 1:  open();  break;
+            case 2:  ba = !dma(); break;
+            case 4:  ras = false; break;
+            case 8:  phi |= !single; break;
+            case 10: mux = false; break;
+            case 11: decode(); break;
+            default: break;
+        }
+
+        if ((tick & 3) == 0 && !scanlines)
+            pixel(slot * SLOT_PIXELS + (tick >> 2));
+
+        if (++tick == SLOT_CLOCKS) {
+            tick = 0;
+            slots++;
+            if (++slot == LINE_SLOTS) {
+                if (scanlines) {
+                    render(LINE_SLOTS * SLOT_PIXELS);
+                    drawn = 0;
+                }
+                slot = 0;
+                if (++line >= lines()) {
+                    line = 0;
+                    frames++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Ends the previous slot and starts the new one.
+     */
+    private void begin() {
+        if (access == REG_WRITE)
+            write(accessAddress & 0x3F, dataIn);
+        else if (access == ATTRIBUTE)
+            nextAttributes[column] = dataIn;
+        else if (access == POINTER)
+            pointers[column] = dataIn;
+        else if (access == BITMAP)
+            bitmap[column] = dataIn;
+
+        if ((slot & 1) == 0)
+            timers();
+        if (slot == 0)
+            raster();
+
+        if ((slot & 1) == 0)
+            single = (reg[0x13] & 0x02) != 0 || (fetchLine && slot >= FETCH_SLOT && slot < FETCH_SLOT + FETCH_SLOTS);
+
+        int cycle = (slot - FETCH_SLOT) >> 1;
+        access = IDLE;
+        if (!single || (slot & 1) != 0) {
+            access = CPU;
+            if ((attributeLine || pointerLine) && (slot & 1) != 0 && slot >= FETCH_SLOT && cycle < COLUMNS) {
+                access = attributeLine ? ATTRIBUTE : POINTER;
+                column = cycle;
+            }
+        } else if (fetchLine && slot >= FETCH_SLOT && cycle >= 1 && cycle <= COLUMNS) {
+            access = BITMAP;
+            column = cycle - 1;
+        }
+
+        if (!single || (slot & 1) == 0)
+            phi = false;
+        mux = true;
+        if (access < ATTRIBUTE) {
+            aec = true;
+            addressOut = false;
+        }
+    }
+
+    /**
+     * Closes the previous memory access and opens the bus for the current one.
+     */
+    private void open() {
+        ras = true;
+        cas = true;
+        cs0 = true;
+        cs1 = true;
+        dataOut = false;
+
+        if (access >= ATTRIBUTE) {
+            aec = false;
+            addressOut = true;
+            addressValue = fetchAddress();
+        } else if (single && (slot & 1) != 0) {
+            phi = true;
+        }
+    }
+
+    /**
+     * Decodes the memory access.
+     * <br>R/W isn't valid before MUX falls, so the access is decoded together with the column address.
+     */
+    private void decode() {
+        if (access == IDLE)
+            return;
+
+        if (access >= ATTRIBUTE) {
+            accessAddress = addressValue;
+            if (access == BITMAP && (reg[0x06] & 0x20) == 0 && (reg[0x12] & 0x04) != 0 && accessAddress >= 0x8000)
+                select(accessAddress);
+            else
+                cas = false;
+            return;
+        }
+
+        accessAddress = addressIn;
+        if (accessAddress >= 0xFF00 && accessAddress < 0xFF40) {
+            access = read ? REG_READ : REG_WRITE;
+            if (read) {
+                dataOut = true;
+                dataValue = read(accessAddress & 0x3F);
+            }
+        } else if (accessAddress >= 0xFD00 && accessAddress < 0xFF00) {
+            access = IDLE; // I/O area, decoded by the PLA
+        } else if (rom && read && accessAddress >= 0x8000) {
+            select(accessAddress);
+        } else {
+            cas = false;
+        }
+    }
+
+    /**
+     * Selects the ROM chip of the given address.
+     * @param address the accessed address
+     */
+    private void select(int address) {
+        if (address < 0xC000)
+            cs0 = false;
+        else
+            cs1 = false;
+    }
+
+    /**
+     * Checks if the character row starts on the given raster line, according to the vertical scroll.
+     *
+     * @param line the raster line
+     * @return {@code true} if the row starts on the line
+     */
+    private boolean badLine(int line) {
+        return (line & 0x07) == (((reg[0x06] & 0x07) + 1) & 0x07);
+    }
+
+    /**
+     * Checks if the TED fetches the memory or stops the CPU on the given raster line.
+     *
+     * @param line the raster line
+     * @return {@code true} if the line has the fetch window
+     */
+    private boolean window(int line) {
+        return (reg[0x06] & 0x10) != 0 && (line >= ROW_FIRST && line < ROW_LAST
+            || line + 1 >= ROW_FIRST && line + 1 < ROW_LAST && badLine(line + 1));
+    }
+
+    /**
+     * Finds the next slot, in which the CPU could see the core without accessing its registers.
+     * <br>Such slot requests the interrupt, stops the CPU, changes its clock rate or fetches the memory.
+     * The other slots depend only on the registers and the raster position, so the CPU can run ahead
+     * of the core until the found slot, as long as it doesn't access the registers.
+     *
+     * @param limit maximum number of the checked slots
+     * @return number of the found slot, counted like {@link #slots()}
+     */
+    long horizon(int limit) {
+        int slot = this.slot, line = this.line, mask = reg[0x0A];
+        int timer1 = this.timer1, timer2 = this.timer2, timer3 = this.timer3;
+        boolean window = attributeLine || pointerLine || fetchLine;
+
+        for (int i = 1; i <= limit; i++) {
+            if (++slot == LINE_SLOTS) {
+                slot = 0;
+                if (++line >= lines())
+                    line = 0;
+                window = window(line);
+                if ((mask & 0x02) != 0 && line == (((mask & 0x01) << 8) | reg[0x0B]))
+                    return slots + i;
+            }
+
+            if (window && slot >= FETCH_SLOT - 6 && slot < FETCH_SLOT + FETCH_SLOTS)
+                return slots + i;
+
+            if ((slot & 1) == 0) {
+                if ((running & 1) != 0 && (timer1 = (timer1 - 1) & 0xFFFF) == 0) {
+                    if ((mask & 0x08) != 0)
+                        return slots + i;
+                    timer1 = reload1;
+                }
+                if ((running & 2) != 0 && (timer2 = (timer2 - 1) & 0xFFFF) == 0 && (mask & 0x10) != 0)
+                    return slots + i;
+                if ((running & 4) != 0 && (timer3 = (timer3 - 1) & 0xFFFF) == 0 && (mask & 0x40) != 0)
+                    return slots + i;
+            }
+        }
+
+        return slots + limit + 1;
+    }
+
+    /**
+     * Checks if the CPU has to be stopped for the DMA on the current line.
+     * @return {@code true} if BA should be held LOW
+     */
+    private boolean dma() {
+        return (attributeLine || pointerLine) && slot >= FETCH_SLOT - 6 && slot < FETCH_SLOT + FETCH_SLOTS - 2;
+    }
+
+    /**
+     * Calculates the address fetched by the TED in the current slot.
+     * @return the fetched address
+     */
+    private int fetchAddress() {
+        int matrix = (reg[0x14] & 0xF8) << 8;
+        if (access == ATTRIBUTE)
+            return (matrix + row * COLUMNS + column) & 0xFFFF;
+        else if (access == POINTER)
+            return (matrix + 0x400 + (row - 1) * COLUMNS + column) & 0xFFFF;
+
+        if ((reg[0x06] & 0x20) != 0)
+            return (((reg[0x12] & 0x38) << 10) + ((row - 1) * COLUMNS + column) * 8 + rowLine) & 0xFFFF;
+
+        int pointer = pointers[column];
+        if ((reg[0x06] & 0x40) != 0)
+            pointer &= 0x3F;
+        else if ((reg[0x07] & 0x80) == 0)
+            pointer &= 0x7F;
+        return (((reg[0x13] & 0xFC) << 8) + pointer * 8 + rowLine) & 0xFFFF;
+    }
+
+    /**
+     * Starts the new raster line.
+     */
+    private void raster() {
+        if (line == 0) {
+            row = 0;
+            flash = (flash + 1) & 0x0F;
+        }
+
+        if (line == (((reg[0x0A] & 0x01) << 8) | reg[0x0B]))
+            irqFlags |= 0x02;
+
+        boolean enabled = (reg[0x06] & 0x10) != 0;
+        boolean region = line >= ROW_FIRST && line < ROW_LAST;
+        pointerLine = enabled && region && badLine(line);
+        attributeLine = enabled && line + 1 >= ROW_FIRST && line + 1 < ROW_LAST && badLine(line + 1);
+        fetchLine = enabled && region;
+
+        if (pointerLine) {
+            int[] temp = attributes;
+            attributes = nextAttributes;
+            nextAttributes = temp;
+            row++;
+            rowLine = 0;
+        } else if (region) {
+            rowLine = (rowLine + 1) & 0x07;
+        }
+    }
+
+    /**
+     * Decrements the running timers, at the single clock rate.
+     */
+    private void timers() {
+        if ((running & 1) != 0) {
+            timer1 = (timer1 - 1) & 0xFFFF;
+            if (timer1 == 0) {
+                irqFlags |= 0x08;
+                timer1 = reload1;
+            }
+        }
+        if ((running & 2) != 0) {
+            timer2 = (timer2 - 1) & 0xFFFF;
+            if (timer2 == 0)
+                irqFlags |= 0x10;
+        }
+        if ((running & 4) != 0) {
+            timer3 = (timer3 - 1) & 0xFFFF;
+            if (timer3 == 0)
+                irqFlags |= 0x40;
+        }
+    }
+
+    /**
+     * Draws the pixel at the given position of the current line.
+     * @param position the horizontal position of the pixel
+     */
+    private void pixel(int position) {
+        int top = (reg[0x07] & 0x40) != 0 ? NTSC_LINES - 18 : PAL_LINES - 38;
+        int height = (reg[0x07] & 0x40) != 0 ? NTSC_HEIGHT : PAL_HEIGHT;
+        int row = line - top;
+        if (row < 0)
+            row += lines();
+
+        x = position - VISIBLE_X;
+        y = row;
+        visible = x >= 0 && x < VISIBLE_WIDTH && y < height;
+        if (!visible)
+            return;
+
+        this.position = position;
+        if (frame != null) {
+            frame[y * VISIBLE_WIDTH + x] = (byte) (color(position) & 0x7F);
+            if (x == VISIBLE_WIDTH - 1) {
+                screen.line(y);
+                if (y == height - 1)
+                    screen.vsync();
+            }
+        }
+    }
+
+    /**
+     * Gets the horizontal position of the beam.
+     * @return position of the first pixel of the current line, which isn't drawn yet
+     */
+    private int beam() {
+        return slot * SLOT_PIXELS + ((tick + 3) >> 2);
+    }
+
+    /**
+     * Renders the pixels of the current line, which aren't rendered yet, in the scanline mode.
+     * <br>The border is filled at once, only the pixels of the display window are calculated one by one.
+     *
+     * @param to horizontal position after the last rendered pixel
+     */
+    private void render(int to) {
+        int from = drawn;
+        if (to <= from)
+            return;
+        drawn = to;
+        if (frame == null)
+            return;
+
+        int top = (reg[0x07] & 0x40) != 0 ? NTSC_LINES - 18 : PAL_LINES - 38;
+        int height = (reg[0x07] & 0x40) != 0 ? NTSC_HEIGHT : PAL_HEIGHT;
+        int y = line - top;
+        if (y < 0)
+            y += lines();
+        if (y >= height)
+            return;
+
+        int first = Math.max(from, VISIBLE_X), last = Math.min(to, VISIBLE_X + VISIBLE_WIDTH);
+        if (first < last) {
+            int offset = y * VISIBLE_WIDTH - VISIBLE_X;
+            boolean rows25 = (reg[0x06] & 0x08) != 0, columns40 = (reg[0x07] & 0x08) != 0;
+            int left = last, right = last;
+            if ((reg[0x06] & 0x10) != 0 && line >= (rows25 ? 4 : 8) && line < (rows25 ? 204 : 200)) {
+                left = Math.min(last, Math.max(first, WINDOW_X + (columns40 ? 0 : 8)));
+                right = Math.max(left, Math.min(last, WINDOW_X + (columns40 ? 320 : 312)));
+            }
+
+            byte border = (byte) (reg[0x19] & 0x7F);
+            Arrays.fill(frame, offset + first, offset + left, border);
+            for (int position = left; position < right; position++)
+                frame[offset + position] = (byte) (color(position) & 0x7F);
+            Arrays.fill(frame, offset + right, offset + last, border);
+        }
+
+        if (from < VISIBLE_X + VISIBLE_WIDTH && to >= VISIBLE_X + VISIBLE_WIDTH) {
+            screen.line(y);
+            if (y == height - 1)
+                screen.vsync();
+        }
+    }
+
+    /**
+     * Calculates the color of the pixel.
+     * @param position the horizontal position of the pixel
+     * @return the color of the pixel
+     */
+    private int color(int position) {
+        boolean rows25 = (reg[0x06] & 0x08) != 0;
+        boolean columns40 = (reg[0x07] & 0x08) != 0;
+        if ((reg[0x06] & 0x10) == 0 || line < (rows25 ? 4 : 8) || line >= (rows25 ? 204 : 200)
+                || position < WINDOW_X + (columns40 ? 0 : 8) || position >= WINDOW_X + (columns40 ? 320 : 312))
+            return reg[0x19];
+
+        int gx = position - WINDOW_X - (reg[0x07] & 0x07);
+        if (gx < 0)
+            return reg[0x15];
+
+        int column = gx >> 3, shift = 7 - (gx & 7);
+        int pointer = pointers[column], attribute = attributes[column], bits = bitmap[column];
+        boolean ecm = (reg[0x06] & 0x40) != 0;
+        boolean multicolor = (reg[0x07] & 0x10) != 0;
+
+        if ((reg[0x06] & 0x20) != 0) { // bitmap mode
+            int pair = (bits >> (shift & 6)) & 3;
+            if (multicolor) {
+                switch (pair) {
+                    case 0:  return reg[0x15];
+                    case 1:  return ((attribute & 0x07) << 4) | (pointer >> 4);
+                    case 2:  return (attribute & 0x70) | (pointer & 0x0F);
+                    default: return reg[0x16];
+                }
+            }
+
+            return ((bits >> shift) & 1) != 0 ? ((attribute & 0x07) << 4) | (pointer >> 4)
+                                               : (attribute & 0x70) | (pointer & 0x0F);
+        }
+
+        if (multicolor && (attribute & 0x08) != 0) {
+            switch ((bits >> (shift & 6)) & 3) {
+                case 0:  return reg[0x15];
+                case 1:  return reg[0x16];
+                case 2:  return reg[0x17];
+                default: return attribute & 0x77;
+            }
+        }
+
+        boolean flashOn = (flash & 0x08) != 0;
+        boolean on = ((bits >> shift) & 1) != 0;
+        if (!ecm && (reg[0x07] & 0x80) == 0 && (pointer & 0x80) != 0)
+            on = !on;
+        if (flashOn && ((row - 1) * COLUMNS + column) == (((reg[0x0C] & 0x03) << 8) | reg[0x0D]))
+            on = !on;
+        if (flashOn && (attribute & 0x80) != 0)
+            on = false;
+
+        if (on)
+            return attribute;
+        return ecm ? reg[0x15 + (pointer >> 6)] : reg[0x15];
+    }
+
+    /**
+     * Reads the TED register.
+     * @param index index of the register
+     * @return value of the register
+     */
+    int read(int index) {
+        switch (index) {
+            case 0x00: return timer1 & 0xFF;
+            case 0x01: return timer1 >> 8;
+            case 0x02: return timer2 & 0xFF;
+            case 0x03: return timer2 >> 8;
+            case 0x04: return timer3 & 0xFF;
+            case 0x05: return timer3 >> 8;
+            case 0x08: return keyboard;
+            case 0x09: return irqFlags | ((irqFlags & reg[0x0A] & 0x5E) != 0 ? 0x80 : 0) | 0x21;
+            case 0x0A: return reg[0x0A] | 0xA0;
+            case 0x0C: return reg[0x0C] | 0xFC;
+            case 0x12: return reg[0x12] | 0xC0;
+            case 0x13: return (reg[0x13] & 0xFE) | (rom ? 1 : 0);
+            case 0x14: return reg[0x14] | 0x07;
+            case 0x15: case 0x16: case 0x17: case 0x18: case 0x19:
+                return reg[index] | 0x80;
+            case 0x1A: return reg[0x1A] | 0xFC;
+            case 0x1C: return 0xFE | (line >> 8);
+            case 0x1D: return line & 0xFF;
+            case 0x1E: return ((slot * SLOT_PIXELS + (tick >> 2)) >> 1) & 0xFF;
+            case 0x1F: return 0x80 | (flash << 3) | rowLine;
+            default:   return index < 0x20 ? reg[index] : 0xFF;
+        }
+    }
+
+    /**
+     * Writes the TED register.
+     *
+     * @param index index of the register
+     * @param value new value of the register
+     */
+    void write(int index, int value) {
+        if (scanlines)
+            render(beam());
+
+        value &= 0xFF;
+        switch (index) {
+            case 0x00: reload1 = (reload1 & 0xFF00) | value; running &= ~1; break;
+            case 0x01: reload1 = (reload1 & 0x00FF) | (value << 8); timer1 = reload1; running |= 1; break;
+            case 0x02: timer2 = (timer2 & 0xFF00) | value; running &= ~2; break;
+            case 0x03: timer2 = (timer2 & 0x00FF) | (value << 8); running |= 2; break;
+            case 0x04: timer3 = (timer3 & 0xFF00) | value; running &= ~4; break;
+            case 0x05: timer3 = (timer3 & 0x00FF) | (value << 8); running |= 4; break;
+            case 0x09: irqFlags &= ~value; break;
+            case 0x1C: line = ((value & 0x01) << 8) | (line & 0xFF); break;
+            case 0x1D: line = (line & 0x100) | value; break;
+            case 0x3E: rom = true; break;
+            case 0x3F: rom = false; break;
+            default:   reg[index] = value; break;
+        }
+    }
+
+    /**
+     * Gets the number of raster lines of the selected video standard.
+     * @return number of raster lines in the frame
+     */
+    private int lines() {
+        return (reg[0x07] & 0x40) != 0 ? NTSC_LINES : PAL_LINES;
+    }
+
+    /**
+     * Sets the address bus seen by the TED.
+     * @param address the address
+     */
+    void address(int address) {
+        this.addressIn = address & 0xFFFF;
+    }
+
+    /**
+     * Sets the data bus seen by the TED.
+     * @param data the data
+     */
+    void data(int data) {
+        this.dataIn = data & 0xFF;
+    }
+
+    /**
+     * Sets the read/write line seen by the TED.
+     * @param read {@code true} if the CPU reads the memory
+     */
+    void rw(boolean read) {
+        this.read = read;
+    }
+
+    /**
+     * Sets the keyboard matrix port.
+     * @param value levels of the keyboard port
+     */
+    void keyboard(int value) {
+        this.keyboard = value & 0xFF;
+    }
+
+    /**
+     * Gets the CPU clock.
+     * @return {@code true} if φ0 is HIGH
+     */
+    boolean phi() {
+        return phi;
+    }
+
+    /**
+     * Gets the row address strobe.
+     * @return {@code true} if RAS is HIGH
+     */
+    boolean ras() {
+        return ras;
+    }
+
+    /**
+     * Gets the column address strobe.
+     * @return {@code true} if CAS is HIGH
+     */
+    boolean cas() {
+        return cas;
+    }
+
+    /**
+     * Gets the RAM multiplexers signal.
+     * @return {@code true} if MUX is HIGH
+     */
+    boolean mux() {
+        return mux;
+    }
+
+    /**
+     * Gets the bus available signal.
+     * @return {@code true} if BA is HIGH
+     */
+    boolean ba() {
+        return ba;
+    }
+
+    /**
+     * Gets the address enable control.
+     * @return {@code true} if AEC is HIGH
+     */
+    boolean aec() {
+        return aec;
+    }
+
+    /**
+     * Gets the low ROM chip select.
+     * @return {@code true} if the chip select is HIGH
+     */
+    boolean cs0() {
+        return cs0;
+    }
+
+    /**
+     * Gets the high ROM chip select.
+     * @return {@code true} if the chip select is HIGH
+     */
+    boolean cs1() {
+        return cs1;
+    }
+
+    /**
+     * Gets the interrupt request line.
+     * @return {@code true} if IRQ is HIGH, i.e. no interrupt is requested
+     */
+    boolean irq() {
+        return (irqFlags & reg[0x0A] & 0x5E) == 0;
+    }
+
+    /**
+     * Checks if the TED drives the address bus.
+     * @return {@code true} if the TED fetches the memory
+     */
+    boolean addressOut() {
+        return addressOut;
+    }
+
+    /**
+     * Gets the address driven by the TED.
+     * @return the fetched address
+     */
+    int addressValue() {
+        return addressValue;
+    }
+
+    /**
+     * Checks if the upper half of the memory is mapped to ROM for the CPU reads.
+     * @return {@code true} if ROM is selected, see the registers $FF3E and $FF3F
+     */
+    boolean rom() {
+        return rom;
+    }
+
+    /**
+     * Checks if the TED drives the data bus.
+     * @return {@code true} if the CPU reads the TED register
+     */
+    boolean dataOut() {
+        return dataOut;
+    }
+
+    /**
+     * Gets the data driven by the TED.
+     * @return value of the read register
+     */
+    int dataValue() {
+        return dataValue;
+    }
+
+    /**
+     * Checks if the last drawn pixel is visible.
+     * @return {@code true} if the pixel is visible
+     */
+    boolean visible() {
+        return visible;
+    }
+
+    /**
+     * Gets the column of the last drawn pixel.
+     * @return column of the pixel
+     */
+    int x() {
+        return x;
+    }
+
+    /**
+     * Gets the row of the last drawn pixel.
+     * @return row of the pixel
+     */
+    int y() {
+        return y;
+    }
+
+    /**
+     * Gets the color of the last drawn pixel.
+     * <br>The color is calculated on demand, so the pixels cost nothing without the frame buffer.
+     *
+     * @return color index of the pixel
+     */
+    int color() {
+        return color(position) & 0x7F;
+    }
+
+    /**
+     * Gets the current raster line.
+     * @return the raster line
+     */
+    int line() {
+        return line;
+    }
+
+    /**
+     * Gets the number of the finished frames.
+     * @return the number of frames
+     */
+    long frames() {
+        return frames;
+    }
+
+    /**
+     * Gets the number of the finished slots.
+     * @return the number of slots
+     */
+    long slots() {
+        return slots;
+    }
+
+    /**
+     * Checks if the single clock mode is forced by the register $FF13.
+     * <br>Otherwise the CPU runs at the double clock rate outside of the fetch windows.
+     *
+     * @return {@code true} if the CPU runs at the single clock rate
+     */
+    boolean singleClock() {
+        return (reg[0x13] & 0x02) != 0;
+    }
+
+    /**
+     * Gets the current slot inside of the raster line.
+     * @return the slot
+     */
+    int slot() {
+        return slot;
+    }
+}
@@ -0,0 +1,67 @@
+package eu.tivian.hardware;
+
+/**
+ * Batch of pin and bus changes, which are seen by the event handlers as one logical change.
+ * <br>Levels and directions changed between {@link #begin()} and {@link #commit()} are applied to the wires
+ * immediately, but the event handlers are only queued. After the outermost transaction is committed,
+ * each affected handler is evaluated once, with all staged changes in place.
+ * <br>Transactions can be nested and don't allocate, so they are cheap enough for the hot path.
+ * <pre>{@code
+ * Transaction t = Transaction.begin();
+ * try {
+ *     rw.level(Pin.Level.HIGH);
+ *     data.direction(Pin.Direction.INPUT);
+ *     address.value(0xFF00);
+ * } finally {
+ *     t.commit();
+ * }
+ * }</pre>
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see DeltaScheduler
+ */
+public final class Transaction {
+    /**
+     * Scheduler keeping the state of the transaction.
+     */
+    private final DeltaScheduler scheduler;
+
+    /**
+     * Transactions are only created by the {@link DeltaScheduler}, one per scheduler.
+     * @param scheduler scheduler keeping the state of the transaction
+     */
+    Transaction(DeltaScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Starts the transaction.
+     * <br>The transaction belongs to the {@link DeltaScheduler} of the current thread.
+     *
+     * @return the transaction to commit
+     */
+    public static Transaction begin() {
+        DeltaScheduler scheduler = DeltaScheduler.current();
+        scheduler.begin();
+        return scheduler.transaction;
+    }
+
+    /**
+     * Checks if any transaction is open on the current thread.
+     * @return {@code true} if the changes are staged
+     */
+    public static boolean active() {
+        return DeltaScheduler.current().held();
+    }
+
+    /**
+     * Commits the transaction.
+     * <br>Committing the outermost transaction notifies the affected event handlers.
+     *
+     * @throws IllegalStateException if the transaction was already committed
+     */
+    public void commit() {
+        scheduler.commit();
+    }
+}
@@ -1,10 +1,14 @@
 package eu.tivian.hardware;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * An implementation of copper wire or PCB trace.
+ * <br>The wire counts its drivers, so the level is resolved without walking through the pins.
+ * Pins are kept in arrays and remember their position, so they can be added, removed or
+ * turned around in constant time.
  *
  * @author Paweł Kania
  * @since 2019-11-06
@@ -12,31 +16,106 @@ import java.util.Set;
  */
 public class Wire {
     /**
-     * List of pins that drive the level of this wire.
+     * Pins connected to the wire, except the power and the ground.
+     * <br>Each pin knows its position in this array.
      */
-    private final Set<Pin> driver = new HashSet<>();
+    private Pin[] pins = new Pin[4];
     /**
-     * List of pins that are changing with the level of this wire.
+     * Number of the connected pins.
      */
-    private final Set<Pin> wired = new HashSet<>();
+    private int count = 0;
+    /**
+     * Connected pins with the event handler, which have to be notified about the change of the level.
+     */
+    private Pin[] listeners = new Pin[4];
+    /**
+     * Number of the connected pins with the event handler.
+     */
+    private int listening = 0;
+    /**
+     * Number of times the wire was connected to {@link Pin#VCC}.
+     */
+    private int supply = 0;
+    /**
+     * Number of times the wire was connected to {@link Pin#GND}.
+     */
+    private int ground = 0;
+
+    /**
+     * Number of pins that drive the level of this wire.
+     */
+    private int drivers = 0;
+    /**
+     * Number of pins that drive this wire with {@link Pin.Level#HIGH}.
+     */
+    private int high = 0;
+    /**
+     * Number of pulled-up pins that don't drive this wire.
+     */
+    private int pulled = 0;
     /**
      * Current level of the wire.
      */
     private Pin.Level level = Pin.Level.LOW;
 
+    /**
+     * Compiled netlist which holds the state of this wire.
+     * <br>{@code null} if the wire is simulated by its own object.
+     */
+    Netlist netlist = null;
+    /**
+     * Index of the net inside of the {@link #netlist}.
+     */
+    int index = -1;
+    /**
+     * Bus net to which the wire belongs, {@code null} if the wire is not a part of any bus net.
+     */
+    BusNet busNet = null;
+    /**
+     * Position of the wire in the {@link #busNet}.
+     */
+    int bit = -1;
+
     /**
      * Connects the pin to the wire.
+     * <br>If the pin was connected to another wire, it's moved.
+     *
      * @param pin the pin to connect
      */
     public void connect(Pin pin) {
+        if (netlist != null)
+            netlist.release();
+
+        if (pin == Pin.VCC || pin == Pin.GND) {
+            pin.connect(this);
+            if (pin == Pin.VCC)
+                supply++;
+            else
+                ground++;
+            drivers++;
+            high += pin == Pin.VCC ? 1 : 0;
+            update(true);
+            return;
+        }
+
+        Wire old = pin.wire();
+        if (old == this)
+            return;
+        else if (old != null)
+            old.disconnect(pin);
+
         pin.connect(this);
+        if (count == pins.length)
+            pins = Arrays.copyOf(pins, count << 1);
+        pin.slot = count;
+        pins[count++] = pin;
+        listen(pin);
+        account(pin, pin.direction(), 1);
 
         if (pin.direction() == Pin.Direction.OUTPUT) {
-            driver.add(pin);
-            update(pin);
+            update(true);
         } else {
-            wired.add(pin);
-            update();
+            update(false);
             pin.update(this);
         }
     }
@@ -46,12 +125,35 @@ public class Wire {
      * @param pin the pin to disconnect
      */
     public void disconnect(Pin pin) {
-        if (pin.direction() == Pin.Direction.OUTPUT) {
-            driver.remove(pin);
-            update(pin);
-        } else {
-            wired.remove(pin);
+        if (netlist != null)
+            netlist.release();
+
+        if (pin == Pin.VCC || pin == Pin.GND) {
+            if (pin == Pin.VCC ? supply == 0 : ground == 0)
+                return;
+            if (pin == Pin.VCC)
+                supply--;
+            else
+                ground--;
+            drivers--;
+            high -= pin == Pin.VCC ? 1 : 0;
+            update(true);
+            return;
         }
+
+        int slot = pin.slot;
+        if (slot < 0 || slot >= count || pins[slot] != pin)
+            return;
+
+        pins[slot] = pins[--count];
+        pins[slot].slot = slot;
+        pins[count] = null;
+        pin.slot = -1;
+        if (busNet != null)
+            busNet.dissolve();
+        unlisten(pin);
+        account(pin, pin.direction(), -1);
+        update(pin.direction() == Pin.Direction.OUTPUT);
     }
 
     /**
@@ -59,76 +161,151 @@ public class Wire {
      * @return the logical level of the wire
      */
     public Pin.Level level() {
+        if (netlist != null)
+            return netlist.net(index) ? Pin.Level.HIGH : Pin.Level.LOW;
+
         return level;
     }
 
     /**
-     * Recalculates the level of the wire.
+     * Gets all pins connected to the wire.
+     * @return list of the connected pins, including the power and the ground
      */
-    private void update() {
-        Pin.Level newLevel = Pin.Level.LOW;
-        if (driver.size() == 0) {
-            for (Pin p : wired) {
-                if (p.isPulled()) {
-                    newLevel = Pin.Level.HIGH;
-                    break;
-                }
-            }
-        } else {
-            for (Pin p : driver) {
-                if (p.level() == Pin.Level.HIGH) {
-                    newLevel = Pin.Level.HIGH;
-                    break;
-                }
-            }
+    List<Pin> pins() {
+        List<Pin> list = new ArrayList<>(Arrays.asList(pins).subList(0, count));
+        for (int i = 0; i < supply; i++)
+            list.add(Pin.VCC);
+        for (int i = 0; i < ground; i++)
+            list.add(Pin.GND);
+        return list;
+    }
+
+    /**
+     * Recounts the drivers and recalculates the level of the wire, without firing any events.
+     */
+    void refresh() {
+        drivers = supply + ground;
+        high = supply;
+        pulled = 0;
+        for (int i = 0; i < count; i++)
+            account(pins[i], pins[i].direction(), 1);
+
+        resolve();
+        if (busNet != null)
+            busNet.level(bit, level == Pin.Level.HIGH);
+    }
+
+    /**
+     * Adds or removes the pin from the list of notified pins according to its event handler.
+     * @param pin the pin which changed its event handler
+     */
+    void listen(Pin pin) {
+        if (pin.handler >= 0 && pin.listener < 0) {
+            if (listening == listeners.length)
+                listeners = Arrays.copyOf(listeners, listening << 1);
+            pin.listener = listening;
+            listeners[listening++] = pin;
+        } else if (pin.handler < 0) {
+            unlisten(pin);
         }
+    }
+
+    /**
+     * Removes the pin from the list of notified pins.
+     * @param pin the pin to remove
+     */
+    private void unlisten(Pin pin) {
+        int slot = pin.listener;
+        if (slot < 0)
+            return;
+
+        listeners[slot] = listeners[--listening];
+        listeners[slot].listener = slot;
+        listeners[listening] = null;
+        pin.listener = -1;
+    }
+
+    /**
+     * Adds or removes the contribution of the pin to the counters.
+     *
+     * @param pin the pin to count
+     * @param direction direction of the pin
+     * @param sign {@code 1} to add or {@code -1} to remove
+     */
+    private void account(Pin pin, Pin.Direction direction, int sign) {
+        if (direction == Pin.Direction.OUTPUT) {
+            drivers += sign;
+            if (pin.level == Pin.Level.HIGH)
+                high += sign;
+        } else if (pin.isPulled()) {
+            pulled += sign;
+        }
+    }
+
+    /**
+     * Recalculates the level of the wire.
+     * @return {@code true} if the level changed
+     */
+    private boolean resolve() {
+        Pin.Level newLevel = (drivers > 0 ? high > 0 : pulled > 0) ? Pin.Level.HIGH : Pin.Level.LOW;
+        if (newLevel == level)
+            return false;
 
         level = newLevel;
-        /*level = ((driver.size() == 0)
-            ? (wired.stream().anyMatch(Pin::isPulled))
-            : driver.stream().map(p -> p.level().bool()).reduce(false, (sum, lvl) -> sum | lvl))
-                ? Pin.Level.HIGH : Pin.Level.LOW;*/
+        return true;
     }
 
     /**
-     * Updates the level of the wire.
+     * Recalculates the level of the wire and notifies the pins if it changed.
+     * @param notify {@code false} if the pins shouldn't be notified
+     */
+    private void update(boolean notify) {
+        boolean changed = resolve();
+        if (busNet != null) {
+            if (changed && notify)
+                busNet.change(bit, level == Pin.Level.HIGH);
+            else if (changed)
+                busNet.level(bit, level == Pin.Level.HIGH);
+        }
+
+        if (changed && notify) {
+            for (int i = 0; i < listening; i++)
+                listeners[i].update(this);
+        }
+    }
+
+    /**
+     * Updates the level of the wire after the output pin changed its level.
+     * @param notifier the pin which called this function
+     */
+    void drive(Pin notifier) {
+        high += notifier.level == Pin.Level.HIGH ? 1 : -1;
+        update(true);
+    }
+
+    /**
+     * Updates the level of the wire after the pin changed its pull-up.
      * @param notifier the pin which called this function
      */
     void update(Pin notifier) {
-        //if (notifier == null)
-            //return;
-
-        /*if (driver.contains(notifier) && notifier.direction() != Pin.Direction.OUTPUT) {
-            driver.remove(notifier);
-            wired.add(notifier);
-        } else if (wired.contains(notifier) && notifier.direction() == Pin.Direction.OUTPUT) {
-            wired.remove(notifier);
-            driver.add(notifier);
-        }*/
-
-        update();
-        if (!wired.isEmpty()) {
-            for (Pin p : wired)
-                p.update(this);
+        if (notifier.direction() != Pin.Direction.OUTPUT) {
+            pulled += notifier.isPulled() ? 1 : -1;
+            update(true);
+            notifier.update(this);
         }
     }
 
     /**
-     * Updates the level of the wire and rearranges the list of wire drivers.
+     * Updates the level of the wire and the counters of the drivers.
      *
      * @param notifier the pin which called this function
-     * @param direction new direction of the callee
-     */
-    void update(Pin notifier, Pin.Direction direction) {
-        if (driver.contains(notifier) && notifier.direction() != Pin.Direction.OUTPUT) {
-            driver.remove(notifier);
-            wired.add(notifier);
-        } else if (wired.contains(notifier) && notifier.direction() == Pin.Direction.OUTPUT) {
-            wired.remove(notifier);
-            driver.add(notifier);
-        }
-
-        update(notifier);
+     * @param old previous direction of the callee
+     */
+    void update(Pin notifier, Pin.Direction old) {
+        account(notifier, old, -1);
+        account(notifier, notifier.direction(), 1);
+        update(true);
+        notifier.update(this);
     }
 
     /**
@@ -137,6 +314,6 @@ public class Wire {
      */
     @Override
     public String toString() {
-        return level.toString();
+        return level().toString();
     }
 }
@@ -9,7 +9,17 @@ import eu.tivian.hardware.Pin;
  * @since 2019-11-06
  * @see IC74LS257
  */
-public class DualMux {
+public class DualMux extends TruthTableChip {
+    /**
+     * Truth table of the non-inverting multiplexer.
+     * <br>The index is formed by {@link #inputA}, {@link #inputB}, {@link #enable} and {@link #select} pins.
+     */
+    private static final byte[] TABLE = table(4, i -> (i & 8) == 0 ? i & 1 : (i >> 1) & 1);
+    /**
+     * The output is in HI-Z state while the {@link #enable} pin is HIGH.
+     */
+    private static final byte[] HI_Z = table(4, i -> (i >> 2) & 1);
+
     /**
      * Chosen when {@link #enable} and {@link #select} pins are held LOW.
      */
@@ -69,6 +79,7 @@ public class DualMux {
      * @throws NullPointerException if {@code enable} or {@code select} are null
      */
     public DualMux(Pin enable, Pin select, boolean selfChange, boolean inverting) {
+        super(TABLE, HI_Z);
         if (enable == null)
             throw new NullPointerException("Enable pin must be specified!");
         else if (select == null)
@@ -77,13 +88,15 @@ public class DualMux {
         this.enable = enable;
         this.select = select;
         this.inverting = inverting;
+        pins(new Pin[] { inputA, inputB, enable, select }, new Pin[] { output });
 
-        inputA.onChange(this::update);
-        inputB.onChange(this::update);
+        Runnable update = this::update;
+        inputA.onChange(update);
+        inputB.onChange(update);
 
         if (selfChange) {
-            enable.onChange(this::update);
-            select.onChange(this::update);
+            enable.onChange(update);
+            select.onChange(update);
         }
     }
 
@@ -93,15 +106,37 @@ public class DualMux {
      * @see #enable
      * @see #select
      */
-    void update() {
-        if (enable.level() == Pin.Level.HIGH) {
-            output.direction(Pin.Direction.HI_Z);
-        } else {
-            output.direction(Pin.Direction.OUTPUT);
-
-            Pin subject = select.level() == Pin.Level.LOW ? inputA : inputB;
-            output.level(inverting != subject.level().bool()); // logical XOR
-        }
+    @Override
+    protected void update() {
+        int index = index();
+        apply(levels(index) ^ (inverting ? 1 : 0), hiZ(index)); // logical XOR
+    }
+
+    /**
+     * Evaluates the multiplexer for {@value Lanes#COUNT} instances at once.
+     * <br>The output is LOW in the lanes where it's in HI-Z state, like in the truth table.
+     *
+     * @param inputs levels of {@link #inputA}, {@link #inputB}, {@link #enable} and {@link #select} pins
+     * @param outputs receives the levels of the output
+     * @throws IllegalArgumentException if the number of the inputs is not 4 or the output array is empty
+     */
+    @Override
+    public void evaluate(long[] inputs, long[] outputs) {
+        check(inputs, outputs);
+        outputs[0] = Lanes.mux(inputs[0], inputs[1], inputs[3], inverting) & Lanes.drive(inputs[2], false);
+    }
+
+    /**
+     * Finds the lanes where the output is in HI-Z state, that is where the {@link #enable} pin is HIGH.
+     *
+     * @param inputs levels of {@link #inputA}, {@link #inputB}, {@link #enable} and {@link #select} pins
+     * @param outputs receives the lanes where the output is in HI-Z state
+     * @throws IllegalArgumentException if the number of the inputs is not 4 or the output array is empty
+     */
+    @Override
+    public void disconnected(long[] inputs, long[] outputs) {
+        check(inputs, outputs);
+        outputs[0] = ~Lanes.drive(inputs[2], false);
     }
 
     /**
@@ -41,8 +41,9 @@ public class IC74LS257 {
             temp.add(new DualMux(enable, select));
         mux = Collections.unmodifiableList(temp);
 
-        enable.onChange(() -> mux.forEach(DualMux::update));
-        select.onChange(() -> mux.forEach(DualMux::update));
+        Runnable update = () -> mux.forEach(DualMux::update);
+        enable.onChange(update);
+        select.onChange(update);
     }
 
     /**
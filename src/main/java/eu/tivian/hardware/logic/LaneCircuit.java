@@ -0,0 +1,431 @@
+package eu.tivian.hardware.logic;
+
+import eu.tivian.hardware.Pin;
+import eu.tivian.hardware.Wire;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gate-level circuit evaluated for {@value Lanes#COUNT} instances at once.
+ * <br>The circuit is read from the wired parts: every {@link Wire} of their pins, or the pin itself if it
+ * isn't connected, becomes a net carrying one {@code long}, each bit being the level in one instance.
+ * The parts drive the nets like the pins do, and each net is resolved from its drivers and the pull-ups
+ * of the input pins by {@link Lanes#resolve(long[], long[], long)}.
+ * <br>The parts themselves aren't changed, so the same wiring can still be simulated through the pins.
+ * The power supply isn't seen by the circuit, the nets tied to it must be driven by {@link #drive(Pin, long)}.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see Lanes
+ */
+public final class LaneCircuit {
+    /**
+     * Chip described by its truth table.
+     */
+    private static final class Chip {
+        /**
+         * The chip.
+         */
+        final TruthTableChip chip;
+        /**
+         * Nets of the input pins.
+         */
+        final int[] inputs;
+        /**
+         * Driver slots of the output pins.
+         */
+        final int[] outputs;
+        /**
+         * Levels of the input pins, reused by every pass.
+         */
+        final long[] in;
+        /**
+         * Levels of the output pins, reused by every pass.
+         */
+        final long[] out;
+        /**
+         * Lanes where the output pins are in HI-Z state, reused by every pass.
+         */
+        final long[] off;
+
+        /**
+         * Initializes the chip.
+         *
+         * @param chip the chip
+         * @param inputs nets of the input pins
+         * @param outputs driver slots of the output pins
+         */
+        Chip(TruthTableChip chip, int[] inputs, int[] outputs) {
+            this.chip = chip;
+            this.inputs = inputs;
+            this.outputs = outputs;
+            this.in = new long[inputs.length];
+            this.out = new long[outputs.length];
+            this.off = new long[outputs.length];
+        }
+    }
+
+    /**
+     * Tri-state gate.
+     */
+    private static final class Buffer {
+        /**
+         * Net of the input pin.
+         */
+        final int input;
+        /**
+         * Net of the enable pin.
+         */
+        final int enable;
+        /**
+         * Driver slot of the output pin.
+         */
+        final int output;
+        /**
+         * {@code true} if the output is driven while the enable pin is HIGH.
+         */
+        final boolean inverting;
+
+        /**
+         * Initializes the gate.
+         *
+         * @param input net of the input pin
+         * @param enable net of the enable pin
+         * @param output driver slot of the output pin
+         * @param inverting {@code true} if the output is driven while the enable pin is HIGH
+         */
+        Buffer(int input, int enable, int output, boolean inverting) {
+            this.input = input;
+            this.enable = enable;
+            this.output = output;
+            this.inverting = inverting;
+        }
+    }
+
+    /**
+     * D flip-flop.
+     */
+    private static final class Latch {
+        /**
+         * Net of the input pin.
+         */
+        final int input;
+        /**
+         * Net of the clock pin.
+         */
+        final int clock;
+        /**
+         * Net of the reset pin.
+         */
+        final int reset;
+        /**
+         * Driver slot of the output pin.
+         */
+        final int output;
+        /**
+         * Driver slot of the reverse output pin.
+         */
+        final int revOut;
+        /**
+         * Latched levels.
+         */
+        long state = Lanes.LOW;
+        /**
+         * Levels of the clock seen by the last latch.
+         */
+        long previous = Lanes.LOW;
+
+        /**
+         * Initializes the flip-flop.
+         *
+         * @param input net of the input pin
+         * @param clock net of the clock pin
+         * @param reset net of the reset pin
+         * @param output driver slot of the output pin
+         * @param revOut driver slot of the reverse output pin
+         */
+        Latch(int input, int clock, int reset, int output, int revOut) {
+            this.input = input;
+            this.clock = clock;
+            this.reset = reset;
+            this.output = output;
+            this.revOut = revOut;
+        }
+    }
+
+    /**
+     * Nets of the circuit, indexed by their wires or the unconnected pins.
+     */
+    private final Map<Object, Integer> index = new IdentityHashMap<>();
+    /**
+     * Combinational chips.
+     */
+    private final List<Chip> chips = new ArrayList<>();
+    /**
+     * Tri-state gates.
+     */
+    private final List<Buffer> buffers = new ArrayList<>();
+    /**
+     * Flip-flops.
+     */
+    private final List<Latch> latches = new ArrayList<>();
+    /**
+     * Levels of the nets.
+     */
+    private final long[] nets;
+    /**
+     * Lanes where the nets have a pull-up.
+     */
+    private final long[] pulled;
+    /**
+     * First driver slot of each net, the last entry being the number of the slots.
+     * <br>The first slot of each net is taken by the {@link #drive(Pin, long)}.
+     */
+    private final int[] first;
+    /**
+     * Lanes where each driver drives its net.
+     */
+    private final long[] drives;
+    /**
+     * Levels of each driver.
+     */
+    private final long[] levels;
+
+    /**
+     * Reads the circuit from the wired parts.
+     * <br>The parts can be {@link TruthTableChip}s, {@link TriState} gates and {@link DFlipFlop}s.
+     * The circuit starts settled with the flip-flops cleared and no net driven from the outside.
+     *
+     * @param parts the parts of the circuit
+     * @throws NullPointerException if any of the parts is null
+     * @throws IllegalArgumentException if the part can't be evaluated in lanes
+     */
+    public LaneCircuit(Object... parts) {
+        List<Pin> inputs = new ArrayList<>();
+        List<Pin> outputs = new ArrayList<>();
+        for (Object part : parts) {
+            if (part == null) {
+                throw new NullPointerException("Part must be specified!");
+            } else if (part instanceof TruthTableChip) {
+                TruthTableChip chip = (TruthTableChip) part;
+                inputs.addAll(Arrays.asList(chip.inputs()));
+                outputs.addAll(Arrays.asList(chip.outputs()));
+            } else if (part instanceof TriState) {
+                TriState buffer = (TriState) part;
+                inputs.add(buffer.input);
+                inputs.add(buffer.enable);
+                outputs.add(buffer.output);
+            } else if (part instanceof DFlipFlop) {
+                DFlipFlop flipFlop = (DFlipFlop) part;
+                inputs.add(flipFlop.input);
+                inputs.add(flipFlop.clock);
+                inputs.add(flipFlop.reset);
+                outputs.add(flipFlop.output);
+                outputs.add(flipFlop.revOut);
+            } else {
+                throw new IllegalArgumentException(part.getClass().getSimpleName() + " can't be evaluated in lanes!");
+            }
+        }
+
+        for (Pin pin : inputs)
+            net(pin);
+        for (Pin pin : outputs)
+            net(pin);
+
+        nets = new long[index.size()];
+        pulled = new long[index.size()];
+        for (Pin pin : inputs)
+            pulled[net(pin)] |= Lanes.of(pin.isPulled());
+
+        first = new int[index.size() + 1];
+        for (Pin pin : outputs)
+            first[net(pin) + 1]++;
+        for (int i = 0; i < nets.length; i++)
+            first[i + 1] += first[i] + 1;
+        drives = new long[first[nets.length]];
+        levels = new long[drives.length];
+
+        int[] next = new int[nets.length];
+        for (int i = 0; i < nets.length; i++)
+            next[i] = first[i] + 1;
+        for (Object part : parts) {
+            if (part instanceof TruthTableChip) {
+                TruthTableChip chip = (TruthTableChip) part;
+                int[] in = new int[chip.inputs().length];
+                int[] out = new int[chip.outputs().length];
+                for (int i = 0; i < in.length; i++)
+                    in[i] = net(chip.inputs()[i]);
+                for (int i = 0; i < out.length; i++)
+                    out[i] = next[net(chip.outputs()[i])]++;
+                chips.add(new Chip(chip, in, out));
+            } else if (part instanceof TriState) {
+                TriState buffer = (TriState) part;
+                buffers.add(new Buffer(net(buffer.input), net(buffer.enable),
+                    next[net(buffer.output)]++, buffer.inverting));
+            } else {
+                DFlipFlop flipFlop = (DFlipFlop) part;
+                latches.add(new Latch(net(flipFlop.input), net(flipFlop.clock), net(flipFlop.reset),
+                    next[net(flipFlop.output)]++, next[net(flipFlop.revOut)]++));
+            }
+        }
+
+        propagate();
+        for (Latch latch : latches)
+            latch.previous = nets[latch.clock];
+    }
+
+    /**
+     * Finds the net of the pin, adding it if needed.
+     *
+     * @param pin the pin
+     * @return index of the net
+     */
+    private int net(Pin pin) {
+        Object key = pin.wire() != null ? pin.wire() : pin;
+        return index.computeIfAbsent(key, k -> index.size());
+    }
+
+    /**
+     * Finds the net of the pin.
+     *
+     * @param pin the pin
+     * @return index of the net
+     * @throws NullPointerException if {@code pin} is null
+     * @throws IllegalArgumentException if the pin isn't connected to the circuit
+     */
+    private int find(Pin pin) {
+        if (pin == null)
+            throw new NullPointerException("Pin must be specified!");
+
+        Integer net = index.get(pin.wire() != null ? pin.wire() : pin);
+        if (net == null)
+            throw new IllegalArgumentException("Pin " + pin + " isn't connected to the circuit!");
+        return net;
+    }
+
+    /**
+     * Drives the net of the pin from the outside of the circuit, like an output pin.
+     * <br>The change takes effect at the next {@link #settle()}.
+     *
+     * @param pin any pin connected to the net
+     * @param levels levels of the net
+     * @throws NullPointerException if {@code pin} is null
+     * @throws IllegalArgumentException if the pin isn't connected to the circuit
+     */
+    public void drive(Pin pin, long levels) {
+        int net = find(pin);
+        this.drives[first[net]] = Lanes.HIGH;
+        this.levels[first[net]] = levels;
+    }
+
+    /**
+     * Stops driving the net of the pin from the outside of the circuit.
+     * <br>The change takes effect at the next {@link #settle()}.
+     *
+     * @param pin any pin connected to the net
+     * @throws NullPointerException if {@code pin} is null
+     * @throws IllegalArgumentException if the pin isn't connected to the circuit
+     */
+    public void release(Pin pin) {
+        int net = find(pin);
+        this.drives[first[net]] = Lanes.LOW;
+        this.levels[first[net]] = Lanes.LOW;
+    }
+
+    /**
+     * Reads the levels of the net of the pin.
+     *
+     * @param pin any pin connected to the net
+     * @return levels of the net
+     * @throws NullPointerException if {@code pin} is null
+     * @throws IllegalArgumentException if the pin isn't connected to the circuit
+     */
+    public long level(Pin pin) {
+        return nets[find(pin)];
+    }
+
+    /**
+     * Evaluates the circuit until the nets don't change.
+     * <br>The nets are settled first, then the flip-flops latch at the rising edges of their clocks,
+     * and the nets are settled again if any of them changed.
+     *
+     * @throws IllegalStateException if the circuit oscillates
+     */
+    public void settle() {
+        for (int i = 0; i <= latches.size(); i++) {
+            propagate();
+            if (!latch())
+                return;
+        }
+        throw new IllegalStateException("Circuit doesn't settle!");
+    }
+
+    /**
+     * Evaluates the combinational parts until the nets don't change.
+     * @throws IllegalStateException if the circuit oscillates
+     */
+    private void propagate() {
+        for (int i = 0; i <= chips.size() + buffers.size() + 1; i++) {
+            if (!evaluate())
+                return;
+        }
+        throw new IllegalStateException("Circuit doesn't settle!");
+    }
+
+    /**
+     * Evaluates every part once, with the levels of the nets from the previous pass.
+     * @return {@code true} if any net changed
+     */
+    private boolean evaluate() {
+        for (Chip chip : chips) {
+            for (int i = 0; i < chip.in.length; i++)
+                chip.in[i] = nets[chip.inputs[i]];
+
+            chip.chip.evaluate(chip.in, chip.out);
+            chip.chip.disconnected(chip.in, chip.off);
+            for (int i = 0; i < chip.out.length; i++) {
+                drives[chip.outputs[i]] = ~chip.off[i];
+                levels[chip.outputs[i]] = chip.out[i];
+            }
+        }
+
+        for (Buffer buffer : buffers) {
+            drives[buffer.output] = Lanes.drive(nets[buffer.enable], buffer.inverting);
+            levels[buffer.output] = nets[buffer.input];
+        }
+
+        for (Latch latch : latches) {
+            drives[latch.output] = drives[latch.revOut] = Lanes.HIGH;
+            levels[latch.output] = latch.state;
+            levels[latch.revOut] = ~latch.state;
+        }
+
+        boolean changed = false;
+        for (int net = 0; net < nets.length; net++) {
+            long level = Lanes.resolve(drives, levels, first[net], first[net + 1], pulled[net]);
+            changed |= level != nets[net];
+            nets[net] = level;
+        }
+        return changed;
+    }
+
+    /**
+     * Latches the flip-flops at the rising edges of their clocks.
+     * @return {@code true} if any flip-flop changed
+     */
+    private boolean latch() {
+        boolean changed = false;
+        for (Latch latch : latches) {
+            long clock = nets[latch.clock];
+            long state = Lanes.latch(latch.state, nets[latch.input], latch.previous, clock, nets[latch.reset]);
+            changed |= state != latch.state;
+            latch.state = state;
+            latch.previous = clock;
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,186 @@
+package eu.tivian.hardware.logic;
+
+/**
+ * Bit-sliced evaluation of the logic primitives.
+ * <br>Each bit of a {@code long} is the level of the same net in one of {@value #COUNT} independent
+ * instances of the circuit, so every gate is evaluated once for all of them with the bitwise operators.
+ * A HI-Z output is described by a second {@code long}, which holds the lanes where the pin drives the net.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see TruthTableChip#evaluate(long[])
+ */
+public final class Lanes {
+    /**
+     * Number of the instances evaluated at once.
+     */
+    public static final int COUNT = Long.SIZE;
+    /**
+     * All lanes at HIGH level.
+     */
+    public static final long HIGH = -1L;
+    /**
+     * All lanes at LOW level.
+     */
+    public static final long LOW = 0L;
+
+    /**
+     * Utility class.
+     */
+    private Lanes() { }
+
+    /**
+     * Spreads the single level to all lanes.
+     *
+     * @param level the level
+     * @return {@link #HIGH} or {@link #LOW}
+     */
+    public static long of(boolean level) {
+        return level ? HIGH : LOW;
+    }
+
+    /**
+     * Reads the level of the single lane.
+     *
+     * @param lanes levels of all lanes
+     * @param lane index of the lane
+     * @return {@code true} if the lane is at HIGH level
+     * @throws IndexOutOfBoundsException if there's no such lane
+     */
+    public static boolean get(long lanes, int lane) {
+        return ((lanes >>> check(lane)) & 1) != 0;
+    }
+
+    /**
+     * Changes the level of the single lane.
+     *
+     * @param lanes levels of all lanes
+     * @param lane index of the lane
+     * @param level new level of the lane
+     * @return levels of all lanes
+     * @throws IndexOutOfBoundsException if there's no such lane
+     */
+    public static long set(long lanes, int lane, boolean level) {
+        long mask = 1L << check(lane);
+        return level ? lanes | mask : lanes & ~mask;
+    }
+
+    /**
+     * Checks the index of the lane.
+     *
+     * @param lane index of the lane
+     * @return the index
+     * @throws IndexOutOfBoundsException if there's no such lane
+     */
+    private static int check(int lane) {
+        if (lane < 0 || lane >= COUNT)
+            throw new IndexOutOfBoundsException("Lane " + lane + " is out of range!");
+        return lane;
+    }
+
+    /**
+     * Evaluates the logic gate.
+     *
+     * @param type type of the gate
+     * @param a levels of the first input
+     * @param b levels of the second input, ignored by the <b>NOT</b> gate
+     * @return levels of the output
+     * @see LogicGate
+     */
+    public static long gate(LogicGate.Type type, long a, long b) {
+        switch (type) {
+            case NOT:  return ~a;
+            case NAND: return ~(a & b);
+            case NOR:  return ~(a | b);
+            case AND:  return a & b;
+            case OR:   return a | b;
+            case XOR:  return a ^ b;
+            default:   return ~(a ^ b);
+        }
+    }
+
+    /**
+     * Evaluates the multiplexer.
+     * <br>The enable signal isn't taken into account, the lanes with the driven output are found by
+     * {@link #drive(long, boolean)}.
+     *
+     * @param a levels chosen while the select signal is LOW
+     * @param b levels chosen while the select signal is HIGH
+     * @param select levels of the select signal
+     * @param inverting {@code true} if the output is inverted
+     * @return levels of the output
+     * @see DualMux
+     */
+    public static long mux(long a, long b, long select, boolean inverting) {
+        long output = (a & ~select) | (b & select);
+        return inverting ? ~output : output;
+    }
+
+    /**
+     * Finds the lanes where the tri-state output is driven.
+     *
+     * @param enable levels of the enable signal
+     * @param inverting {@code true} if the output is driven while the enable signal is HIGH
+     * @return lanes with the driven output
+     * @see TriState
+     */
+    public static long drive(long enable, boolean inverting) {
+        return inverting ? enable : ~enable;
+    }
+
+    /**
+     * Evaluates the D flip-flop.
+     * <br>The input is latched at the LOW to HIGH transition of the clock, and the output is cleared
+     * while the reset is held LOW.
+     *
+     * @param output current levels of the output
+     * @param input levels of the input
+     * @param previous levels of the clock before the change
+     * @param clock levels of the clock
+     * @param reset levels of the reset signal
+     * @return new levels of the output, the reverse output being its complement
+     * @see DFlipFlop
+     */
+    public static long latch(long output, long input, long previous, long clock, long reset) {
+        long rising = clock & ~previous;
+        return ((input & rising) | (output & ~rising)) & reset;
+    }
+
+    /**
+     * Resolves the level of the wire.
+     * <br>The wire is HIGH if any of its drivers is HIGH, and it's pulled up if nothing drives it,
+     * like {@link eu.tivian.hardware.Wire}.
+     *
+     * @param drives lanes where each of the pins drives the wire
+     * @param levels levels of each of the pins
+     * @param pulled lanes where the wire has a pull-up
+     * @return levels of the wire
+     * @throws IllegalArgumentException if the arrays have different lengths
+     */
+    public static long resolve(long[] drives, long[] levels, long pulled) {
+        if (drives.length != levels.length)
+            throw new IllegalArgumentException("Each driver needs its levels!");
+
+        return resolve(drives, levels, 0, drives.length, pulled);
+    }
+
+    /**
+     * Resolves the level of the wire driven by the range of the pins.
+     * <br>Used by the {@link LaneCircuit}, which keeps the drivers of each wire next to each other.
+     *
+     * @param drives lanes where each of the pins drives the wire
+     * @param levels levels of each of the pins
+     * @param from index of the first driver
+     * @param to index after the last driver
+     * @param pulled lanes where the wire has a pull-up
+     * @return levels of the wire
+     */
+    static long resolve(long[] drives, long[] levels, int from, int to, long pulled) {
+        long driven = LOW, high = LOW;
+        for (int i = from; i < to; i++) {
+            driven |= drives[i];
+            high |= drives[i] & levels[i];
+        }
+        return high | (pulled & ~driven);
+    }
+}
@@ -43,7 +43,7 @@ import eu.tivian.hardware.Pin;
  * @see IC74LS02
  * @see IC7406
  */
-public class LogicGate {
+public class LogicGate extends TruthTableChip {
     /**
      * Available types of the logic gate.
      */
@@ -84,6 +84,29 @@ public class LogicGate {
         XNOR
     }
 
+    /**
+     * Truth tables of the logic gates, indexed by the {@link Type}.
+     * <br>Input A is the first bit of the index, input B the second one.
+     */
+    private static final byte[][] TABLES = new byte[Type.values().length][];
+
+    static {
+        for (Type type : Type.values()) {
+            TABLES[type.ordinal()] = table(2, i -> {
+                boolean a = (i & 1) != 0, b = (i & 2) != 0;
+                switch (type) {
+                    case NOT:  return !a      ? 1 : 0;
+                    case NAND: return !(a && b) ? 1 : 0;
+                    case NOR:  return !(a || b) ? 1 : 0;
+                    case AND:  return a && b  ? 1 : 0;
+                    case OR:   return a || b  ? 1 : 0;
+                    case XOR:  return a != b  ? 1 : 0;
+                    default:   return a == b  ? 1 : 0;
+                }
+            });
+        }
+    }
+
     /**
      * Type of the logic gate.
      */
@@ -124,6 +147,7 @@ public class LogicGate {
      * @param type selects the logic gate type
      */
     public LogicGate(String name, Type type) {
+        super(TABLES[type.ordinal()], null);
         this.name = name;
         this.type = type;
         if (type != Type.NOT) {
@@ -134,39 +158,25 @@ public class LogicGate {
         }
 
         this.output = new Pin(name + " output", Pin.Direction.OUTPUT);
+        pins(new Pin[] { inputA, inputB }, new Pin[] { output });
 
-        inputA.onChange(this::update);
-        inputB.onChange(this::update);
+        Runnable update = this::update;
+        inputA.onChange(update);
+        inputB.onChange(update);
         update();
     }
 
     /**
-     * Updates the gate {@link #output} according to the levels on input pins.
+     * Evaluates the logic gate for {@value Lanes#COUNT} instances at once.
+     *
+     * @param inputs levels of {@link #inputA} and {@link #inputB} pins
+     * @param outputs receives the levels of the output
+     * @throws IllegalArgumentException if the number of the inputs is not 2 or the output array is empty
      */
-    private void update() {
-        switch (type) {
-            case NOT:
-                output.level(!inputA.level().bool());
-                break;
-            case NAND:
-                output.level(!(inputA.level().bool() && inputB.level().bool()));
-                break;
-            case NOR:
-                output.level(!(inputA.level().bool() || inputB.level().bool()));
-                break;
-            case AND:
-                output.level(inputA.level().bool() && inputB.level().bool());
-                break;
-            case OR:
-                output.level(inputA.level().bool() || inputB.level().bool());
-                break;
-            case XOR:
-                output.level(inputA.level() != inputB.level());
-                break;
-            case XNOR:
-                output.level(inputA.level() == inputB.level());
-                break;
-        }
+    @Override
+    public void evaluate(long[] inputs, long[] outputs) {
+        check(inputs, outputs);
+        outputs[0] = Lanes.gate(type, inputs[0], inputs[1]);
     }
 
     /**
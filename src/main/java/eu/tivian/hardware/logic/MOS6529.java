@@ -33,10 +33,12 @@ public class MOS6529 {
      * Initializes chip logic and sets initial state of the pins.
      */
     public MOS6529() {
-        cs.onChange(this::enable);
-        rw.onChange(this::enable);
-        data.onChange(this::update);
-        port.onChange(this::update);
+        Runnable enable = this::enable;
+        Runnable update = this::update;
+        cs.onChange(enable);
+        rw.onChange(enable);
+        data.onChange(update);
+        port.onChange(update);
 
         enable();
     }
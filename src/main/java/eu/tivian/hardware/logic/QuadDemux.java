@@ -9,7 +9,19 @@ import eu.tivian.hardware.Pin;
  * @since 2019-11-06
  * @see IC74LS139
  */
-public class QuadDemux {
+public class QuadDemux extends TruthTableChip {
+    /**
+     * Truth table of the demultiplexer.
+     * <br>The index is formed by {@link #enable}, {@link #A0} and {@link #A1} pins, the entries by the outputs.
+     */
+    private static final byte[] TABLE = table(3, i -> {
+        boolean e = (i & 1) != 0, a0 = (i & 2) != 0, a1 = (i & 4) != 0;
+        return (e || e != a0 || e != a1 ? 1 : 0)
+            | (e || e == a0 || e != a1 ? 2 : 0)
+            | (e || e != a0 || e == a1 ? 4 : 0)
+            | (e || e == a0 || e == a1 ? 8 : 0);
+    });
+
     /**
      * When HIGH all output pins are held HIGH.
      * Equivalent of chip select pin.
@@ -48,24 +60,13 @@ public class QuadDemux {
      * Initializes the demultiplexer logic and sets initial state of outputs.
      */
     public QuadDemux() {
-        enable.onChange(this::update);
-        A0.onChange(this::update);
-        A1.onChange(this::update);
-        update();
-    }
+        super(TABLE, null);
+        pins(new Pin[] { enable, A0, A1 }, new Pin[] { O0, O1, O2, O3 });
 
-    /**
-     * Changes output pins according state of the {@link #enable} pin and input pins.
-     *
-     * @see #O0
-     * @see #O1
-     * @see #O2
-     * @see #O3
-     */
-    private void update() {
-        O0.level(enable.level() != Pin.Level.LOW || enable.level() != A0.level() || enable.level() != A1.level());
-        O1.level(enable.level() != Pin.Level.LOW || enable.level() == A0.level() || enable.level() != A1.level());
-        O2.level(enable.level() != Pin.Level.LOW || enable.level() != A0.level() || enable.level() == A1.level());
-        O3.level(enable.level() != Pin.Level.LOW || enable.level() == A0.level() || enable.level() == A1.level());
+        Runnable update = this::update;
+        enable.onChange(update);
+        A0.onChange(update);
+        A1.onChange(update);
+        update();
     }
 }
@@ -42,8 +42,9 @@ class TriState {
      */
     public TriState(boolean inverting) {
         this.inverting = inverting;
-        this.input.onChange(this::update);
-        this.enable.onChange(this::update);
+        Runnable update = this::update;
+        this.input.onChange(update);
+        this.enable.onChange(update);
         update();
     }
 
@@ -0,0 +1,260 @@
+package eu.tivian.hardware.logic;
+
+import eu.tivian.hardware.Pin;
+
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Combinational chip described by its truth table.
+ * <br>The levels of the input pins form the index of the table, the first pin being the least significant bit.
+ * Each entry of the table holds the levels of up to eight output pins, so the outputs are updated with
+ * a single indexed read, without any allocation.
+ * <br>Optional table of HI-Z states holds the output pins which are disconnected for the given inputs.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see LogicGate
+ * @see QuadDemux
+ * @see DualMux
+ */
+public abstract class TruthTableChip {
+    /**
+     * Levels of the output pins, indexed by the levels of the input pins.
+     */
+    private final byte[] levels;
+    /**
+     * Output pins in HI-Z state, indexed by the levels of the input pins.
+     * <br>{@code null} if the outputs are always driven.
+     */
+    private final byte[] hiZ;
+    /**
+     * Input pins, forming the index of the table.
+     */
+    private Pin[] inputs = new Pin[0];
+    /**
+     * Output pins, driven by the entries of the table.
+     */
+    private Pin[] outputs = new Pin[0];
+    /**
+     * Nodes of the multiplexer tree walked by the evaluation in lanes, allocated on the first use.
+     */
+    private long[] node;
+
+    /**
+     * Initializes the chip with its truth table.
+     *
+     * @param levels levels of the output pins
+     * @param hiZ output pins in HI-Z state, or {@code null} if the outputs are always driven
+     * @throws NullPointerException if {@code levels} is null
+     * @throws IllegalArgumentException if the tables have different sizes
+     */
+    protected TruthTableChip(byte[] levels, byte[] hiZ) {
+        if (levels == null)
+            throw new NullPointerException("Truth table must be specified!");
+        else if (hiZ != null && hiZ.length != levels.length)
+            throw new IllegalArgumentException("Truth tables must have the same size!");
+
+        this.levels = levels;
+        this.hiZ = hiZ;
+    }
+
+    /**
+     * Assigns the pins to the truth table.
+     * <br>The same pin can be used as more than one input.
+     *
+     * @param inputs input pins, the first one being the least significant bit of the index
+     * @param outputs output pins, the first one being the least significant bit of the entry
+     * @throws IllegalArgumentException if the pins don't match the size of the table
+     */
+    protected final void pins(Pin[] inputs, Pin[] outputs) {
+        if ((1 << inputs.length) != levels.length)
+            throw new IllegalArgumentException("Truth table needs " + Integer.numberOfTrailingZeros(levels.length) + " inputs!");
+        else if (outputs.length > Byte.SIZE)
+            throw new IllegalArgumentException("Truth table holds at most " + Byte.SIZE + " outputs!");
+
+        this.inputs = inputs.clone();
+        this.outputs = outputs.clone();
+    }
+
+    /**
+     * Gets the input pins, used by the {@link LaneCircuit}.
+     * @return the input pins
+     */
+    Pin[] inputs() {
+        return inputs;
+    }
+
+    /**
+     * Gets the output pins, used by the {@link LaneCircuit}.
+     * @return the output pins
+     */
+    Pin[] outputs() {
+        return outputs;
+    }
+
+    /**
+     * Reads the levels of the input pins.
+     * @return index of the truth table entry
+     */
+    protected final int index() {
+        int index = 0;
+        for (int i = inputs.length - 1; i >= 0; i--)
+            index = (index << 1) | (inputs[i].level() == Pin.Level.HIGH ? 1 : 0);
+        return index;
+    }
+
+    /**
+     * Updates the output pins according to the truth table.
+     */
+    protected void update() {
+        int index = index();
+        apply(levels[index], hiZ != null ? hiZ[index] : 0);
+    }
+
+    /**
+     * Changes the state of the output pins.
+     *
+     * @param levels levels of the output pins
+     * @param hiZ output pins to disconnect
+     */
+    protected final void apply(int levels, int hiZ) {
+        for (int i = 0; i < outputs.length; i++) {
+            if ((hiZ & (1 << i)) != 0) {
+                outputs[i].direction(Pin.Direction.HI_Z);
+            } else {
+                outputs[i].direction(Pin.Direction.OUTPUT);
+                outputs[i].level((levels & (1 << i)) != 0);
+            }
+        }
+    }
+
+    /**
+     * Gets the entry of the truth table.
+     *
+     * @param index levels of the input pins
+     * @return levels of the output pins
+     */
+    protected final int levels(int index) {
+        return levels[index];
+    }
+
+    /**
+     * Gets the entry of the HI-Z table.
+     *
+     * @param index levels of the input pins
+     * @return output pins in HI-Z state
+     */
+    protected final int hiZ(int index) {
+        return hiZ != null ? hiZ[index] : 0;
+    }
+
+    /**
+     * Evaluates the truth table for {@value Lanes#COUNT} instances of the chip at once.
+     * <br>Each bit of the input is the level of the pin in one instance, see {@link Lanes}.
+     * The outputs are LOW in the lanes where they are in HI-Z state, see {@link #disconnected(long[])}.
+     *
+     * @param inputs levels of the input pins, the first pin being the least significant bit of the index
+     * @return levels of the output pins
+     * @throws IllegalArgumentException if the number of the inputs doesn't match the table
+     */
+    public final long[] evaluate(long[] inputs) {
+        long[] outputs = new long[this.outputs.length];
+        evaluate(inputs, outputs);
+        return outputs;
+    }
+
+    /**
+     * Evaluates the truth table for {@value Lanes#COUNT} instances of the chip at once, without any allocation.
+     * <br>The table is walked as a tree of multiplexers, so the chips with many inputs should override
+     * this method with their equations.
+     *
+     * @param inputs levels of the input pins, the first pin being the least significant bit of the index
+     * @param outputs receives the levels of the output pins
+     * @throws IllegalArgumentException if the number of the inputs doesn't match the table or
+     *                                  there's no room for the outputs
+     */
+    public void evaluate(long[] inputs, long[] outputs) {
+        check(inputs, outputs);
+        for (int bit = 0; bit < this.outputs.length; bit++)
+            outputs[bit] = slice(levels, inputs, bit) & (hiZ != null ? ~slice(hiZ, inputs, bit) : Lanes.HIGH);
+    }
+
+    /**
+     * Evaluates the HI-Z table for {@value Lanes#COUNT} instances of the chip at once.
+     *
+     * @param inputs levels of the input pins, the first pin being the least significant bit of the index
+     * @return lanes where each of the output pins is in HI-Z state
+     * @throws IllegalArgumentException if the number of the inputs doesn't match the table
+     */
+    public final long[] disconnected(long[] inputs) {
+        long[] outputs = new long[this.outputs.length];
+        disconnected(inputs, outputs);
+        return outputs;
+    }
+
+    /**
+     * Evaluates the HI-Z table for {@value Lanes#COUNT} instances of the chip at once, without any allocation.
+     * <br>The chips with a HI-Z table can override this method with their equations.
+     *
+     * @param inputs levels of the input pins, the first pin being the least significant bit of the index
+     * @param outputs receives the lanes where each of the output pins is in HI-Z state
+     * @throws IllegalArgumentException if the number of the inputs doesn't match the table or
+     *                                  there's no room for the outputs
+     */
+    public void disconnected(long[] inputs, long[] outputs) {
+        check(inputs, outputs);
+        for (int bit = 0; bit < this.outputs.length; bit++)
+            outputs[bit] = hiZ != null ? slice(hiZ, inputs, bit) : Lanes.LOW;
+    }
+
+    /**
+     * Checks the arrays passed to the evaluation in lanes.
+     *
+     * @param inputs levels of the input pins
+     * @param outputs levels of the output pins
+     * @throws IllegalArgumentException if the number of the inputs doesn't match the table or
+     *                                  there's no room for the outputs
+     */
+    protected final void check(long[] inputs, long[] outputs) {
+        if ((1 << inputs.length) != levels.length)
+            throw new IllegalArgumentException("Truth table needs " + Integer.numberOfTrailingZeros(levels.length) + " inputs!");
+        else if (outputs.length < this.outputs.length)
+            throw new IllegalArgumentException("Truth table needs room for " + this.outputs.length + " outputs!");
+    }
+
+    /**
+     * Evaluates one output of the table as a tree of multiplexers, selected by one input after another.
+     *
+     * @param table the truth table
+     * @param inputs levels of the input pins
+     * @param bit index of the output
+     * @return levels of the output
+     */
+    private long slice(byte[] table, long[] inputs, int bit) {
+        if (node == null)
+            node = new long[table.length];
+
+        for (int i = 0; i < table.length; i++)
+            node[i] = Lanes.of((table[i] & (1 << bit)) != 0);
+        for (int input = 0, size = table.length; input < inputs.length; input++) {
+            size >>= 1;
+            for (int i = 0; i < size; i++)
+                node[i] = (node[2 * i] & ~inputs[input]) | (node[2 * i + 1] & inputs[input]);
+        }
+        return node[0];
+    }
+
+    /**
+     * Builds the truth table from the function.
+     *
+     * @param inputs number of the inputs
+     * @param function maps the levels of the input pins to the levels of the output pins
+     * @return the truth table
+     */
+    public static byte[] table(int inputs, IntUnaryOperator function) {
+        byte[] table = new byte[1 << inputs];
+        for (int i = 0; i < table.length; i++)
+            table[i] = (byte) function.applyAsInt(i);
+        return table;
+    }
+}
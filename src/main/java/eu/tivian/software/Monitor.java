@@ -338,7 +338,10 @@ public class Monitor {
         do {
             do
                 cpu.step();
-            while (cpu.stage() != MOS8501.Stage.FETCH);
+            while (cpu.stage() != MOS8501.Stage.FETCH && !cpu.isJammed());
+
+            if (cpu.isJammed())
+                break;
 
             Mode mode = Mode.find(addressing.get(cpu.opcode() & 0xFF));
             int PC = (cpu.counter() - 1) & 0xFFFF;
@@ -366,7 +369,7 @@ public class Monitor {
         cpu.counter(start);
         do
             cpu.step();
-        while (cpu.stage() != MOS8501.Stage.FETCH || !cpu.mnemonic().equals("BRK"));
+        while (!cpu.isJammed() && (cpu.stage() != MOS8501.Stage.FETCH || !cpu.mnemonic().equals("BRK")));
 
         System.out.println(cpu);
     }
@@ -3,8 +3,6 @@ package eu.tivian.software;
 import eu.tivian.hardware.MOS8501;
 import eu.tivian.hardware.Pin;
 
-import java.util.function.Consumer;
-
 /**
  * Special version of {@link MOS8501} with simple memory management.
  * <br>Meant for debugging.
@@ -33,21 +31,19 @@ public class SimpleCPU extends MOS8501 {
     public void start() {
         stage = Stage.OPCODE;
         halt = false;
+        jammed = false;
     }
 
     /**
      * Read value from the memory.
      *
-     * @param address   cell index in the memory
-     * @param readCycle functor which operates on the read memory
+     * @param address cell index in the memory
+     * @param target  destination of the read memory
      * @throws ArrayIndexOutOfBoundsException if the {@code address} is out of range
      */
     @Override
-    protected void read(short address, Consumer<Byte> readCycle) {
-        if (readCycle != null)
-            readCycle.accept(memory[address & 0xFFFF]);
-        //halfCycleIn = () -> memory[address & 0xFFFF];
-        //halfCycleOut = readCycle;
+    protected void read(short address, Target target) {
+        load(target, memory[address & 0xFFFF]);
     }
 
     /**
@@ -60,8 +56,6 @@ public class SimpleCPU extends MOS8501 {
     @Override
     protected void write(short address, byte value) {
         memory[address & 0xFFFF] = value;
-        //halfCycleIn = () -> value;
-        //halfCycleOut = data -> memory[address & 0xFFFF] = data;
     }
 
     /**
@@ -0,0 +1,37 @@
+package eu.tivian;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link Headless}.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ */
+class HeadlessTest {
+    /**
+     * Checks if the list of captured frames is parsed correctly.
+     */
+    @Test
+    void frames() {
+        BitSet set = Headless.frames("3, 10-12,20");
+        assertEquals("{3, 10, 11, 12, 20}", set.toString());
+
+        assertThrows(IllegalArgumentException.class, () -> Headless.frames("1,x"));
+        assertThrows(IllegalArgumentException.class, () -> Headless.frames("5-"));
+    }
+
+    /**
+     * Checks if the program which would be loaded after the last frame is rejected before the board is built.
+     */
+    @Test
+    void program() {
+        assertThrows(IllegalArgumentException.class, () -> Headless.main(new String[] { "-p", "x.prg", "-n", "10" }));
+        assertThrows(IllegalArgumentException.class,
+            () -> Headless.main(new String[] { "-p", "x.prg", "-n", "20", "-w", "20" }));
+    }
+}
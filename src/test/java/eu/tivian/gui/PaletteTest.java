@@ -0,0 +1,50 @@
+package eu.tivian.gui;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.IndexColorModel;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link Palette}.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ */
+class PaletteTest {
+    /**
+     * Checks if the table and the color model match the palette colors.
+     */
+    @Test
+    void table() {
+        Palette pal = new Palette();
+        int[] table = pal.table();
+        IndexColorModel model = pal.colorModel();
+
+        assertEquals(128, table.length);
+        assertEquals(128, model.getMapSize());
+        for (int i = 0; i < table.length; i++) {
+            assertEquals(pal.get(i).getRGB(), table[i]);
+            assertEquals(pal.get(i).getRGB(), model.getRGB(i));
+        }
+    }
+
+    /**
+     * Checks if the adjustment publishes new tables and leaves the old ones untouched.
+     */
+    @Test
+    void adjust() {
+        Palette pal = new Palette();
+        int[] table = pal.table();
+        IndexColorModel model = pal.colorModel();
+        int color = model.getRGB(0x32);
+
+        pal.adjust(20.0, 100.0, 50.0);
+        assertNotSame(model, pal.colorModel());
+        assertEquals(color, table[0x32]);
+        assertEquals(color, model.getRGB(0x32));
+        assertNotEquals(color, pal.colorModel().getRGB(0x32));
+        assertEquals(pal.get(0x32).getRGB(), pal.table()[0x32]);
+    }
+}
@@ -1,13 +1,17 @@
 package eu.tivian.gui;
 
+import eu.tivian.hardware.TED;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.util.Arrays;
 import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * Unit tests for {@link RenderPanel}.
  *
@@ -78,4 +82,64 @@ class RenderPanelTest {
         SwingUtilities.invokeLater(gui);
         for (;;);
     }
-}
\ No newline at end of file
+
+    /**
+     * Checks if the frame is drawn only after the vertical sync.
+     */
+    @Test
+    void vsync() {
+        RenderPanel panel = new RenderPanel();
+        BufferedImage screen = new BufferedImage(panel.getWidth(), panel.getHeight(), BufferedImage.TYPE_INT_RGB);
+        int color = panel.palette().get(0x71).getRGB() & 0xFFFFFF;
+
+        Arrays.fill(panel.frame(), (byte) 0x71);
+        for (int y = 0; y < TED.HEIGHT; y++)
+            panel.line(y);
+
+        panel.paint(screen.getGraphics());
+        assertNotEquals(color, screen.getRGB(360, 288) & 0xFFFFFF);
+
+        panel.vsync();
+        panel.paint(screen.getGraphics());
+        assertEquals(color, screen.getRGB(360, 288) & 0xFFFFFF);
+        assertEquals(color, panel.image().getRGB(0, 0) & 0xFFFFFF);
+    }
+
+    /**
+     * Checks if the new picture settings are shown without a new frame.
+     */
+    @Test
+    void adjust() {
+        RenderPanel panel = new RenderPanel(true);
+        BufferedImage screen = new BufferedImage(panel.getWidth(), panel.getHeight(), BufferedImage.TYPE_INT_RGB);
+
+        Arrays.fill(panel.frame(), (byte) 0x32);
+        for (int y = 0; y < TED.HEIGHT; y++)
+            panel.line(y);
+        panel.vsync();
+        panel.paint(screen.getGraphics());
+        int before = screen.getRGB(360, 288) & 0xFFFFFF;
+
+        panel.adjust(20.0, 100.0, 50.0);
+        panel.paint(screen.getGraphics());
+        int after = screen.getRGB(360, 288) & 0xFFFFFF;
+        assertNotEquals(before, after);
+        assertEquals(panel.palette().get(0x32).getRGB() & 0xFFFFFF, after);
+    }
+
+    /**
+     * Checks if the RGB buffers show the same picture as the indexed ones.
+     */
+    @Test
+    void rgb() {
+        RenderPanel panel = new RenderPanel(false);
+        int color = panel.palette().get(0x32).getRGB() & 0xFFFFFF;
+
+        Arrays.fill(panel.frame(), (byte) 0x32);
+        for (int y = 0; y < TED.HEIGHT; y++)
+            panel.line(y);
+        panel.vsync();
+        panel.paint(new BufferedImage(panel.getWidth(), panel.getHeight(), BufferedImage.TYPE_INT_RGB).getGraphics());
+        assertEquals(color, panel.image().getRGB(100, 100) & 0xFFFFFF);
+    }
+}
@@ -0,0 +1,121 @@
+package eu.tivian.hardware;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the bus net.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see BusNet
+ */
+class BusNetTest {
+    /**
+     * Checks if the subscriber of the bus is notified once per word.
+     *
+     * @param compiled {@code true} if the buses should be simulated by the compiled netlist
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    void word(boolean compiled) {
+        AtomicInteger changes = new AtomicInteger();
+        Bus output = new Bus("out", "O", Pin.Direction.OUTPUT, 16);
+        Bus input  = new Bus("in" , "I", Pin.Direction.INPUT , 16);
+        output.connect(input);
+        input.onChange(changes::incrementAndGet);
+        if (compiled)
+            NetlistCompiler.compile(output, input);
+
+        assertNotNull(input.net);
+        output.value(0xFFFF);
+        assertEquals(1, changes.get());
+        assertEquals(0xFFFF, input.value());
+
+        output.value(0xFFFF);
+        assertEquals(1, changes.get());
+
+        output.value(0x1234);
+        assertEquals(2, changes.get());
+        assertEquals(0x1234, input.value());
+    }
+
+    /**
+     * Checks if the word changed inside of an event handler is also delivered once.
+     */
+    @Test
+    void nested() {
+        AtomicInteger changes = new AtomicInteger();
+        Pin clock = new Pin(Pin.Direction.OUTPUT);
+        Pin tick  = new Pin(Pin.Direction.INPUT);
+        Bus output = new Bus("out", "O", Pin.Direction.OUTPUT, 8);
+        Bus input  = new Bus("in" , "I", Pin.Direction.INPUT , 8);
+
+        clock.connect(tick);
+        output.connect(input);
+        tick.onChange(() -> output.value(output.value() ^ 0xFF));
+        input.onChange(changes::incrementAndGet);
+
+        clock.level(Pin.Level.HIGH);
+        assertEquals(1, changes.get());
+        assertEquals(0xFF, input.value());
+    }
+
+    /**
+     * Checks if the single pin tapping into the net still sees the change of its bit.
+     */
+    @Test
+    void tap() {
+        AtomicInteger changes = new AtomicInteger();
+        Bus output = new Bus("out", "O", Pin.Direction.OUTPUT, 8);
+        Bus input  = new Bus("in" , "I", Pin.Direction.INPUT , 8);
+        Pin tap = new Pin(Pin.Direction.INPUT);
+
+        output.connect(input);
+        output.get(3).connect(tap);
+        tap.onChange(changes::incrementAndGet);
+
+        output.value(0x07);
+        assertEquals(0, changes.get());
+        output.value(0x08);
+        assertEquals(1, changes.get());
+        assertEquals(Pin.Level.HIGH, tap.level());
+    }
+
+    /**
+     * Checks if the buses wired with shifted pins don't share the net.
+     */
+    @Test
+    void mapped() {
+        Bus output = new Bus("out", "O", Pin.Direction.OUTPUT, 8);
+        Bus input  = new Bus("in" , "I", Pin.Direction.INPUT , 8);
+        output.connect(input, i -> i < 7 ? i + 1 : -1);
+
+        assertNull(input.net);
+        output.value(0x21);
+        assertEquals(0x42, input.value());
+    }
+
+    /**
+     * Checks if the net is dissolved after the wiring changed.
+     */
+    @Test
+    void dissolve() {
+        Bus output = new Bus("out", "O", Pin.Direction.OUTPUT, 8);
+        Bus input  = new Bus("in" , "I", Pin.Direction.INPUT , 8);
+        output.connect(input);
+        assertNotNull(input.net);
+
+        input.get(0).disconnect();
+        assertNull(input.net);
+        assertNull(output.net);
+
+        output.value(0xFF);
+        assertEquals(0xFE, input.value());
+    }
+}
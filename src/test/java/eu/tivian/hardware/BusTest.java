@@ -1,6 +1,7 @@
 package eu.tivian.hardware;
 
-import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -16,12 +17,17 @@ import static org.junit.jupiter.api.Assertions.*;
 class BusTest {
     /**
      * Checks if connecting two buses yields correct values.
+     *
+     * @param compiled {@code true} if the buses should be simulated by the compiled netlist
      */
-    @Test
-    void connect() {
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    void connect(boolean compiled) {
         Bus output = new Bus("out", "O", Pin.Direction.OUTPUT, 16);
         Bus input  = new Bus("in" , "I", Pin.Direction.INPUT , 16);
         output.connect(input);
+        if (compiled)
+            NetlistCompiler.compile(output, input);
 
         long[] testValues = new long[] { 0x0000, 0x0001, 0x1001, 0x1000, 0x5555, 0xAAAA, 0xFF00, 0x00FF, 0xFFFF };
         for (long val : testValues) {
@@ -33,15 +39,20 @@ class BusTest {
 
     /**
      * Checks if change at one end makes appropriate changes on the other end.
+     *
+     * @param compiled {@code true} if the buses should be simulated by the compiled netlist
      */
-    @Test
-    void change() {
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    void change(boolean compiled) {
         AtomicLong result = new AtomicLong();
         Bus output = new Bus("out", "O", Pin.Direction.OUTPUT, 16);
         Bus input  = new Bus("in" , "I", Pin.Direction.INPUT , 16);
 
         output.connect(input);
         input.onChange(() -> result.set(input.value()));
+        if (compiled)
+            NetlistCompiler.compile(output, input);
 
         long[] testValues = new long[] { 0x0000, 0x0001, 0x1001, 0x1000, 0x5555, 0xAAAA, 0xFF00, 0x00FF, 0xFFFF };
         for (long val : testValues) {
@@ -0,0 +1,195 @@
+package eu.tivian.hardware;
+
+import eu.tivian.hardware.logic.LogicGate;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the delta-cycle event scheduler.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see DeltaScheduler
+ */
+class DeltaSchedulerTest {
+    /**
+     * Checks if the handler shared by many pins is evaluated once per delta cycle.
+     */
+    @Test
+    void once() {
+        AtomicInteger evaluations = new AtomicInteger();
+        Pin clock = new Pin(Pin.Direction.OUTPUT);
+        Pin tick = new Pin(Pin.Direction.INPUT);
+        Bus output = new Bus("out", "O", Pin.Direction.OUTPUT, 16);
+        Bus input  = new Bus("in" , "I", Pin.Direction.INPUT , 16);
+
+        clock.connect(tick);
+        output.connect(input);
+        tick.onChange(() -> output.value(output.value() ^ 0xFFFF));
+
+        Runnable update = evaluations::incrementAndGet;
+        for (Pin p : input)
+            p.onChange(update);
+
+        clock.level(Pin.Level.HIGH);
+        assertEquals(0xFFFF, input.value());
+        assertEquals(1, evaluations.get());
+
+        clock.level(Pin.Level.LOW);
+        assertEquals(0x0000, input.value());
+        assertEquals(2, evaluations.get());
+    }
+
+    /**
+     * Checks if the changes made outside of the handlers are settled before returning.
+     */
+    @Test
+    void settle() {
+        Pin input = new Pin(Pin.Direction.OUTPUT);
+        LogicGate first  = new LogicGate(LogicGate.Type.NOT);
+        LogicGate second = new LogicGate(LogicGate.Type.NOT);
+        LogicGate third  = new LogicGate(LogicGate.Type.NOT);
+
+        input.connect(first.inputA);
+        first.output.connect(second.inputA);
+        second.output.connect(third.inputA);
+
+        input.level(Pin.Level.HIGH);
+        assertEquals(Pin.Level.LOW, third.output.level());
+
+        input.level(Pin.Level.LOW);
+        assertEquals(Pin.Level.HIGH, third.output.level());
+    }
+
+    /**
+     * Checks if the oscillating loop is reported.
+     */
+    @Test
+    void oscillation() {
+        LogicGate gate = new LogicGate(LogicGate.Type.NOT);
+        Pin input = new Pin(Pin.Direction.INPUT);
+        input.connect(gate.output);
+
+        DeltaScheduler scheduler = DeltaScheduler.current();
+        int limit = scheduler.limit();
+        scheduler.limit(50);
+        try {
+            assertThrows(IllegalStateException.class, () -> gate.output.connect(gate.inputA));
+        } finally {
+            scheduler.limit(limit);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> scheduler.limit(0));
+    }
+
+    /**
+     * Checks if the feedback of the PLA settles.
+     */
+    @Test
+    void feedback() {
+        PLA pla = new PLA();
+        Bus input = new Bus("input", "I", Pin.Direction.OUTPUT, 16);
+        input.connect(new Bus(pla.input), i -> i == 0 ? -1 : i);
+        pla.input.get(0).connect(pla.output.get(7));
+
+        input.value(0x0100); // MUX
+        assertEquals(Pin.Level.HIGH, pla.output.get(7).level());
+
+        input.value(0x0002); // phi0
+        assertEquals(Pin.Level.HIGH, pla.output.get(7).level());
+        assertEquals(Pin.Level.HIGH, pla.output.get(1).level());
+
+        input.value(0x8002); // RAS
+        assertEquals(Pin.Level.LOW, pla.output.get(7).level());
+
+        input.value(0x0002);
+        assertEquals(Pin.Level.LOW, pla.output.get(7).level());
+    }
+
+    /**
+     * Checks if the indices of the collected event handlers are released and reused.
+     * <br>The collection is simulated by enqueuing the weak registrations, so the test doesn't depend on the collector.
+     */
+    @Test
+    void released() {
+        DeltaScheduler scheduler = new DeltaScheduler();
+        AtomicInteger evaluations = new AtomicInteger();
+        List<Runnable> handlers = new ArrayList<>();
+        int[] ids = new int[20];
+        for (int i = 0; i < ids.length; i++) {
+            Runnable handler = () -> evaluations.incrementAndGet();
+            handlers.add(handler);
+            ids[i] = scheduler.register(handler, "handler " + i);
+        }
+        assertEquals(ids.length, scheduler.registered());
+        assertEquals(ids[3], scheduler.register(handlers.get(3), "again"));
+
+        for (int i = 0; i < 10; i++)
+            scheduler.registration(ids[i]).enqueue();
+        assertEquals(10, scheduler.registered());
+        assertNull(scheduler.registration(ids[0]));
+
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 10; i++) {
+                int id = scheduler.register(() -> evaluations.incrementAndGet(), "round " + round);
+                assertTrue(id < ids.length, "index " + id);
+                scheduler.registration(id).enqueue();
+            }
+        }
+        assertEquals(10, scheduler.registered());
+
+        // the handler collected while queued is skipped and released after the delta cycle
+        scheduler.begin();
+        scheduler.post(ids[10]);
+        scheduler.post(ids[11]);
+        scheduler.registration(ids[10]).enqueue();
+        assertEquals(10, scheduler.registered());
+        scheduler.commit();
+        assertEquals(1, evaluations.get());
+        assertEquals(9, scheduler.registered());
+    }
+
+    /**
+     * Checks if each thread runs its own circuits and the circuit driven from another thread fails fast.
+     *
+     * @throws InterruptedException if interrupted while waiting for the thread
+     */
+    @Test
+    void confined() throws InterruptedException {
+        Pin output = new Pin(Pin.Direction.OUTPUT);
+        LogicGate gate = new LogicGate(LogicGate.Type.NOT);
+        output.connect(gate.inputA);
+
+        AtomicReference<Throwable> foreign = new AtomicReference<>();
+        AtomicReference<Pin.Level> own = new AtomicReference<>();
+        AtomicReference<DeltaScheduler> scheduler = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            scheduler.set(DeltaScheduler.current());
+            Pin input = new Pin(Pin.Direction.OUTPUT);
+            LogicGate other = new LogicGate(LogicGate.Type.NOT);
+            input.connect(other.inputA);
+            input.level(Pin.Level.HIGH);
+            own.set(other.output.level());
+
+            try {
+                output.level(Pin.Level.HIGH);
+            } catch (Throwable e) {
+                foreign.set(e);
+            }
+        });
+        thread.start();
+        thread.join();
+
+        assertEquals(Pin.Level.LOW, own.get());
+        assertInstanceOf(IllegalStateException.class, foreign.get());
+        assertSame(DeltaScheduler.current(), output.scheduler);
+        assertNotSame(DeltaScheduler.current(), scheduler.get());
+        assertThrows(IllegalStateException.class, () -> scheduler.get().settle());
+    }
+}
@@ -0,0 +1,230 @@
+package eu.tivian.hardware;
+
+import eu.tivian.hardware.logic.IC74LS257;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DRAM bank unit tests.
+ * <br>The bank is driven through its pins, with the same timing as the TED uses: RAS falls while the
+ * multiplexers select the row, then they select the column and CAS falls.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see DramBank
+ */
+class DramBankTest {
+    /**
+     * Pins driving the memory, like the CPU and the TED do.
+     */
+    private static final class Driver {
+        /**
+         * Address bus of the CPU.
+         */
+        final Bus address = new Bus("address", "A", Pin.Direction.OUTPUT, 16);
+        /**
+         * Data bus of the CPU, driven only while writing.
+         */
+        final Bus data = new Bus("data", "D", Pin.Direction.INPUT, 8);
+        /**
+         * Row address strobe.
+         */
+        final Pin ras = new Pin("RAS", Pin.Direction.OUTPUT, Pin.Level.HIGH);
+        /**
+         * Column address strobe.
+         */
+        final Pin cas = new Pin("CAS", Pin.Direction.OUTPUT, Pin.Level.HIGH);
+        /**
+         * Read/write select.
+         */
+        final Pin rw = new Pin("R/W", Pin.Direction.OUTPUT, Pin.Level.HIGH);
+        /**
+         * Multiplexer select.
+         */
+        final Pin mux = new Pin("MUX", Pin.Direction.OUTPUT, Pin.Level.HIGH);
+
+        /**
+         * Runs one RAS/CAS read cycle.
+         *
+         * @param address the memory address
+         * @return the read value
+         */
+        int read(int address) {
+            strobe(address);
+            int value = (int) data.value();
+            release();
+            return value;
+        }
+
+        /**
+         * Runs one RAS/CAS write cycle.
+         *
+         * @param address the memory address
+         * @param value value to write
+         */
+        void write(int address, int value) {
+            rw.level(Pin.Level.LOW);
+            data.direction(Pin.Direction.OUTPUT);
+            data.value(value);
+            strobe(address);
+            release();
+            data.direction(Pin.Direction.INPUT);
+            rw.level(Pin.Level.HIGH);
+        }
+
+        /**
+         * Runs the refresh cycle, only RAS is strobed.
+         *
+         * @param address the memory address
+         */
+        void refresh(int address) {
+            this.address.value(address);
+            ras.level(Pin.Level.LOW);
+            mux.level(Pin.Level.LOW);
+            mux.level(Pin.Level.HIGH);
+            ras.level(Pin.Level.HIGH);
+        }
+
+        /**
+         * Latches the row and the column of the address.
+         *
+         * @param address the memory address
+         */
+        private void strobe(int address) {
+            this.address.value(address);
+            ras.level(Pin.Level.LOW);
+            mux.level(Pin.Level.LOW);
+            cas.level(Pin.Level.LOW);
+        }
+
+        /**
+         * Ends the access cycle.
+         */
+        private void release() {
+            cas.level(Pin.Level.HIGH);
+            ras.level(Pin.Level.HIGH);
+            mux.level(Pin.Level.HIGH);
+        }
+    }
+
+    /**
+     * Connects the bank to the driver.
+     *
+     * @param driver the driver
+     * @return the connected bank
+     */
+    private static DramBank bank(Driver driver) {
+        DramBank bank = new DramBank("RAM", 0x4000);
+        driver.address.connect(bank.address);
+        driver.data.connect(bank.data);
+        driver.ras.connect(bank.ras);
+        driver.cas.connect(bank.cas);
+        driver.rw.connect(bank.rw);
+        driver.mux.connect(bank.mux);
+        return bank;
+    }
+
+    /**
+     * Checks if the bytes written through the pins are read back and mirrored every 16 KiB.
+     *
+     * @param compiled {@code true} if the bank should be simulated by the compiled netlist
+     */
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    void readWrite(boolean compiled) {
+        Driver driver = new Driver();
+        DramBank bank = bank(driver);
+        if (compiled)
+            NetlistCompiler.compile(bank, driver.address, driver.data, driver.ras, driver.cas, driver.rw, driver.mux);
+
+        assertEquals(0xBB, driver.read(0x1234));
+        driver.write(0x1234, 0x5A);
+        driver.write(0x3FFF, 0xA5);
+        assertEquals(0x5A, driver.read(0x1234));
+        assertEquals(0x5A, driver.read(0xD234));
+        assertEquals(0xA5, driver.read(0xFFFF));
+        assertEquals(0x5A, bank.peek(0x1234) & 0xFF);
+        assertEquals(0xA5, bank.peek(0x3FFF) & 0xFF);
+        assertEquals(Pin.Direction.HI_Z, bank.data.direction());
+    }
+
+    /**
+     * Checks if the refresh cycle is ignored, like by the {@link RAM} chip.
+     */
+    @Test
+    void refresh() {
+        Driver driver = new Driver();
+        DramBank bank = bank(driver);
+
+        driver.write(0x0042, 0x11);
+        driver.refresh(0x0042);
+        driver.refresh(0x2142);
+        assertEquals(Pin.Direction.HI_Z, bank.data.direction());
+        assertEquals(0x11, driver.read(0x0042));
+        assertEquals(0xBB, driver.read(0x2142));
+    }
+
+    /**
+     * Checks if the bank behaves like both RAM chips with their address multiplexers, wired like on the motherboard.
+     */
+    @Test
+    void chips() {
+        Driver driver = new Driver();
+        DramBank bank = bank(driver);
+
+        Driver chips = new Driver();
+        Pin vcc = new Pin("VCC", Pin.Direction.OUTPUT, Pin.Level.HIGH);
+        RAM low  = new RAM("RAM low ", 8, 4, 0x4000);
+        RAM high = new RAM("RAM high", 8, 4, 0x4000);
+        IC74LS257[] muxes = { new IC74LS257(), new IC74LS257() };
+        int[] column = { -1, 8, 9, 10, 11, 12, 13, -1 };
+        for (int i = 0; i < 8; i++) {
+            IC74LS257 mux = muxes[i >> 2];
+            mux.get(i & 3).inputA.connect(column[i] < 0 ? vcc : chips.address.get(column[i]));
+            mux.get(i & 3).inputB.connect(chips.address.get(i));
+            low.address.get(i).connect(mux.get(i & 3).output);
+        }
+        high.address.connect(low.address);
+        chips.mux.connect(muxes[0].select).connect(muxes[1].select);
+        muxes[0].enable.connect(Pin.GND);
+        muxes[1].enable.connect(Pin.GND);
+        chips.data.connect(low.data, i -> i > 3 ? -1 : i)
+                  .connect(high.data, i -> i < 4 ? -1 : i - 4);
+        chips.ras.connect(low.ras).connect(high.ras);
+        chips.cas.connect(low.cas).connect(high.cas);
+        chips.rw.connect(low.rw).connect(high.rw);
+        low.enable.connect(Pin.GND);
+        high.enable.connect(Pin.GND);
+
+        int address = 0;
+        for (int i = 0; i < 2000; i++) {
+            address = (address * 5 + 0x3B17) & 0xFFFF;
+            switch (i % 3) {
+                case 0:
+                    driver.write(address, i & 0xFF);
+                    chips.write(address, i & 0xFF);
+                    break;
+                case 1:
+                    driver.refresh(address);
+                    chips.refresh(address);
+                    break;
+                default:
+                    assertEquals(chips.read(address), driver.read(address), String.format("$%04X", address));
+            }
+        }
+
+        for (int i = 0; i < bank.size(); i++)
+            assertEquals((high.peek(i) & 0x0F) << 4 | (low.peek(i) & 0x0F), bank.peek(i) & 0xFF);
+    }
+
+    /**
+     * Checks if the size of the bank must be the power of two.
+     */
+    @Test
+    void size() {
+        assertThrows(IllegalArgumentException.class, () -> new DramBank("RAM", 0x3000));
+    }
+}
@@ -0,0 +1,91 @@
+package eu.tivian.hardware;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the scheduler of the events in the simulated time.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see EventScheduler
+ */
+class EventSchedulerTest {
+    /**
+     * Checks if the events are fired in the order of their time, and then in the order of posting.
+     */
+    @Test
+    void order() {
+        EventScheduler events = new EventScheduler();
+        List<Integer> fired = new ArrayList<>();
+
+        events.post(20, () -> fired.add(3));
+        events.post(10, () -> fired.add(1));
+        events.post(10, () -> fired.add(2));
+        assertEquals(10, events.next());
+
+        events.run(9);
+        assertTrue(fired.isEmpty());
+        events.run(15);
+        assertEquals(List.of(1, 2), fired);
+        assertEquals(20, events.next());
+        events.run(20);
+        assertEquals(List.of(1, 2, 3), fired);
+        assertEquals(Long.MAX_VALUE, events.next());
+    }
+
+    /**
+     * Checks if the clock fires the events on its pulses.
+     */
+    @Test
+    void clock() {
+        SystemClock clock = new SystemClock(1000.0);
+        List<Long> fired = new ArrayList<>();
+
+        clock.schedule(0.005, () -> fired.add(clock.halfcycle()));
+        clock.schedule(0.0, () -> fired.add(clock.halfcycle()));
+        for (int i = 0; i < 20; i++)
+            clock.pulse();
+        assertEquals(List.of(1L, 10L), fired);
+
+        clock.schedule(1.0, () -> fired.add(clock.halfcycle()));
+        clock.clear();
+        assertEquals(0, clock.events().size());
+    }
+
+    /**
+     * Checks if the discard actions of the dropped events are run in the order of firing.
+     */
+    @Test
+    void discard() {
+        EventScheduler events = new EventScheduler();
+        List<Integer> discarded = new ArrayList<>();
+
+        events.post(20, () -> fail("fired"), () -> discarded.add(2));
+        events.post(10, () -> fail("fired"), () -> {
+            discarded.add(1);
+            events.post(5, () -> discarded.add(3));
+        });
+        events.post(15, () -> fail("fired"));
+        events.clear();
+        assertEquals(List.of(1, 2), discarded);
+        assertEquals(1, events.size());
+
+        events.run(5);
+        assertEquals(List.of(1, 2, 3), discarded);
+    }
+
+    /**
+     * Checks if the invalid events are rejected.
+     */
+    @Test
+    void invalid() {
+        assertThrows(NullPointerException.class, () -> new EventScheduler().post(0, null));
+        assertThrows(IllegalStateException.class, () -> new SystemClock().schedule(1.0, () -> {}));
+        assertThrows(IllegalArgumentException.class, () -> new SystemClock(1.0).schedule(-1.0, () -> {}));
+    }
+}
@@ -0,0 +1,187 @@
+package eu.tivian.hardware;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Functional tier unit tests.
+ * <br>The CPU runs short programs from the KERNAL ROM, which touch every area of the memory map
+ * and sample the TED in the middle of the batches run ahead of it.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see FastMotherboard
+ */
+class FastMotherboardTest {
+    /**
+     * Test program, placed at $FC00, which is always mapped to KERNAL.
+     */
+    private static final int[] PROGRAM = {
+        0xA9, 0x42,       // LDA #$42
+        0x8D, 0x00, 0x04, // STA $0400     RAM
+        0x8D, 0x15, 0xFF, // STA $FF15     TED register
+        0x8D, 0xD5, 0xFD, // STA $FDD5     both ROMs switched to the empty cartridge banks
+        0xAD, 0x00, 0x80, // LDA $8000     open bus
+        0x8D, 0x01, 0x04, // STA $0401
+        0xAD, 0x00, 0xC0, // LDA $C000     open bus
+        0x8D, 0x02, 0x04, // STA $0402
+        0x8D, 0x3F, 0xFF, // STA $FF3F     RAM mapped for reading
+        0xAD, 0x00, 0xE0, // LDA $E000     RAM at $2000
+        0x8D, 0x03, 0x04, // STA $0403
+        0x4C, 0x20, 0xFC  // JMP $FC20
+    };
+
+    /**
+     * Sampling program, placed at $FC00, with the interrupt handler at $FC80.
+     */
+    private static final int[] SAMPLER = {
+        0xA9, 0x1B,       // LDA #$1B
+        0x8D, 0x06, 0xFF, // STA $FF06     display enabled
+        0xA9, 0x20,       // LDA #$20
+        0x8D, 0x0B, 0xFF, // STA $FF0B     raster interrupt on line $20
+        0xA9, 0x02,       // LDA #$02
+        0x8D, 0x0A, 0xFF, // STA $FF0A
+        0x8D, 0x01, 0xFF, // STA $FF01     first timer running
+        0x58,             // CLI
+        0xA2, 0x00,       // LDX #$00
+        0xAD, 0x1E, 0xFF, // LDA $FF1E     horizontal position
+        0x9D, 0x00, 0x04, // STA $0400,X
+        0xAD, 0x1D, 0xFF, // LDA $FF1D     raster line
+        0x9D, 0x00, 0x05, // STA $0500,X
+        0xAD, 0x00, 0xFF, // LDA $FF00     first timer
+        0x9D, 0x00, 0x06, // STA $0600,X
+        0xA0, 0x04,       // LDY #$04
+        0x88,             // DEY
+        0xD0, 0xFD,       // BNE *-1
+        0xE8,             // INX
+        0xD0, 0xE6,       // BNE *-24
+        0x4C, 0x2F, 0xFC  // JMP $FC2F
+    };
+
+    /**
+     * Interrupt handler of the sampling program.
+     */
+    private static final int[] HANDLER = {
+        0xEE, 0x00, 0x07, // INC $0700
+        0xAD, 0x1E, 0xFF, // LDA $FF1E
+        0x8D, 0x01, 0x07, // STA $0701
+        0xA9, 0xFF,       // LDA #$FF
+        0x8D, 0x09, 0xFF, // STA $FF09     acknowledged
+        0x40              // RTI
+    };
+
+    /**
+     * Checks if the memory map follows the TED, the PLA and the ROM bank latch.
+     */
+    @Test
+    void memoryMap() {
+        DramBank ram = new DramBank("RAM", 0x4000);
+        ROM basic = new ROM("BASIC", 0x4000);
+        ROM kernal = new ROM("KERNAL", 0x4000);
+        TED ted = new TED();
+        SystemClock clock = new SystemClock();
+        Pin reset = new Pin("reset", Pin.Direction.OUTPUT, Pin.Level.LOW);
+
+        byte[] image = new byte[0x4000];
+        for (int i = 0; i < PROGRAM.length; i++) {
+            image[0x3C00 + i] = (byte) PROGRAM[i];
+            ram.poke(0x3C00 + i, (byte) PROGRAM[i]); // the program keeps running from RAM
+        }
+        image[0x0000] = 0x5C;
+        image[0x3FFC] = 0x00;
+        image[0x3FFD] = (byte) 0xFC;
+        kernal.preload(image);
+        image[0x0000] = 0x33;
+        basic.preload(image);
+        ram.poke(0x2000, (byte) 0x77);
+
+        FastMotherboard board = new FastMotherboard(clock, ted, ram, basic, kernal, new Keyboard(), reset);
+        for (int i = 0; i < 1000; i++)
+            board.pulse();
+        reset.level(Pin.Level.HIGH);
+        for (int i = 0; i < 20_000; i++)
+            board.pulse();
+
+        assertEquals(21_000, clock.halfcycle());
+        assertEquals(0x42, ram.peek(0x0400) & 0xFF);
+        assertEquals(0x42, ted.core().read(0x15) & 0x7F);
+        assertEquals(0x00, ram.peek(0x0401) & 0xFF);
+        assertEquals(0x00, ram.peek(0x0402) & 0xFF);
+        assertEquals(0x77, ram.peek(0x0403) & 0xFF);
+        assertFalse(ted.core().rom());
+    }
+
+    /**
+     * Runs the sampling program.
+     *
+     * @param horizon maximum number of the slots the CPU can run ahead of the TED
+     * @param batched {@code true} if the TED core should be advanced in batches
+     * @return RAM after the run
+     */
+    private static int[] sample(int horizon, boolean batched) {
+        DramBank ram = new DramBank("RAM", 0x4000);
+        ROM basic = new ROM("BASIC", 0x4000);
+        ROM kernal = new ROM("KERNAL", 0x4000);
+        TED ted = new TED();
+        Pin reset = new Pin("reset", Pin.Direction.OUTPUT, Pin.Level.LOW);
+
+        byte[] image = new byte[0x4000];
+        for (int i = 0; i < SAMPLER.length; i++)
+            image[0x3C00 + i] = (byte) SAMPLER[i];
+        for (int i = 0; i < HANDLER.length; i++)
+            image[0x3C80 + i] = (byte) HANDLER[i];
+        image[0x3FFC] = 0x00;
+        image[0x3FFD] = (byte) 0xFC;
+        image[0x3FFE] = (byte) 0x80;
+        image[0x3FFF] = (byte) 0xFC;
+        kernal.preload(image);
+
+        SystemClock clock = new SystemClock();
+        FastMotherboard board = new FastMotherboard(clock, ted, ram, basic, kernal, new Keyboard(), reset);
+        board.horizon(horizon);
+        for (int i = 0; i < 1000; i++)
+            board.pulse();
+        reset.level(Pin.Level.HIGH);
+        if (batched) {
+            int longest = 0;
+            for (int done = 0; done < 600_000; ) {
+                int run = board.run(600_000 - done);
+                longest = Math.max(longest, run);
+                done += run;
+            }
+            assertTrue(longest > 2);
+        } else {
+            for (int i = 0; i < 600_000; i++)
+                board.pulse();
+        }
+        assertEquals(601_000, clock.halfcycle());
+
+        int[] content = new int[ram.size()];
+        for (int i = 0; i < content.length; i++)
+            content[i] = ram.peek(i) & 0xFF;
+        return content;
+    }
+
+    /**
+     * Checks if the CPU sees the same TED, whether it runs ahead of it or in lock-step.
+     */
+    @Test
+    void catchUp() {
+        int[] lockstep = sample(0, false);
+        int[] ahead = sample(FastMotherboard.HORIZON_SLOTS, false);
+
+        assertTrue(lockstep[0x0700] > 0);
+        assertNotEquals(lockstep[0x04FF], 0);
+        assertArrayEquals(lockstep, ahead);
+    }
+
+    /**
+     * Checks if advancing the TED core in batches gives the same outcome as pulsing the clock.
+     */
+    @Test
+    void batches() {
+        assertArrayEquals(sample(FastMotherboard.HORIZON_SLOTS, false), sample(FastMotherboard.HORIZON_SLOTS, true));
+        assertArrayEquals(sample(0, false), sample(0, true));
+    }
+}
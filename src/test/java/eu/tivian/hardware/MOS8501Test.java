@@ -3,6 +3,7 @@ package eu.tivian.hardware;
 import eu.tivian.software.SimpleCPU;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -19,6 +20,69 @@ import static org.junit.jupiter.api.Assertions.*;
  * @see MOS8501
  */
 class MOS8501Test {
+    /**
+     * CPU completing its reads at the next falling edge of the clock, like on the buses.
+     */
+    static class DeferredCPU extends MOS8501 {
+        /**
+         * 64KB of memory.
+         */
+        final byte[] memory;
+        /**
+         * Address of the pending read.
+         */
+        private int address = 0;
+
+        /**
+         * Initializes the CPU at the given program counter.
+         *
+         * @param memory the memory
+         * @param counter the program counter
+         */
+        DeferredCPU(byte[] memory, int counter) {
+            this.memory = memory;
+            stage = Stage.OPCODE;
+            halt = false;
+            PC = (short) counter;
+        }
+
+        /**
+         * Starts the read of the memory.
+         *
+         * @param address the memory address
+         * @param target destination of the received data
+         */
+        @Override
+        protected void read(short address, Target target) {
+            pending = true;
+            this.target = target;
+            this.address = address & 0xFFFF;
+            source = Source.DATA;
+        }
+
+        /**
+         * Completes the pending read.
+         */
+        @Override
+        protected void latch() {
+            if (pending)
+                load(target, memory[address]);
+            pending = false;
+            target = Target.NONE;
+        }
+
+        /**
+         * Writes to the memory.
+         *
+         * @param address the memory address
+         * @param value value to write
+         */
+        @Override
+        protected void write(short address, byte value) {
+            memory[address & 0xFFFF] = value;
+        }
+    }
+
     /**
      * List of assembly language test programs with start and stop positions.
      */
@@ -109,4 +173,84 @@ class MOS8501Test {
 
         assertFalse(cpu.isHalted());
     }
-}
\ No newline at end of file
+
+    /**
+     * Checks if the JAM opcode stops the CPU until it's restarted.
+     */
+    @Test
+    void jam() {
+        SimpleCPU cpu = new SimpleCPU();
+        cpu.memory[0x0400] = (byte) 0xEA; // NOP
+        cpu.memory[0x0401] = (byte) 0x02; // JAM
+        cpu.start();
+        cpu.counter((short) 0x0400);
+
+        for (int i = 0; i < 16; i++)
+            cpu.step();
+
+        assertTrue(cpu.isJammed());
+        assertTrue(cpu.isHalted());
+        assertEquals("JAM", cpu.mnemonic());
+        long cycles = cpu.cycles();
+
+        cpu.step();
+        assertEquals(cycles, cpu.cycles());
+
+        cpu.start();
+        assertFalse(cpu.isJammed());
+    }
+
+    /**
+     * Checks if the running CPU doesn't allocate any memory.
+     */
+    @Test
+    void allocation() {
+        SimpleCPU cpu = new SimpleCPU();
+        assertDoesNotThrow(() -> getClass().getResourceAsStream("/6502_functional_test.bin").read(cpu.memory));
+        cpu.start();
+        cpu.counter((short) 0x0400);
+
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long id = Thread.currentThread().getId();
+        for (int i = 0; i < 1_000_000; i++)
+            cpu.step();
+
+        long before = bean.getThreadAllocatedBytes(id);
+        for (int i = 0; i < 1_000_000; i++)
+            cpu.step();
+        long after = bean.getThreadAllocatedBytes(id);
+
+        assertFalse(cpu.isJammed());
+        assertEquals(0, after - before);
+    }
+
+    /**
+     * Checks if the CPU taken over at the opcode fetch runs on like the original one.
+     */
+    @Test
+    void takeOver() {
+        byte[] program = new byte[0x10000];
+        assertDoesNotThrow(() -> getClass().getResourceAsStream("/6502_decimal_test.bin").read(program));
+        DeferredCPU reference = new DeferredCPU(program.clone(), 0x0400);
+        DeferredCPU first = new DeferredCPU(program.clone(), 0x0400);
+
+        for (int i = 0; i < 10_000 || !first.fetching(); i++) {
+            reference.cycle();
+            first.cycle();
+        }
+
+        DeferredCPU second = new DeferredCPU(first.memory, 0x0000);
+        second.takeOver(first);
+        for (int i = 0; i < 100_000; i++) {
+            reference.cycle();
+            second.cycle();
+        }
+
+        assertEquals(reference.reg(), second.reg());
+        assertEquals(reference.cycles(), second.cycles());
+        assertArrayEquals(reference.memory, second.memory);
+
+        second.cycle();
+        assertThrows(IllegalStateException.class, () -> first.takeOver(second));
+    }
+}
@@ -0,0 +1,115 @@
+package eu.tivian.hardware;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Memory map unit tests.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see MemoryMap
+ */
+class MemoryMapTest {
+    /**
+     * Last address written to the registers, -1 if none.
+     */
+    private int written;
+    /**
+     * Tested memory map.
+     */
+    private MemoryMap map;
+
+    /**
+     * Builds the memory map with BASIC filled with $BA, KERNAL with $CE and the registers reading their address.
+     */
+    @BeforeEach
+    void setUp() {
+        written = -1;
+        ROM basic = new ROM("BASIC", 0x4000);
+        ROM kernal = new ROM("KERNAL", 0x4000);
+        byte[] image = new byte[0x4000];
+        Arrays.fill(image, (byte) 0xBA);
+        basic.preload(image);
+        Arrays.fill(image, (byte) 0xCE);
+        kernal.preload(image);
+
+        map = new MemoryMap(new DramBank("RAM", 0x4000), basic, kernal, new MemoryMap.Device() {
+            @Override
+            public int read(int address) {
+                return address & 0xFF;
+            }
+
+            @Override
+            public void write(int address, int value) {
+                written = address;
+            }
+        });
+    }
+
+    /**
+     * Checks the ROM banks and the RAM mirrors.
+     */
+    @Test
+    void pages() {
+        map.write(0x1234, 0x5A);
+        assertEquals(0x5A, map.read(0x1234));
+        assertEquals(0x5A, map.read(0x5234));
+        assertEquals(0xBA, map.read(0x9234));
+        assertEquals(0xCE, map.read(0xD234));
+        assertEquals(0x5A, map.ram(0xD234));
+
+        map.write(0x8000, 0x11);
+        assertEquals(0xBA, map.read(0x8000));
+        map.rom(false);
+        assertEquals(0x11, map.read(0x8000));
+        assertEquals(0x5A, map.read(0xD234));
+        assertEquals(0xCE, map.rom(0xD234));
+    }
+
+    /**
+     * Checks the ROM bank latch, clocked by the PLA output F4.
+     */
+    @Test
+    void bank() {
+        map.write(0xFDD5, 0x00);
+        assertEquals(5, map.bank());
+        assertEquals(MemoryMap.OPEN_BUS, map.read(0x8000));
+        assertEquals(MemoryMap.OPEN_BUS, map.read(0xC000));
+        assertEquals(0xCE, map.read(0xFC00));
+        assertEquals(MemoryMap.OPEN_BUS, map.read(0xFFFC));
+
+        map.write(0xFDD4, 0x00);
+        assertEquals(0xBA, map.read(0x8000));
+        map.write(0xFDD0, 0x00);
+        assertEquals(0xCE, map.read(0xC000));
+        assertEquals(0xCE, map.read(0xFFFC));
+        assertEquals(-1, written);
+    }
+
+    /**
+     * Checks the registers in the I/O pages.
+     */
+    @Test
+    void io() {
+        assertEquals(0x15, map.read(0xFF15));
+        assertEquals(0x3F, map.read(0xFD3F));
+        assertEquals(MemoryMap.OPEN_BUS, map.read(0xFD00));
+        assertEquals(MemoryMap.OPEN_BUS, map.read(0xFE30));
+        assertEquals(0xCE, map.read(0xFF40));
+
+        map.write(0xFF3E, 0x00);
+        assertEquals(0xFF3E, written);
+        map.write(0xFD30, 0x00);
+        assertEquals(0xFD30, written);
+
+        map.write(0xFF40, 0x77);
+        assertEquals(0x77, map.ram(0xFF40));
+        map.rom(false);
+        assertEquals(0x77, map.read(0xFF40));
+    }
+}
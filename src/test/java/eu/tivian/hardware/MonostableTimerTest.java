@@ -31,4 +31,50 @@ class MonostableTimerTest {
 
         assertEquals(20, result.get());
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests if the pulse lasts for the chosen time, measured in the simulated time of the clock.
+     */
+    @Test
+    void clock() {
+        SystemClock clock = new SystemClock(1 * SI.MEGA);
+        MonostableTimer timer = new MonostableTimer(47 * SI.KILO, 10 * SI.MICRO, clock);
+        long halfcycles = Math.round(timer.timeout() * clock.frequency() * 2.0);
+
+        timer.trigger();
+        assertEquals(Pin.Level.HIGH, timer.output.level());
+        while (clock.halfcycle() < halfcycles - 1)
+            clock.pulse();
+        timer.trigger();
+        assertEquals(Pin.Level.HIGH, timer.output.level());
+        assertEquals(1, clock.events().size());
+
+        clock.pulse();
+        assertEquals(Pin.Level.LOW, timer.output.level());
+        assertEquals(0, clock.events().size());
+    }
+
+    /**
+     * Tests if the pulse ends when the clock drops its end, so the next trigger starts the new pulse.
+     */
+    @Test
+    void clear() {
+        SystemClock clock = new SystemClock(1 * SI.MEGA);
+        MonostableTimer timer = new MonostableTimer(47 * SI.KILO, 10 * SI.MICRO, clock);
+        long halfcycles = Math.round(timer.timeout() * clock.frequency() * 2.0);
+
+        timer.trigger();
+        for (int i = 0; i < 1000; i++)
+            clock.pulse();
+        clock.clear();
+        assertEquals(Pin.Level.LOW, timer.output.level());
+        assertEquals(0, clock.events().size());
+
+        timer.trigger();
+        assertEquals(Pin.Level.HIGH, timer.output.level());
+        assertEquals(1, clock.events().size());
+        while (clock.halfcycle() < halfcycles)
+            clock.pulse();
+        assertEquals(Pin.Level.LOW, timer.output.level());
+    }
+}
@@ -0,0 +1,105 @@
+package eu.tivian.hardware;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the netlist compiler.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see NetlistCompiler
+ * @see Netlist
+ */
+class NetlistCompilerTest {
+    /**
+     * Checks if the compiler finds all of the nets and pins.
+     */
+    @Test
+    void compile() {
+        Bus output = new Bus("out", "O", Pin.Direction.OUTPUT, 8);
+        Bus input  = new Bus("in" , "I", Pin.Direction.INPUT , 8);
+        Pin pin = new Pin(Pin.Direction.INPUT);
+        output.connect(input);
+        output.get(0).connect(pin);
+
+        Netlist netlist = NetlistCompiler.compile(output);
+        assertTrue(netlist.active());
+        assertEquals(8, netlist.nets());
+        assertEquals(17, netlist.pins());
+    }
+
+    /**
+     * Checks if the power and ground pins drive the compiled nets.
+     */
+    @Test
+    void power() {
+        Pin A = new Pin(Pin.Direction.INPUT);
+        Pin B = new Pin(Pin.Direction.INPUT);
+        Pin C = new Pin(Pin.Direction.INPUT);
+        Pin D = new Pin(Pin.Direction.INPUT);
+        Pin.VCC.connect(A);
+        Pin.VCC.wire().connect(B);
+        C.connect(Pin.GND);
+        D.connect(C);
+        D.pullUp();
+
+        Netlist netlist = NetlistCompiler.compile(A, C);
+        assertEquals(2, netlist.nets());
+        assertEquals(Pin.Level.HIGH, A.level());
+        assertEquals(Pin.Level.HIGH, B.level());
+        assertEquals(Pin.Level.LOW , C.level());
+        assertEquals(Pin.Level.LOW , D.level());
+    }
+
+    /**
+     * Checks if releasing the netlist keeps the state of the pins.
+     */
+    @Test
+    void release() {
+        AtomicInteger changes = new AtomicInteger();
+        Pin A = new Pin(Pin.Direction.OUTPUT);
+        Pin B = new Pin(Pin.Direction.INPUT);
+        Pin C = new Pin(Pin.Direction.INPUT);
+        A.connect(B);
+        B.onChange(changes::incrementAndGet);
+
+        Netlist netlist = NetlistCompiler.compile(A);
+        A.level(Pin.Level.HIGH);
+        B.direction(Pin.Direction.OUTPUT);
+        A.direction(Pin.Direction.INPUT);
+        assertEquals(1, changes.get());
+        assertEquals(Pin.Level.HIGH, A.level());
+
+        A.connect(C);
+        assertFalse(netlist.active());
+        assertEquals(Pin.Level.HIGH, A.level());
+        assertEquals(Pin.Level.HIGH, B.level());
+        assertEquals(Pin.Level.HIGH, C.level());
+
+        B.level(Pin.Level.LOW);
+        assertEquals(Pin.Level.LOW, A.level());
+        assertEquals(Pin.Level.LOW, C.level());
+    }
+
+    /**
+     * Checks if recompiling the pins releases the previous netlist.
+     */
+    @Test
+    void recompile() {
+        Pin A = new Pin(Pin.Direction.OUTPUT);
+        Pin B = new Pin(Pin.Direction.INPUT);
+        A.connect(B);
+
+        Netlist first = NetlistCompiler.compile(A);
+        A.level(Pin.Level.HIGH);
+        Netlist second = NetlistCompiler.compile(B);
+
+        assertFalse(first.active());
+        assertTrue(second.active());
+        assertEquals(Pin.Level.HIGH, B.level());
+    }
+}
@@ -28,6 +28,35 @@ class PLATest {
 
         assertEquals(0b00111101, output.value());
     }
+
+    /**
+     * Checks if each lane of the PLA matches the chip driven through the pins.
+     */
+    @Test
+    void lanes() {
+        PLA pla    = new PLA();
+        Bus input  = new Bus("input" , "I", Pin.Direction.OUTPUT, 16);
+        Bus output = new Bus("output", "F", Pin.Direction.INPUT ,  8);
+        input.connect(new Bus(pla.input));
+        output.connect(new Bus(pla.output));
+
+        for (int base = 0; base < 0x10000; base += Long.SIZE) {
+            long[] lanes = new long[16];
+            for (int lane = 0; lane < Long.SIZE; lane++) {
+                for (int i = 0; i < lanes.length; i++)
+                    lanes[i] |= (long) (((base + lane) >> i) & 1) << lane;
+            }
+
+            long[] levels = pla.evaluate(lanes);
+            for (int lane = 0; lane < Long.SIZE; lane += 7) {
+                input.value(base + lane);
+                long value = 0;
+                for (int i = 0; i < levels.length; i++)
+                    value |= ((levels[i] >>> lane) & 1) << i;
+                assertEquals(output.value(), value, "input " + (base + lane));
+            }
+        }
+    }
 }
 
 /*
@@ -0,0 +1,77 @@
+package eu.tivian.hardware;
+
+import eu.tivian.other.SI;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the wall-clock pacing of the emulation.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see Pacer
+ */
+class PacerTest {
+    /**
+     * Runs the clock for the given time, synchronizing after each millisecond.
+     *
+     * @param clock the paced clock
+     * @param pacer the pacer of the clock
+     * @param millis simulated time in milliseconds
+     * @return wall-clock time in nanoseconds
+     */
+    private static long run(SystemClock clock, Pacer pacer, int millis) {
+        long halfcycles = Math.round(2 * clock.frequency() * SI.MILLI);
+        pacer.sync();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < millis; i++) {
+            for (long j = 0; j < halfcycles; j++)
+                clock.pulse();
+            pacer.sync();
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Checks if the emulation is held back to the selected speed and the speed is measured.
+     */
+    @Test
+    void speed() {
+        SystemClock clock = new SystemClock(100 * SI.KILO);
+        Pacer pacer = new Pacer(clock);
+
+        long elapsed = run(clock, pacer, 300);
+        assertTrue(elapsed >= 299 * SI.MILLI / SI.NANO);
+        assertTrue(pacer.measured() > 0.0);
+
+        pacer.speed(200.0);
+        elapsed = run(clock, pacer, 100);
+        assertTrue(elapsed >= 49 * SI.MILLI / SI.NANO);
+    }
+
+    /**
+     * Checks if the warp mode doesn't wait at all.
+     */
+    @Test
+    void warp() {
+        SystemClock clock = new SystemClock(100 * SI.KILO);
+        Pacer pacer = new Pacer(clock);
+        pacer.speed(Pacer.WARP);
+
+        assertTrue(run(clock, pacer, 1000) < 1000 * SI.MILLI / SI.NANO);
+    }
+
+    /**
+     * Checks if the invalid settings are rejected.
+     */
+    @Test
+    void invalid() {
+        Pacer pacer = new Pacer(new SystemClock());
+        assertThrows(NullPointerException.class, () -> new Pacer(null));
+        assertThrows(NullPointerException.class, () -> pacer.slice(null));
+        assertThrows(IllegalArgumentException.class, () -> pacer.speed(-1.0));
+        assertThrows(IllegalArgumentException.class, () -> pacer.speed(Double.NaN));
+    }
+}
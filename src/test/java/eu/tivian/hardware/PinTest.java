@@ -1,6 +1,8 @@
 package eu.tivian.hardware;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -35,15 +37,20 @@ class PinTest {
 
     /**
      * Checks if disconnecting pins make them correctly disconnected.
+     *
+     * @param compiled {@code true} if the pins should be simulated by the compiled netlist
      */
-    @Test
-    void disconnect() {
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    void disconnect(boolean compiled) {
         Pin A = new Pin("A", Pin.Direction.OUTPUT);
         Pin B = new Pin("B", Pin.Direction.INPUT );
         Pin C = new Pin("C", Pin.Direction.INPUT );
 
         A.connect(B);
         A.connect(C);
+        if (compiled)
+            NetlistCompiler.compile(A, B, C);
         assertEquals(A.wire(), B.wire());
         assertEquals(A.wire(), C.wire());
 
@@ -73,12 +80,17 @@ class PinTest {
 
     /**
      * Checks if the pin behaves correctly after the direction of the pin is changed
+     *
+     * @param compiled {@code true} if the pins should be simulated by the compiled netlist
      */
-    @Test
-    void direction() {
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    void direction(boolean compiled) {
         Pin A = new Pin(Pin.Direction.OUTPUT);
         Pin B = new Pin(Pin.Direction.INPUT);
         A.connect(B);
+        if (compiled)
+            NetlistCompiler.compile(A, B);
 
         assertEquals(Pin.Level.LOW, A.level());
         assertEquals(Pin.Level.LOW, B.level());
@@ -162,13 +174,18 @@ class PinTest {
 
     /**
      * Checks if pulling-up the pin works.
+     *
+     * @param compiled {@code true} if the pins should be simulated by the compiled netlist
      */
-    @Test
-    void pullUp() {
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    void pullUp(boolean compiled) {
         Pin A = new Pin(Pin.Direction.OUTPUT);
         Pin B = new Pin(Pin.Direction.INPUT);
         A.connect(B);
         B.pullUp();
+        if (compiled)
+            NetlistCompiler.compile(A, B);
 
         A.level(Pin.Level.HIGH);
         assertEquals(A.level(), B.level());
@@ -185,9 +202,12 @@ class PinTest {
 
     /**
      * Checks if updating the pins yields expected behavior.
+     *
+     * @param compiled {@code true} if the pins should be simulated by the compiled netlist
      */
-    @Test
-    void update() {
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    void update(boolean compiled) {
         AtomicBoolean changedA = new AtomicBoolean(false);
         AtomicBoolean changedB = new AtomicBoolean(false);
         AtomicBoolean changedC = new AtomicBoolean(false);
@@ -197,6 +217,8 @@ class PinTest {
         Pin C = new Pin(Pin.Direction.INPUT);
         A.connect(B);
         B.connect(C);
+        if (compiled)
+            NetlistCompiler.compile(A, B, C);
 
         A.onChange(() -> changedA.set(true));
         B.onChange(() -> changedB.set(true));
@@ -231,15 +253,20 @@ class PinTest {
 
     /**
      * Checks if connecting multiple pins together works as it should.
+     *
+     * @param compiled {@code true} if the pins should be simulated by the compiled netlist
      */
-    @Test
-    void multiple() {
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    void multiple(boolean compiled) {
         Pin A = new Pin("A", Pin.Direction.OUTPUT);
         Pin B = new Pin("B", Pin.Direction.INPUT);
         Pin C = new Pin("C", Pin.Direction.INPUT);
 
         B.connect(A);
         C.connect(B);
+        if (compiled)
+            NetlistCompiler.compile(A, B, C);
 
         assertEquals(A.wire(), B.wire());
         assertEquals(B.wire(), C.wire());
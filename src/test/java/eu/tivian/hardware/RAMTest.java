@@ -1,6 +1,8 @@
 package eu.tivian.hardware;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -14,29 +16,51 @@ import static org.junit.jupiter.api.Assertions.*;
 class RAMTest {
     /**
      * Tests if reading from RAM chip works correctly.
+     * <br>Both chips share the row and the column lines and each of them holds one nibble of the byte,
+     * like on the motherboard.
+     *
+     * @param compiled {@code true} if the chips should be simulated by the compiled netlist
      */
-    @Test
-    void read() {
-        TED ted = new TED();
-        Pin clock = new Pin(Pin.Direction.OUTPUT);
-        Pin rw = new Pin(Pin.Direction.OUTPUT);
-        RAM ramA = new RAM(8, 4, 65536);
-        RAM ramB = new RAM(8, 4, 65536);
-        Bus address = new Bus("addr", "A", Pin.Direction.OUTPUT, 16);
-        Bus data    = new Bus("data", "D", Pin.Direction.OUTPUT, 8);
-
-        ted.phiIn.connect(clock);
-        ted.rw.connect(rw).connect(ramA.rw).connect(ramB.rw);
-        ted.address.connect(address);
-        ted.data.connect(data);
-        ted.ras.connect(ramA.ras).connect(ramB.ras);
-        ted.cas.connect(ramA.cas).connect(ramB.cas);
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    void read(boolean compiled) {
+        Pin ras = new Pin("RAS", Pin.Direction.OUTPUT, Pin.Level.HIGH);
+        Pin cas = new Pin("CAS", Pin.Direction.OUTPUT, Pin.Level.HIGH);
+        Pin rw  = new Pin("R/W", Pin.Direction.OUTPUT, Pin.Level.HIGH);
+        RAM ramA = new RAM(8, 4, 0x4000);
+        RAM ramB = new RAM(8, 4, 0x4000);
+        Bus address = new Bus("addr", "A", Pin.Direction.OUTPUT, 8);
+        Bus data    = new Bus("data", "D", Pin.Direction.INPUT , 8);
+
+        rw.connect(ramA.rw).connect(ramB.rw);
+        ras.connect(ramA.ras).connect(ramB.ras);
+        cas.connect(ramA.cas).connect(ramB.cas);
         ramA.enable.connect(Pin.GND);
         ramB.enable.connect(Pin.GND);
         data.connect(ramA.data, i -> i > 3 ? -1 : i)
             .connect(ramB.data, i -> i < 4 ? -1 : i - 4);
-        address.connect(ramA.address, i -> i > 7 ? -1 : i)
-               .connect(ramB.address, i -> i < 8 ? -1 : i - 8);
+        address.connect(ramA.address).connect(ramB.address);
+
+        if (compiled)
+            NetlistCompiler.compile(ramA, ramB, address, data, ras, cas, rw);
+
+        ramA.poke(0x2A42, (byte) 0x05);
+        ramB.poke(0x2A42, (byte) 0x0A);
+        ramA.poke(0x0001, (byte) 0x0F);
+
+        int[][] cycles = { { 0x42, 0x2A, 0xA5 }, { 0x01, 0x00, 0xBF }, { 0x42, 0x2B, 0xBB } };
+        for (int[] cycle : cycles) {
+            address.value(cycle[0]);
+            ras.level(Pin.Level.LOW);
+            address.value(cycle[1] << 1);
+            cas.level(Pin.Level.LOW);
+            assertEquals(Pin.Direction.OUTPUT, ramA.data.direction());
+            assertEquals(cycle[2], data.value(), String.format("row $%02X column $%02X", cycle[0], cycle[1]));
+
+            cas.level(Pin.Level.HIGH);
+            ras.level(Pin.Level.HIGH);
+            assertEquals(Pin.Direction.HI_Z, ramA.data.direction());
+        }
     }
 
     /**
@@ -0,0 +1,244 @@
+package eu.tivian.hardware;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the Java implementation of the TED core.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see TEDCore
+ */
+class TEDCoreTest {
+    /**
+     * Advances the core by the given number of clock edges.
+     *
+     * @param core the TED core
+     * @param clocks number of rising edges of the clock
+     */
+    private static void clock(TEDCore core, int clocks) {
+        for (int i = 0; i < clocks; i++)
+            core.clock();
+    }
+
+    /**
+     * Checks the timing of the memory access in the double clock mode.
+     */
+    @Test
+    void slot() {
+        TEDCore core = new TEDCore();
+        core.address(0x1000);
+        core.rw(true);
+
+        clock(core, 1);
+        assertFalse(core.phi());
+        assertTrue(core.mux());
+        clock(core, 1);
+        assertTrue(core.ras());
+        assertTrue(core.cas());
+        clock(core, 3);
+        assertFalse(core.ras());
+        clock(core, 4);
+        assertTrue(core.phi());
+        clock(core, 2);
+        assertFalse(core.mux());
+        assertTrue(core.cas());
+        clock(core, 1);
+        assertFalse(core.cas());
+        assertTrue(core.aec());
+        assertTrue(core.ba());
+    }
+
+    /**
+     * Checks if the ROM is selected instead of RAM until it's switched off.
+     */
+    @Test
+    void rom() {
+        TEDCore core = new TEDCore();
+        core.address(0xC000);
+        core.rw(true);
+
+        clock(core, 12);
+        assertFalse(core.cs1());
+        assertTrue(core.cs0());
+        assertTrue(core.cas());
+        assertEquals(0x01, core.read(0x13) & 0x01);
+
+        core.write(0x3F, 0x00);
+        clock(core, TEDCore.SLOT_CLOCKS);
+        assertTrue(core.cs1());
+        assertFalse(core.cas());
+        assertEquals(0x00, core.read(0x13) & 0x01);
+    }
+
+    /**
+     * Checks if the TED drives the data bus when the CPU reads its register.
+     */
+    @Test
+    void register() {
+        TEDCore core = new TEDCore();
+        core.write(0x15, 0x71);
+        core.address(0xFF15);
+        core.rw(true);
+
+        clock(core, 11);
+        assertFalse(core.dataOut());
+        clock(core, 1);
+        assertTrue(core.dataOut());
+        assertTrue(core.cas());
+        assertEquals(0xF1, core.dataValue());
+    }
+
+    /**
+     * Checks if the timer requests the interrupt after it counts down.
+     */
+    @Test
+    void timer() {
+        TEDCore core = new TEDCore();
+        core.write(0x0A, 0x10);
+        core.write(0x02, 0x08);
+        core.write(0x03, 0x00);
+
+        clock(core, 7 * 2 * TEDCore.SLOT_CLOCKS);
+        assertTrue(core.irq());
+        clock(core, 2 * TEDCore.SLOT_CLOCKS);
+        assertFalse(core.irq());
+        assertEquals(0x90, core.read(0x09) & 0x90);
+
+        core.write(0x09, 0x10);
+        assertTrue(core.irq());
+    }
+
+    /**
+     * Checks if the raster interrupt is requested at the selected line.
+     */
+    @Test
+    void raster() {
+        TEDCore core = new TEDCore();
+        core.write(0x0B, 10);
+        core.write(0x0A, 0x02);
+
+        clock(core, 10 * TEDCore.LINE_SLOTS * TEDCore.SLOT_CLOCKS);
+        assertTrue(core.irq());
+        assertEquals(10, core.line());
+
+        clock(core, 1);
+        assertFalse(core.irq());
+        assertEquals(10, core.read(0x1D));
+    }
+
+    /**
+     * Checks if the CPU is stopped and the TED takes over the bus on the bad line.
+     */
+    @Test
+    void dma() {
+        TEDCore core = new TEDCore();
+        core.write(0x06, 0x1B);
+        core.write(0x14, 0x08);
+
+        boolean stopped = false, fetched = false, single = false;
+        for (int i = 0; i < 16 * TEDCore.LINE_SLOTS * TEDCore.SLOT_CLOCKS; i++) {
+            core.clock();
+            stopped |= !core.ba();
+            if (core.addressOut()) {
+                fetched = true;
+                assertFalse(core.aec());
+            }
+            single |= core.phi() && core.slot() % 2 == 1 && !core.addressOut();
+        }
+
+        assertTrue(stopped);
+        assertTrue(fetched);
+        assertTrue(single);
+    }
+
+    /**
+     * Checks if the core stops at the first changed output and reports it.
+     */
+    @Test
+    void advance() {
+        TEDCore core = new TEDCore();
+        core.address(0x1000);
+        core.rw(true);
+
+        assertEquals(5, core.advance(100));
+        assertEquals(TEDCore.RAS, core.changed());
+        assertEquals(4, core.advance(100));
+        assertEquals(TEDCore.PHI, core.changed());
+        assertEquals(2, core.advance(2));
+        assertEquals(TEDCore.MUX, core.changed());
+        assertEquals(1, core.advance(100));
+        assertEquals(TEDCore.CAS, core.changed());
+        assertEquals(0, core.outputs() & (TEDCore.CAS | TEDCore.ADDRESS | TEDCore.DATA));
+    }
+
+    /**
+     * Checks if the whole frame is written into the frame buffer, with one event per line and frame.
+     */
+    @Test
+    void frame() {
+        TEDCore core = new TEDCore();
+        byte[] frame = new byte[TED.WIDTH * TED.HEIGHT];
+        int[] events = new int[2];
+        core.frame(frame, new TED.Screen() {
+            @Override
+            public void line(int y) {
+                if (events[1] > 0)
+                    assertEquals(events[0]++, y);
+            }
+
+            @Override
+            public void vsync() {
+                events[1]++;
+            }
+        });
+        core.write(0x19, 0x32);
+
+        while (events[1] == 0)
+            core.clock();
+        clock(core, TEDCore.PAL_LINES * TEDCore.LINE_SLOTS * TEDCore.SLOT_CLOCKS);
+        assertEquals(2, events[1]);
+        assertEquals(TED.HEIGHT, events[0]);
+        for (byte pixel : frame)
+            assertEquals(0x32, pixel);
+    }
+
+    /**
+     * Checks if the scanline mode renders the same frame as the pixels drawn one by one,
+     * with the registers written in the middle of the lines.
+     */
+    @Test
+    void scanlines() {
+        TEDCore pixels = new TEDCore(), lines = new TEDCore();
+        byte[] expected = new byte[TED.WIDTH * TED.HEIGHT], actual = new byte[TED.WIDTH * TED.HEIGHT];
+        int[] vsync = new int[2];
+        pixels.frame(expected, () -> vsync[0]++);
+        lines.frame(actual, () -> vsync[1]++);
+        lines.scanlines(true);
+
+        int[][] writes = { { 0x06, 0x1B }, { 0x07, 0x0B }, { 0x15, 0x71 }, { 0x19, 0x32 }, { 0x07, 0x15 } };
+        for (TEDCore core : new TEDCore[] { pixels, lines }) {
+            core.write(0x06, 0x1B);
+            core.write(0x13, 0xD0);
+        }
+
+        for (int i = 0; vsync[1] < 3; i++) {
+            for (TEDCore core : new TEDCore[] { pixels, lines }) {
+                core.data(i * 7);
+                core.clock();
+                if (i % 1013 == 0)
+                    core.write(writes[(i / 1013) % writes.length][0], writes[(i / 1013) % writes.length][1] + i);
+            }
+
+            if (i == 600_000)
+                lines.scanlines(false);
+            else if (i == 700_001)
+                lines.scanlines(true);
+        }
+
+        assertEquals(vsync[0], vsync[1]);
+        assertArrayEquals(expected, actual);
+    }
+}
@@ -0,0 +1,79 @@
+package eu.tivian.hardware;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the transactions.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see Transaction
+ */
+class TransactionTest {
+    /**
+     * Checks if the listener sees only the state after all of the staged changes.
+     */
+    @Test
+    void commit() {
+        AtomicInteger evaluations = new AtomicInteger();
+        AtomicLong seen = new AtomicLong();
+        Pin rwOut = new Pin(Pin.Direction.OUTPUT);
+        Pin rwIn  = new Pin(Pin.Direction.INPUT);
+        Bus output = new Bus("out", "O", Pin.Direction.OUTPUT, 16);
+        Bus input  = new Bus("in" , "I", Pin.Direction.INPUT , 16);
+
+        rwOut.connect(rwIn);
+        output.connect(input);
+        Runnable update = () -> {
+            evaluations.incrementAndGet();
+            seen.set(input.value() | (rwIn.level() == Pin.Level.HIGH ? 0x10000 : 0));
+        };
+        rwIn.onChange(update);
+        input.onChange(update);
+
+        Transaction t = Transaction.begin();
+        try {
+            rwOut.level(Pin.Level.HIGH);
+            output.value(0xFF00);
+            assertTrue(Transaction.active());
+            assertEquals(0xFF00, input.value());
+            assertEquals(0, evaluations.get());
+        } finally {
+            t.commit();
+        }
+
+        assertFalse(Transaction.active());
+        assertEquals(1, evaluations.get());
+        assertEquals(0x1FF00, seen.get());
+    }
+
+    /**
+     * Checks if only the outermost transaction notifies the listeners.
+     */
+    @Test
+    void nested() {
+        AtomicInteger evaluations = new AtomicInteger();
+        Pin output = new Pin(Pin.Direction.OUTPUT);
+        Pin input  = new Pin(Pin.Direction.INPUT);
+        output.connect(input);
+        input.onChange(evaluations::incrementAndGet);
+
+        Transaction outer = Transaction.begin();
+        Transaction inner = Transaction.begin();
+        try {
+            output.level(Pin.Level.HIGH);
+        } finally {
+            inner.commit();
+        }
+        assertEquals(0, evaluations.get());
+        outer.commit();
+        assertEquals(1, evaluations.get());
+
+        assertThrows(IllegalStateException.class, outer::commit);
+    }
+}
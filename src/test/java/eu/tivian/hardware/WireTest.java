@@ -0,0 +1,118 @@
+package eu.tivian.hardware;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test suite for the wire.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see Wire
+ */
+class WireTest {
+    /**
+     * Checks if the wire is at high level when any of the drivers is.
+     */
+    @Test
+    void drivers() {
+        Pin A = new Pin(Pin.Direction.OUTPUT);
+        Pin B = new Pin(Pin.Direction.OUTPUT);
+        Pin C = new Pin(Pin.Direction.INPUT);
+        A.connect(B);
+        A.connect(C);
+        Wire wire = A.wire();
+
+        A.level(Pin.Level.HIGH);
+        B.level(Pin.Level.HIGH);
+        assertEquals(Pin.Level.HIGH, wire.level());
+
+        A.level(Pin.Level.LOW);
+        assertEquals(Pin.Level.HIGH, wire.level());
+
+        B.direction(Pin.Direction.HI_Z);
+        assertEquals(Pin.Level.LOW, wire.level());
+
+        B.direction(Pin.Direction.OUTPUT);
+        assertEquals(Pin.Level.HIGH, C.level());
+
+        B.disconnect();
+        assertEquals(Pin.Level.LOW, C.level());
+    }
+
+    /**
+     * Checks if the pull-ups are taken into account only without the drivers.
+     */
+    @Test
+    void pullUp() {
+        Pin A = new Pin(Pin.Direction.HI_Z);
+        Pin B = new Pin(Pin.Direction.INPUT);
+        Pin C = new Pin(Pin.Direction.INPUT);
+        A.connect(B);
+        A.connect(C);
+
+        B.pullUp();
+        C.pullUp();
+        assertEquals(Pin.Level.HIGH, A.wire().level());
+
+        B.pullUp(false);
+        assertEquals(Pin.Level.HIGH, A.wire().level());
+
+        A.direction(Pin.Direction.OUTPUT);
+        assertEquals(Pin.Level.LOW, A.wire().level());
+
+        A.direction(Pin.Direction.INPUT);
+        assertEquals(Pin.Level.HIGH, A.wire().level());
+
+        C.pullUp(false);
+        assertEquals(Pin.Level.LOW, A.wire().level());
+    }
+
+    /**
+     * Checks if only the pins with the event handler are notified, and only about the actual changes.
+     */
+    @Test
+    void listeners() {
+        AtomicInteger changes = new AtomicInteger();
+        Pin A = new Pin(Pin.Direction.OUTPUT);
+        Pin B = new Pin(Pin.Direction.INPUT);
+        Pin C = new Pin(Pin.Direction.INPUT);
+        A.connect(B);
+        A.connect(C);
+        B.onChange(changes::incrementAndGet);
+
+        A.level(Pin.Level.HIGH);
+        A.level(Pin.Level.HIGH);
+        assertEquals(1, changes.get());
+        assertEquals(Pin.Level.HIGH, C.level());
+
+        B.onChange(null);
+        A.level(Pin.Level.LOW);
+        assertEquals(1, changes.get());
+        assertEquals(Pin.Level.LOW, B.level());
+    }
+
+    /**
+     * Checks if the pin connected to another wire is moved.
+     */
+    @Test
+    void move() {
+        Pin A = new Pin(Pin.Direction.OUTPUT);
+        Pin B = new Pin(Pin.Direction.INPUT);
+        Pin C = new Pin(Pin.Direction.OUTPUT);
+        A.connect(B);
+        Wire first = A.wire();
+
+        A.level(Pin.Level.HIGH);
+        C.connect(new Pin(Pin.Direction.INPUT));
+        C.wire().connect(A);
+
+        assertNotEquals(first, A.wire());
+        assertEquals(Pin.Level.LOW, first.level());
+        assertEquals(Pin.Level.LOW, B.level());
+        assertEquals(Pin.Level.HIGH, C.wire().level());
+    }
+}
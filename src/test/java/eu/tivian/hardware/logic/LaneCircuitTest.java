@@ -0,0 +1,204 @@
+package eu.tivian.hardware.logic;
+
+import eu.tivian.hardware.PLA;
+import eu.tivian.hardware.Pin;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lane circuit unit tests.
+ * <br>Every lane of the circuit is compared with its own copy of the circuit built from the pins.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see LaneCircuit
+ */
+class LaneCircuitTest {
+    /**
+     * Multiplexers latched by the flip-flops, the first multiplexer sharing its output with the tri-state gate.
+     */
+    private static final class Board {
+        /**
+         * Pins driving the circuit: inputs A and B, select, enable, data, reset and clock.
+         */
+        final Pin[] drivers = new Pin[13];
+        /**
+         * Address multiplexers.
+         */
+        final IC74LS257 mux = new IC74LS257();
+        /**
+         * Inverter of the enable signal.
+         */
+        final LogicGate not = new LogicGate(LogicGate.Type.NOT);
+        /**
+         * Tri-state buffers.
+         */
+        final IC74LS125 buffer = new IC74LS125();
+        /**
+         * Latches of the multiplexed signals.
+         */
+        final IC74LS175 latch = new IC74LS175();
+
+        /**
+         * Wires the circuit.
+         */
+        Board() {
+            for (int i = 0; i < drivers.length; i++)
+                drivers[i] = new Pin(Pin.Direction.OUTPUT);
+
+            for (int i = 0; i < 4; i++) {
+                drivers[i].connect(mux.get(i).inputA);
+                drivers[i + 4].connect(mux.get(i).inputB);
+                mux.get(i).output.connect(latch.get(i).input);
+            }
+            drivers[8].connect(mux.select);
+            drivers[9].connect(mux.enable).connect(not.inputA);
+            not.output.connect(buffer.get(0).enable);
+            drivers[10].connect(buffer.get(0).input);
+            buffer.get(0).output.connect(mux.get(0).output);
+            drivers[11].connect(latch.reset);
+            drivers[12].connect(latch.clock);
+            latch.get(1).input.pullUp();
+        }
+
+        /**
+         * Gets the parts of the circuit.
+         * @return the parts of the circuit
+         */
+        Object[] parts() {
+            return new Object[] {
+                mux.get(0), mux.get(1), mux.get(2), mux.get(3), not, buffer.get(0),
+                latch.get(0), latch.get(1), latch.get(2), latch.get(3)
+            };
+        }
+
+        /**
+         * Gets the observed pins.
+         * @return inputs and both outputs of each flip-flop
+         */
+        Pin[] probes() {
+            Pin[] probes = new Pin[12];
+            for (int i = 0; i < 4; i++) {
+                probes[3 * i] = latch.get(i).input;
+                probes[3 * i + 1] = latch.get(i).output;
+                probes[3 * i + 2] = latch.get(i).revOut;
+            }
+            return probes;
+        }
+    }
+
+    /**
+     * Checks if every lane of the circuit matches the circuit built from the pins.
+     * <br>The clock changes alone, so the order of the changes doesn't matter.
+     */
+    @Test
+    void lanes() {
+        Board lanes = new Board();
+        LaneCircuit circuit = new LaneCircuit(lanes.parts());
+        Board[] boards = new Board[Lanes.COUNT];
+        for (int lane = 0; lane < boards.length; lane++)
+            boards[lane] = new Board();
+
+        Random random = new Random(0x175);
+        for (int step = 0; step < 200; step++) {
+            int from = (step & 1) == 0 ? 0 : 12;
+            int to = (step & 1) == 0 ? 12 : 13;
+            for (int i = from; i < to; i++) {
+                long levels = i != 11 ? random.nextLong() : random.nextLong() | random.nextLong();
+                circuit.drive(lanes.drivers[i], levels);
+                for (int lane = 0; lane < boards.length; lane++)
+                    boards[lane].drivers[i].level(Lanes.get(levels, lane));
+            }
+            circuit.settle();
+
+            Pin[] probes = lanes.probes();
+            for (int lane = 0; lane < boards.length; lane++) {
+                Pin[] expected = boards[lane].probes();
+                for (int i = 0; i < probes.length; i++) {
+                    assertEquals(expected[i].level().bool(), Lanes.get(circuit.level(probes[i]), lane),
+                        "step " + step + " lane " + lane + " probe " + i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if every lane of the PLA and the gate combining its outputs matches the chips built from the pins.
+     */
+    @Test
+    void pla() {
+        PLA[] plas = new PLA[Lanes.COUNT + 1];
+        LogicGate[] gates = new LogicGate[plas.length];
+        Pin[][] drivers = new Pin[plas.length][16];
+        for (int lane = 0; lane < plas.length; lane++) {
+            plas[lane] = new PLA();
+            gates[lane] = new LogicGate(LogicGate.Type.NAND);
+            for (int i = 0; i < 16; i++)
+                drivers[lane][i] = new Pin(Pin.Direction.OUTPUT).connect(plas[lane].input.get(i));
+            plas[lane].output.get(0).connect(gates[lane].inputA);
+            plas[lane].output.get(2).connect(gates[lane].inputB);
+        }
+
+        PLA pla = plas[Lanes.COUNT];
+        LogicGate gate = gates[Lanes.COUNT];
+        LaneCircuit circuit = new LaneCircuit(pla, gate);
+        assertArrayEquals(new long[8], pla.disconnected(new long[16]));
+
+        Random random = new Random(0x251641);
+        for (int step = 0; step < 50; step++) {
+            for (int i = 0; i < 16; i++) {
+                // the chip select equations need the upper address lines mostly HIGH
+                long levels = i >= 9 && i <= 14 ? random.nextLong() | random.nextLong() : random.nextLong();
+                circuit.drive(drivers[Lanes.COUNT][i], levels);
+                for (int lane = 0; lane < Lanes.COUNT; lane++)
+                    drivers[lane][i].level(Lanes.get(levels, lane));
+            }
+            circuit.settle();
+
+            for (int lane = 0; lane < Lanes.COUNT; lane++) {
+                for (int i = 0; i < 8; i++) {
+                    assertEquals(plas[lane].output.get(i).level().bool(),
+                        Lanes.get(circuit.level(pla.output.get(i)), lane), "step " + step + " lane " + lane + " F" + i);
+                }
+                assertEquals(gates[lane].output.level().bool(), Lanes.get(circuit.level(gate.output), lane));
+            }
+        }
+    }
+
+    /**
+     * Checks if the undriven net is pulled up and the released net follows its other drivers.
+     */
+    @Test
+    void pullUp() {
+        Board board = new Board();
+        LaneCircuit circuit = new LaneCircuit(board.parts());
+        circuit.drive(board.drivers[9], Lanes.HIGH);
+        circuit.drive(board.drivers[10], 0b0110);
+        circuit.settle();
+
+        assertEquals(Lanes.HIGH, circuit.level(board.latch.get(1).input));
+        assertEquals(Lanes.LOW, circuit.level(board.latch.get(2).input));
+        assertEquals(0b0110, circuit.level(board.latch.get(0).input));
+
+        circuit.release(board.drivers[10]);
+        circuit.settle();
+        assertEquals(Lanes.LOW, circuit.level(board.latch.get(0).input));
+    }
+
+    /**
+     * Checks if the unsupported parts and the foreign pins are rejected.
+     */
+    @Test
+    void invalid() {
+        Board board = new Board();
+        assertThrows(IllegalArgumentException.class, () -> new LaneCircuit(board.latch));
+        assertThrows(NullPointerException.class, () -> new LaneCircuit(board.not, null));
+
+        LaneCircuit circuit = new LaneCircuit(board.not);
+        assertThrows(IllegalArgumentException.class, () -> circuit.level(board.latch.clock));
+        assertThrows(NullPointerException.class, () -> circuit.drive(null, Lanes.HIGH));
+    }
+}
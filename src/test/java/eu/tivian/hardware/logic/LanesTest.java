@@ -0,0 +1,114 @@
+package eu.tivian.hardware.logic;
+
+import eu.tivian.hardware.Pin;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bit-sliced logic unit tests.
+ * <br>Every lane is compared with the gate built from the pins.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see Lanes
+ */
+class LanesTest {
+    /**
+     * Checks if the single lanes can be read and changed.
+     */
+    @Test
+    void lanes() {
+        long lanes = Lanes.set(Lanes.LOW, 63, true);
+        assertTrue(Lanes.get(lanes, 63));
+        assertFalse(Lanes.get(lanes, 0));
+        assertEquals(Lanes.LOW, Lanes.set(lanes, 63, false));
+        assertEquals(Lanes.HIGH, Lanes.of(true));
+        assertThrows(IndexOutOfBoundsException.class, () -> Lanes.get(lanes, Lanes.COUNT));
+        assertThrows(IndexOutOfBoundsException.class, () -> Lanes.set(lanes, -1, true));
+    }
+
+    /**
+     * Checks if all lanes of the logic gates match the gates built from the pins.
+     */
+    @Test
+    void gates() {
+        Random random = new Random(0x7ED);
+        long a = random.nextLong(), b = random.nextLong();
+        for (LogicGate.Type type : LogicGate.Type.values()) {
+            LogicGate gate = new LogicGate(type);
+            Pin inputA = new Pin(Pin.Direction.OUTPUT);
+            Pin inputB = new Pin(Pin.Direction.OUTPUT);
+            inputA.connect(gate.inputA);
+            if (type != LogicGate.Type.NOT)
+                inputB.connect(gate.inputB);
+
+            long output = Lanes.gate(type, a, type != LogicGate.Type.NOT ? b : a);
+            assertEquals(output, gate.evaluate(new long[] { a, type != LogicGate.Type.NOT ? b : a })[0]);
+            for (int lane = 0; lane < Lanes.COUNT; lane++) {
+                inputA.level(Lanes.get(a, lane));
+                inputB.level(Lanes.get(b, lane));
+                assertEquals(gate.output.level().bool(), Lanes.get(output, lane), type + " lane " + lane);
+            }
+        }
+    }
+
+    /**
+     * Checks if all lanes of the multiplexer match the multiplexer built from the pins.
+     */
+    @Test
+    void mux() {
+        Random random = new Random(0x257);
+        long[] inputs = { random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong() };
+        Pin[] pins = new Pin[4];
+        for (int i = 0; i < pins.length; i++)
+            pins[i] = new Pin(Pin.Direction.OUTPUT);
+
+        Pin enable = new Pin(Pin.Direction.INPUT);
+        Pin select = new Pin(Pin.Direction.INPUT);
+        DualMux mux = new DualMux(enable, select, true, true);
+        pins[0].connect(mux.inputA);
+        pins[1].connect(mux.inputB);
+        pins[2].connect(enable);
+        pins[3].connect(select);
+
+        long output = mux.evaluate(inputs)[0];
+        long hiZ = mux.disconnected(inputs)[0];
+        assertEquals(inputs[2], hiZ);
+        assertEquals(Lanes.LOW, output & hiZ);
+        for (int lane = 0; lane < Lanes.COUNT; lane++) {
+            for (int i = 0; i < pins.length; i++)
+                pins[i].level(Lanes.get(inputs[i], lane));
+            if (Lanes.get(hiZ, lane))
+                assertEquals(Pin.Direction.HI_Z, mux.output.direction());
+            else
+                assertEquals(mux.output.level().bool(), Lanes.get(output, lane), "lane " + lane);
+        }
+    }
+
+    /**
+     * Checks if the flip-flop latches only at the rising edge and is cleared by the reset.
+     */
+    @Test
+    void latch() {
+        long clock = 0b0110, previous = 0b1100, reset = ~0b1000L;
+        long output = Lanes.latch(0b1001, Lanes.HIGH, previous, clock, reset);
+        // lane 0 holds, lane 1 latches, lane 2 holds the LOW level, lane 3 is reset
+        assertEquals(0b0011, output & 0b1111);
+        assertFalse(Lanes.get(Lanes.latch(Lanes.HIGH, Lanes.HIGH, Lanes.LOW, Lanes.HIGH, Lanes.LOW), 0));
+    }
+
+    /**
+     * Checks if the wire is resolved from its drivers and the pull-ups.
+     */
+    @Test
+    void resolve() {
+        long[] drives = { 0b0011, 0b0110 };
+        long[] levels = { 0b0001, 0b0000 };
+        // lane 0 driven HIGH, lane 1 and 2 driven LOW, lane 3 pulled up, lane 4 floats LOW
+        assertEquals(0b1001, Lanes.resolve(drives, levels, 0b1010) & 0b11111);
+        assertThrows(IllegalArgumentException.class, () -> Lanes.resolve(drives, new long[1], Lanes.LOW));
+    }
+}
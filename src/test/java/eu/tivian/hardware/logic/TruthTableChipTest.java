@@ -0,0 +1,95 @@
+package eu.tivian.hardware.logic;
+
+import eu.tivian.hardware.Pin;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Truth table chip unit tests.
+ *
+ * @author Paweł Kania
+ * @since 2026-10-16
+ * @see TruthTableChip
+ */
+class TruthTableChipTest {
+    /**
+     * Tri-state buffer declared as a truth table.
+     */
+    static class Buffer extends TruthTableChip {
+        /**
+         * Data input.
+         */
+        final Pin input = new Pin("input", Pin.Direction.INPUT);
+        /**
+         * Output enable, active LOW.
+         */
+        final Pin enable = new Pin("enable", Pin.Direction.INPUT);
+        /**
+         * Data output.
+         */
+        final Pin output = new Pin("output", Pin.Direction.OUTPUT);
+
+        /**
+         * Initializes the buffer.
+         */
+        Buffer() {
+            super(table(2, i -> i & 1), table(2, i -> (i >> 1) & 1));
+            pins(new Pin[] { input, enable }, new Pin[] { output });
+
+            Runnable update = this::update;
+            input.onChange(update);
+            enable.onChange(update);
+            update();
+        }
+    }
+
+    /**
+     * Checks if the outputs follow the truth table, including the HI-Z state.
+     */
+    @Test
+    void logic() {
+        Buffer buffer = new Buffer();
+        Pin data = new Pin(Pin.Direction.OUTPUT);
+        Pin enable = new Pin(Pin.Direction.OUTPUT);
+        data.connect(buffer.input);
+        enable.connect(buffer.enable);
+
+        data.level(Pin.Level.HIGH);
+        assertEquals(Pin.Direction.OUTPUT, buffer.output.direction());
+        assertEquals(Pin.Level.HIGH, buffer.output.level());
+
+        enable.level(Pin.Level.HIGH);
+        assertEquals(Pin.Direction.HI_Z, buffer.output.direction());
+
+        data.level(Pin.Level.LOW);
+        enable.level(Pin.Level.LOW);
+        assertEquals(Pin.Direction.OUTPUT, buffer.output.direction());
+        assertEquals(Pin.Level.LOW, buffer.output.level());
+    }
+
+    /**
+     * Checks if the lanes are evaluated like the single chips.
+     */
+    @Test
+    void lanes() {
+        Buffer buffer = new Buffer();
+        long[] inputs = { 0b0101, 0b0011 };
+        assertEquals(0b0100, buffer.evaluate(inputs)[0]);
+        assertEquals(0b0011, buffer.disconnected(inputs)[0]);
+        assertThrows(IllegalArgumentException.class, () -> buffer.evaluate(new long[1]));
+    }
+
+    /**
+     * Checks if the table which doesn't match the pins is rejected.
+     */
+    @Test
+    void size() {
+        assertThrows(IllegalArgumentException.class, () -> new TruthTableChip(new byte[4], new byte[2]) {});
+        assertThrows(IllegalArgumentException.class, () -> new TruthTableChip(new byte[4], null) {
+            {
+                pins(new Pin[] { new Pin() }, new Pin[0]);
+            }
+        });
+    }
+}